@@ -4,22 +4,55 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.wst.server.core.IServer;
 import org.jboss.ide.eclipse.as.core.server.IServerStatePoller2;
 import org.jboss.ide.eclipse.as.core.server.IServerStatePollerType;
 import org.jboss.tools.openshift.cdk.server.core.internal.CDKCoreActivator;
 
 public abstract class AbstractCDKPoller implements IServerStatePoller2 {
-	
+
+	/** the interval in ms between the first pings */
+	public static final long INITIAL_PING_INTERVAL = 500;
+	/** the number of pings that are sent at the initial interval before backing off */
+	public static final int INITIAL_PINGS = 6;
+	/** the interval in ms that the pings back off to */
+	public static final long MAX_PING_INTERVAL = 4000;
+
+	/** the thread that times the pings of all pollers, it never blocks */
+	private static final ScheduledExecutorService PING_TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "CDK Poller Timer"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		return thread;
+	});
+	/**
+	 * the threads that the pings block on, one per poller that is pinging.
+	 * Idle threads are released.
+	 */
+	private static final ExecutorService PINGS = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "CDK Poller"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		return thread;
+	});
+
 	protected IServer server;
 	protected boolean canceled, done;
 	protected boolean state;
 	protected boolean expectedState;
-	protected PollingException aborted = null;
+	protected volatile PollingException aborted = null;
+
+	private Map<String, String> env;
+	private int pings;
+	private final AtomicInteger forkedProcesses = new AtomicInteger();
 
 	@Override
 	public IServer getServer() {
@@ -33,37 +66,98 @@ public abstract class AbstractCDKPoller implements IServerStatePoller2 {
 		this.canceled = done = false;
 		this.expectedState = expectedState;
 		this.state = !expectedState;
+		this.env = null;
+		this.pings = 0;
+		this.forkedProcesses.set(0);
 		launchThread();
 	}
 	
 	protected abstract void launchThread();
 	
+	/**
+	 * Starts pinging the server on the threads that are shared by all pollers.
+	 * The pings are timed by a single thread and run on a pool that grows with
+	 * the pollers that are pinging, so a ping that waits for its timeout or a
+	 * forked process doesn't delay the pings of other pollers. The given name
+	 * is given to the thread while it pings.
+	 * 
+	 * @param name the name of the poller
+	 */
 	protected void launchThread(String name) {
-		Thread t = new Thread(new Runnable(){
-			@Override
-			public void run() {
-				pollerRun();
-			}
-		}, "CDK Poller"); //$NON-NLS-1$
-		t.start();
-	}
-	
-	
-	protected void pollerRun() {
 		setStateInternal(false, state);
-    	Map<String,String> env = createEnvironment(server);
-		while(aborted == null && !canceled && !done) {
-			IStatus stat = onePingSafe(server, env);
-			int status = stat.getSeverity();
-			boolean completeUp = ( status == IStatus.OK && expectedState);
-			boolean completeDown = (status == IStatus.ERROR && !expectedState);
-			if( completeUp || completeDown) {
-				setStateInternal(true, expectedState);
-			}
+		schedulePing(name, 0);
+	}
+
+	private void schedulePing(String name, long delay) {
+		PING_TIMER.schedule(() -> PINGS.execute(() -> {
+			Thread thread = Thread.currentThread();
+			String threadName = thread.getName();
+			thread.setName(name);
 			try {
-				Thread.sleep(700);
-			} catch(InterruptedException ie) {} // ignore
+				pollerRun(name);
+			} finally {
+				thread.setName(threadName);
+			}
+		}), delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Pings the server once and schedules the next ping unless the expected
+	 * state was reached or polling was canceled or aborted.
+	 */
+	protected void pollerRun(String name) {
+		if (isStopped()) {
+			return;
+		}
+		if (env == null) {
+			this.env = createEnvironment(server);
+		}
+		IStatus stat = onePingSafe(server, env);
+		int status = stat.getSeverity();
+		boolean completeUp = ( status == IStatus.OK && expectedState);
+		boolean completeDown = (status == IStatus.ERROR && !expectedState);
+		if( completeUp || completeDown) {
+			setStateInternal(true, expectedState);
+			CDKCoreActivator.pluginLog().logInfo(NLS.bind("{0} forked {1} processes to find that {2} is {3}.", 
+					new Object[] { name, forkedProcesses.get(), server.getName(), expectedState ? "up" : "down" }));
 		}
+		if (!isStopped()) {
+			schedulePing(name, getPingInterval(++pings));
+		}
+	}
+
+	private synchronized boolean isStopped() {
+		return aborted != null || canceled || done;
+	}
+
+	/**
+	 * Returns the interval in ms to wait after the given number of pings. The
+	 * first pings are sent at a short interval, then the interval doubles until
+	 * it reaches {@link #MAX_PING_INTERVAL}.
+	 * 
+	 * @param pings the number of pings that were sent
+	 * @return the interval to wait before the next ping
+	 */
+	public static long getPingInterval(int pings) {
+		if (pings <= INITIAL_PINGS) {
+			return INITIAL_PING_INTERVAL;
+		}
+		long interval = INITIAL_PING_INTERVAL << Math.min(pings - INITIAL_PINGS, 16);
+		return Math.min(interval, MAX_PING_INTERVAL);
+	}
+
+	/**
+	 * Records that a process was forked to find the state of the server.
+	 */
+	protected void processForked() {
+		forkedProcesses.incrementAndGet();
+	}
+
+	/**
+	 * Returns the number of processes that were forked since polling began.
+	 */
+	public int getForkedProcesses() {
+		return forkedProcesses.get();
 	}
 	
 	protected abstract Map<String, String> createEnvironment(IServer server);
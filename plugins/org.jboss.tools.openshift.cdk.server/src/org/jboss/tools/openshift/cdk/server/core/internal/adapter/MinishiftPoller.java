@@ -40,6 +40,10 @@ import com.openshift.restclient.ISSLCertificateCallback;
 import com.openshift.restclient.OpenShiftException;
 
 public class MinishiftPoller extends AbstractCDKPoller {
+
+	/** the timeout in ms for the health check of OpenShift */
+	private static final int HEALTH_CHECK_TIMEOUT = 4000;
+
 	public MinishiftPoller() {
 		
 	}
@@ -65,18 +69,22 @@ public class MinishiftPoller extends AbstractCDKPoller {
 		return f;
 	}
 	
+	/**
+	 * Pings the server. If the address of OpenShift is known already, its
+	 * health check is tried first. The (expensive) {@code minishift status} is
+	 * only forked if OpenShift is not healthy or its address is unknown.
+	 */
 	protected IStatus onePing(IServer server, Map<String, String> env)
 			throws PollingException, IOException, TimeoutException {
-
-		String[] args = new String[] { CDKConstants.VAGRANT_CMD_STATUS };
-		args = CDK32Server.getArgsWithProfile(server, args);
-		String vagrantcmdloc = MinishiftBinaryUtility.getMinishiftLocation(server);
+		String url = getOpenShiftURL(server);
+		if( url != null && isOpenShiftHealthy(url, HEALTH_CHECK_TIMEOUT)) {
+			return Status.OK_STATUS;
+		}
 		try {
-			String[] lines = CDKLaunchUtility.callMachineReadable(
-					vagrantcmdloc, args, getWorkingDirectory(server), env);
+			String[] lines = callStatus(server, env);
 			IStatus stat = parseOutput(lines);
 			if( stat.isOK()) {
-				checkOpenShiftHealth(server, 4000);
+				checkOpenShiftHealth(server, HEALTH_CHECK_TIMEOUT);
 				return stat;
 			} else {
 				return stat;
@@ -89,7 +97,7 @@ public class MinishiftPoller extends AbstractCDKPoller {
 				String[] asArr = (String[]) inLines.toArray(new String[inLines.size()]);
 				IStatus stat = parseOutput(asArr);
 				if( stat.isOK()) {
-					checkOpenShiftHealth(server, 4000);
+					checkOpenShiftHealth(server, HEALTH_CHECK_TIMEOUT);
 				} else {
 					return stat;
 				}
@@ -99,6 +107,32 @@ public class MinishiftPoller extends AbstractCDKPoller {
 		}
 	}
 
+	/**
+	 * Forks {@code minishift status} and returns its output.
+	 */
+	protected String[] callStatus(IServer server, Map<String, String> env)
+			throws PollingException, IOException, TimeoutException {
+		String[] args = new String[] { CDKConstants.VAGRANT_CMD_STATUS };
+		args = CDK32Server.getArgsWithProfile(server, args);
+		String vagrantcmdloc = MinishiftBinaryUtility.getMinishiftLocation(server);
+		processForked();
+		return CDKLaunchUtility.callMachineReadable(
+				vagrantcmdloc, args, getWorkingDirectory(server), env);
+	}
+
+	/**
+	 * Returns the url of OpenShift if the environment of the server was loaded
+	 * already, {@code null} otherwise. Never forks a process.
+	 */
+	protected String getOpenShiftURL(IServer server) {
+		ServiceManagerEnvironment adb = ServiceManagerEnvironmentLoader.type(server)
+				.getServiceManagerEnvironment(server);
+		if( adb == null ) {
+			return null;
+		}
+		return adb.getOpenShiftHost() + ":" + adb.getOpenShiftPort();
+	}
+
 	protected IStatus parseOutput(String[] lines) {
 		if( lines.length == 1 && lines[0] != null ) {
 			if("Running".equals(lines[0])) {
@@ -123,16 +157,9 @@ public class MinishiftPoller extends AbstractCDKPoller {
 		return checkOpenShiftHealth(url, timeout);
 	}
 	protected boolean checkOpenShiftHealth(String url,  int timeout) throws OpenShiftNotReadyPollingException {
-		ISSLCertificateCallback sslCallback = new LazySSLCertificateCallback(); 
-		IClient client = new ClientBuilder(url)
-				.sslCertificateCallback(sslCallback)
-				.withConnectTimeout(timeout, TimeUnit.MILLISECONDS)
-				.build();
-   	
     	Exception e = null;
     	try {
-    		String v = client.getServerReadyStatus();
-    		if( "ok".equals(v))
+    		if( getServerReadyStatus(url, timeout))
     			return true;
     	} catch(OpenShiftException ex) {
     		e = ex;
@@ -143,5 +170,27 @@ public class MinishiftPoller extends AbstractCDKPoller {
 		throw new OpenShiftNotReadyPollingException(CDKCoreActivator.statusFactory().errorStatus(CDKCoreActivator.PLUGIN_ID,
 				msg, e, OpenShiftNotReadyPollingException.OPENSHIFT_UNREACHABLE_CODE));
 	}
+
+	/**
+	 * Returns {@code true} if OpenShift at the given url reports to be ready.
+	 * Returns {@code false} if it isn't or cannot be reached, which is
+	 * inconclusive.
+	 */
+	protected boolean isOpenShiftHealthy(String url, int timeout) {
+		try {
+			return getServerReadyStatus(url, timeout);
+		} catch(OpenShiftException e) {
+			return false;
+		}
+	}
+
+	private boolean getServerReadyStatus(String url, int timeout) {
+		ISSLCertificateCallback sslCallback = new LazySSLCertificateCallback(); 
+		IClient client = new ClientBuilder(url)
+				.sslCertificateCallback(sslCallback)
+				.withConnectTimeout(timeout, TimeUnit.MILLISECONDS)
+				.build();
+		return "ok".equals(client.getServerReadyStatus());
+	}
 	
 }
@@ -74,6 +74,7 @@ public class VagrantPoller extends AbstractCDKPoller {
 				CDKConstants.VAGRANT_FLAG_NO_COLOR };
 		String vagrantcmdloc = VagrantBinaryUtility.getVagrantLocation(server);
 		try {
+			processForked();
 			String[] lines = CDKLaunchUtility.callMachineReadable(
 					vagrantcmdloc, args, getWorkingDirectory(server), env);
 			IStatus vmStatus = parseOutput(lines);
@@ -106,6 +106,25 @@ public abstract class ServiceManagerEnvironmentLoader {
 		return ret;
 	}
 	
+	/**
+	 * Returns the environment that was loaded for the given server before, 
+	 * without loading it.
+	 * 
+	 * @param server the server
+	 * @return the environment or {@code null} if it wasn't loaded yet
+	 */
+	public  ServiceManagerEnvironment getServiceManagerEnvironment(IServer server) {
+		IControllableServerBehavior behavior = JBossServerBehaviorUtils.getControllableBehavior(server);
+		if( behavior == null ) {
+			return null;
+		}
+		Object o = behavior.getSharedData(SHARED_INFO_KEY);
+		if( o instanceof ServiceManagerEnvironment ) {
+			return (ServiceManagerEnvironment)o;
+		}
+		return null;
+	}
+
 	public  void clearServiceManagerEnvironment(IServer server) {
 		IControllableServerBehavior behavior = JBossServerBehaviorUtils.getControllableBehavior(server);
 		behavior.putSharedData(SHARED_INFO_KEY, null);
@@ -31,9 +31,7 @@ public class EclipseLogAppender extends AppenderSkeleton {
 	}	
 
 	private void trace(LoggingEvent event) {
-		if(trace.isDebugging()) {
-			trace.trace(OPENSHIFT_CLIENT_TRACE, String.valueOf(event.getMessage()));
-		}
+		trace.trace(OPENSHIFT_CLIENT_TRACE, () -> String.valueOf(event.getMessage()));
 	}
 
 	@Override
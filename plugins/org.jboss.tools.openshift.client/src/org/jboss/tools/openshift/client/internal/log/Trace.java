@@ -10,6 +10,8 @@
  ******************************************************************************/
 package org.jboss.tools.openshift.client.internal.log;
 
+import java.util.function.Supplier;
+
 import org.eclipse.osgi.service.debug.DebugOptions;
 import org.eclipse.osgi.service.debug.DebugTrace;
 import org.osgi.framework.Bundle;
@@ -86,6 +88,19 @@ public class Trace {
 		getDebugTrace().trace(GLOBAL_DEBUG_KEY + option, message);
 	}
 
+	/**
+	 * Traces the message that the given supplier builds. The message is only
+	 * built if tracing is enabled.
+	 * 
+	 * @param option the trace option
+	 * @param message the supplier of the message
+	 */
+	public void trace(String option, Supplier<String> message) {
+		if (isDebugging()) {
+			trace(option, message.get());
+		}
+	}
+
 	private DebugOptions getDebugOptions() {
 		if (options == null) {
 			this.options = createDebugOptions();
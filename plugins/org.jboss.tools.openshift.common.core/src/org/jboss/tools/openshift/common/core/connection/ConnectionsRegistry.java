@@ -19,6 +19,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.eclipse.osgi.util.NLS;
 import org.jboss.tools.common.databinding.ObservablePojo;
@@ -36,22 +37,46 @@ public class ConnectionsRegistry {
 	/** The most recent user connected on OpenShift. */
 	private IConnection recentConnection = null;
 	private Map<ConnectionURL, IConnection> connectionsByUrl = new HashMap<>();
-	private List<IConnectionsRegistryListener> listeners = new ArrayList<>();
+	private final ConnectionsRegistryEventBus eventBus;
 	private PropertyChangeListener connectionListener = new ConnectionListener();
 
-	public synchronized void addListener(IConnectionsRegistryListener listener) {
-		listeners.add(listener);
+	public ConnectionsRegistry() {
+		this(new ConnectionsRegistryEventBus());
 	}
 
-	public synchronized void removeListener(IConnectionsRegistryListener listener) {
-		listeners.remove(listener);
+	public ConnectionsRegistry(ConnectionsRegistryEventBus eventBus) {
+		this.eventBus = eventBus;
 	}
 
 	/**
-	 * @return independent copy of listeners to fire changes.
+	 * Adds a listener that gets the events that are posted in one of the
+	 * dispatcher threads of the event bus.
+	 * 
+	 * @see #addListener(IConnectionsRegistryListener, boolean)
 	 */
-	private synchronized List<IConnectionsRegistryListener> getListeners() {
-		return new ArrayList<>(listeners);
+	public void addListener(IConnectionsRegistryListener listener) {
+		addListener(listener, false);
+	}
+
+	/**
+	 * Adds the given listener. A synchronous listener gets all events in the
+	 * thread that fires or posts them.
+	 * 
+	 * @param listener the listener to add
+	 * @param synchronous whether the listener should get posted events in the posting thread
+	 * 
+	 * @see #postConnectionChanged(IConnection, String, Object, Object)
+	 */
+	public void addListener(IConnectionsRegistryListener listener, boolean synchronous) {
+		eventBus.addListener(listener, synchronous);
+	}
+
+	public void removeListener(IConnectionsRegistryListener listener) {
+		eventBus.removeListener(listener);
+	}
+
+	public ConnectionsRegistryEventBus getEventBus() {
+		return eventBus;
 	}
 
 	public void clear() {
@@ -85,6 +110,7 @@ public class ConnectionsRegistry {
 		addPropertyChangeListener(connection);
 		connectionsByUrl.put(connectionUrl, connection);
 		this.recentConnection = connection;
+		eventBus.register(connection);
 		fireChange(connection, EventType.ADDED);
 		return true;
 	}
@@ -113,6 +139,21 @@ public class ConnectionsRegistry {
 		fireChange(connection, EventType.CHANGED, property, oldValue, newValue);
 	}
 
+	/**
+	 * Notifies the listeners of the given change without waiting for them.
+	 * Synchronous listeners are notified in the calling thread, all others in
+	 * a dispatcher thread. The changes for a connection are notified in the
+	 * order that they were posted. Meant for frequent changes like the ones
+	 * that resource watches report. Changes of connections that are not in
+	 * this registry are dropped.
+	 */
+	public void postConnectionChanged(IConnection connection, String property, Object oldValue, Object newValue) {
+		if (connection == null) {
+			return;
+		}
+		eventBus.post(connection, listener -> listener.connectionChanged(connection, property, oldValue, newValue));
+	}
+
 	public boolean remove(IConnection connection) {
 		try {
 			ConnectionURL connectionUrl = ConnectionURL.forConnection(connection);
@@ -125,6 +166,7 @@ public class ConnectionsRegistry {
 			if (this.recentConnection == connection) {
 				this.recentConnection = null;
 			}
+			// no posted change is dispatched once the removal was notified
 			fireChange(connection, EventType.REMOVED);
 			return true;
 		} catch (UnsupportedEncodingException e) {
@@ -143,7 +185,7 @@ public class ConnectionsRegistry {
 			return;
 		}
 
-		for (IConnectionsRegistryListener l : getListeners()) {
+		Consumer<IConnectionsRegistryListener> event = l -> {
 			switch (eventType) {
 			case ADDED:
 				l.connectionAdded(connection);
@@ -155,6 +197,11 @@ public class ConnectionsRegistry {
 				l.connectionChanged(connection, property, oldValue, newValue);
 				break;
 			}
+		};
+		if (eventType == EventType.REMOVED) {
+			eventBus.unregister(connection, event);
+		} else {
+			eventBus.fire(connection, event);
 		}
 	}
 
@@ -0,0 +1,406 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.common.core.connection;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.jboss.tools.openshift.internal.common.core.OpenShiftCommonCoreActivator;
+
+/**
+ * Dispatches the events of the {@link ConnectionsRegistry} to its listeners.
+ * Events that are posted are queued per connection and dispatched in order by
+ * a pool of dispatcher threads, so a slow listener doesn't block the thread
+ * that posted the event. Events are only posted for the connections that are
+ * registered, and at most {@link #MAX_QUEUED_EVENTS} wait per connection.
+ * Listeners that are added as synchronous get all events in the thread that
+ * fired or posted them. Events that are fired are dispatched to all listeners
+ * in the thread that fired them, unless posted events of the same connection
+ * are being dispatched. The event then follows these.
+ *
+ * @see ConnectionsRegistry#addListener(IConnectionsRegistryListener, boolean)
+ * @see ConnectionsRegistry#postConnectionChanged(IConnection, String, Object, Object)
+ */
+public class ConnectionsRegistryEventBus {
+
+	public static final int DEFAULT_DISPATCHERS = 2;
+	/** the maximum number of posted events that wait to be dispatched for a connection */
+	public static final int MAX_QUEUED_EVENTS = 1024;
+	/** the maximum number of events dispatched for a connection before other connections get their turn */
+	private static final int MAX_EVENTS_PER_TURN = 64;
+	private static final long IDLE_DISPATCHER_TIMEOUT_SECONDS = 60;
+
+	/** whether the current thread dispatches events, it then never waits for a queue to make room */
+	private static final ThreadLocal<Boolean> DISPATCHING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+	private final List<ListenerEntry> listeners = new CopyOnWriteArrayList<>();
+	private final Map<IConnection, ConnectionQueue> queues = Collections.synchronizedMap(new IdentityHashMap<>());
+	private final ThreadPoolExecutor dispatchers;
+
+	private final AtomicInteger queueDepth = new AtomicInteger();
+	private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+	public ConnectionsRegistryEventBus() {
+		this(DEFAULT_DISPATCHERS);
+	}
+
+	public ConnectionsRegistryEventBus(int dispatchers) {
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.dispatchers = new ThreadPoolExecutor(
+				dispatchers, dispatchers,
+				IDLE_DISPATCHER_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(),
+				runnable -> {
+					Thread thread = new Thread(runnable, "OpenShift connections registry dispatcher #" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		this.dispatchers.allowCoreThreadTimeOut(true);
+	}
+
+	public void addListener(IConnectionsRegistryListener listener, boolean synchronous) {
+		listeners.add(new ListenerEntry(listener, synchronous));
+	}
+
+	public void removeListener(IConnectionsRegistryListener listener) {
+		for (ListenerEntry entry : listeners) {
+			if (entry.listener.equals(listener)) {
+				listeners.remove(entry);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Registers the given connection, events can then be posted for it.
+	 * Called when the connection is added.
+	 *
+	 * @param connection the connection to register
+	 */
+	public void register(IConnection connection) {
+		queues.computeIfAbsent(connection, key -> new ConnectionQueue());
+	}
+
+	/**
+	 * Dispatches the given event to all listeners in the calling thread. If
+	 * posted events of the given connection are being dispatched, the event is
+	 * queued for the listeners that are not synchronous so that they get it
+	 * after these.
+	 *
+	 * @param connection the connection that the event is about
+	 * @param event the event
+	 */
+	public void fire(IConnection connection, Consumer<IConnectionsRegistryListener> event) {
+		ConnectionQueue queue = queues.get(connection);
+		if (queue == null) {
+			listeners.forEach(entry -> entry.notify(event));
+		} else {
+			queue.fire(event);
+		}
+	}
+
+	/**
+	 * Unregisters the given connection and fires the given event as its last
+	 * one. The events that were posted for the connection and were not
+	 * dispatched yet are dropped, later posts are refused. Called when the
+	 * connection is removed.
+	 *
+	 * @param connection the connection that is removed
+	 * @param event the event
+	 *
+	 * @see #fire(IConnection, Consumer)
+	 */
+	public void unregister(IConnection connection, Consumer<IConnectionsRegistryListener> event) {
+		ConnectionQueue queue = queues.remove(connection);
+		if (queue == null) {
+			listeners.forEach(entry -> entry.notify(event));
+		} else {
+			queue.close();
+			queue.fire(event);
+		}
+	}
+
+	/**
+	 * Dispatches the given event to the synchronous listeners in the calling
+	 * thread and queues it for the others. Events for the same connection are
+	 * dispatched in the order that they were posted. If
+	 * {@link #MAX_QUEUED_EVENTS} are waiting for the connection, the calling
+	 * thread waits until there's room again. Events for connections that are
+	 * not registered are refused.
+	 *
+	 * @param connection the connection that the event is about
+	 * @param event the event
+	 * @return {@code true} if the event was posted, {@code false} if it was refused
+	 */
+	public boolean post(IConnection connection, Consumer<IConnectionsRegistryListener> event) {
+		ConnectionQueue queue = queues.get(connection);
+		if (queue == null) {
+			return false;
+		}
+		List<ListenerEntry> asynchronous = notifySynchronous(event);
+		return asynchronous.isEmpty()
+				|| queue.add(() -> asynchronous.forEach(entry -> dispatch(entry, event)));
+	}
+
+	/**
+	 * Notifies the synchronous listeners of the given event and returns the
+	 * listeners that are not synchronous.
+	 */
+	private List<ListenerEntry> notifySynchronous(Consumer<IConnectionsRegistryListener> event) {
+		List<ListenerEntry> asynchronous = new ArrayList<>();
+		for (ListenerEntry entry : listeners) {
+			if (entry.synchronous) {
+				entry.notify(event);
+			} else {
+				asynchronous.add(entry);
+			}
+		}
+		return asynchronous;
+	}
+
+	private void dispatch(ListenerEntry entry, Consumer<IConnectionsRegistryListener> event) {
+		try {
+			entry.notify(event);
+		} catch (RuntimeException e) {
+			OpenShiftCommonCoreActivator.log("Could not notify connections registry listener", e);
+		}
+	}
+
+	/**
+	 * Sets the number of threads that dispatch posted events.
+	 *
+	 * @param dispatchers the number of threads
+	 */
+	public void setDispatchers(int dispatchers) {
+		int size = Math.max(1, dispatchers);
+		if (size > this.dispatchers.getMaximumPoolSize()) {
+			this.dispatchers.setMaximumPoolSize(size);
+			this.dispatchers.setCorePoolSize(size);
+		} else {
+			this.dispatchers.setCorePoolSize(size);
+			this.dispatchers.setMaximumPoolSize(size);
+		}
+	}
+
+	public int getDispatchers() {
+		return dispatchers.getCorePoolSize();
+	}
+
+	/**
+	 * Returns the number of posted events that were not dispatched yet.
+	 */
+	public int getQueueDepth() {
+		return queueDepth.get();
+	}
+
+	/**
+	 * Returns the highest number of posted events that were waiting to be
+	 * dispatched at the same time.
+	 */
+	public int getMaxQueueDepth() {
+		return maxQueueDepth.get();
+	}
+
+	/**
+	 * Returns the longest time in milliseconds that the given listener took to
+	 * process an event.
+	 *
+	 * @param listener the listener
+	 */
+	public long getMaxListenerLatency(IConnectionsRegistryListener listener) {
+		ListenerEntry entry = getEntry(listener);
+		if (entry == null) {
+			return 0;
+		}
+		return TimeUnit.NANOSECONDS.toMillis(entry.maxLatency.get());
+	}
+
+	/**
+	 * Returns the average time in milliseconds that the given listener took to
+	 * process an event.
+	 *
+	 * @param listener the listener
+	 */
+	public long getAverageListenerLatency(IConnectionsRegistryListener listener) {
+		ListenerEntry entry = getEntry(listener);
+		if (entry == null
+				|| entry.events.get() == 0) {
+			return 0;
+		}
+		return TimeUnit.NANOSECONDS.toMillis(entry.totalLatency.get() / entry.events.get());
+	}
+
+	private ListenerEntry getEntry(IConnectionsRegistryListener listener) {
+		return listeners.stream()
+				.filter(entry -> entry.listener == listener)
+				.findFirst()
+				.orElse(null);
+	}
+
+	private static class ListenerEntry {
+
+		private final IConnectionsRegistryListener listener;
+		private final boolean synchronous;
+		private final AtomicLong events = new AtomicLong();
+		private final AtomicLong totalLatency = new AtomicLong();
+		private final AtomicLong maxLatency = new AtomicLong();
+
+		private ListenerEntry(IConnectionsRegistryListener listener, boolean synchronous) {
+			this.listener = listener;
+			this.synchronous = synchronous;
+		}
+
+		private void notify(Consumer<IConnectionsRegistryListener> event) {
+			long start = System.nanoTime();
+			try {
+				event.accept(listener);
+			} finally {
+				long latency = System.nanoTime() - start;
+				events.incrementAndGet();
+				totalLatency.addAndGet(latency);
+				maxLatency.accumulateAndGet(latency, Math::max);
+			}
+		}
+	}
+
+	/**
+	 * The events that were posted for a connection. They're dispatched in
+	 * order, by one dispatcher at a time. A thread that fires an event owns the
+	 * queue while it notifies the listeners, no dispatcher runs meanwhile.
+	 */
+	private class ConnectionQueue implements Runnable {
+
+		private final Queue<Runnable> events = new ArrayDeque<>();
+		/** whether a dispatcher or a firing thread owns the queue */
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+		private boolean closed;
+
+		/**
+		 * Queues the given posted event. Waits for room if
+		 * {@link ConnectionsRegistryEventBus#MAX_QUEUED_EVENTS} are queued,
+		 * unless the calling thread dispatches events itself. Returns
+		 * {@code false} if the queue was closed or the thread was interrupted
+		 * while waiting.
+		 */
+		private synchronized boolean add(Runnable event) {
+			try {
+				while (!closed
+						&& events.size() >= MAX_QUEUED_EVENTS
+						&& !DISPATCHING.get()) {
+					wait();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			if (closed) {
+				return false;
+			}
+			enqueue(event);
+			return true;
+		}
+
+		private synchronized void enqueue(Runnable event) {
+			events.add(event);
+			maxQueueDepth.accumulateAndGet(queueDepth.incrementAndGet(), Math::max);
+			schedule();
+		}
+
+		private synchronized Runnable poll() {
+			Runnable event = events.poll();
+			if (event != null) {
+				queueDepth.decrementAndGet();
+				notifyAll();
+			}
+			return event;
+		}
+
+		private synchronized boolean isEmpty() {
+			return events.isEmpty();
+		}
+
+		/**
+		 * Drops the queued events and refuses the ones that are posted later.
+		 */
+		private synchronized void close() {
+			this.closed = true;
+			queueDepth.addAndGet(-events.size());
+			events.clear();
+			notifyAll();
+		}
+
+		/**
+		 * Notifies the listeners of the given event in the calling thread if
+		 * no posted events are waiting or being dispatched. Queues it for the
+		 * listeners that are not synchronous otherwise.
+		 */
+		private void fire(Consumer<IConnectionsRegistryListener> event) {
+			List<ListenerEntry> asynchronous = notifySynchronous(event);
+			if (asynchronous.isEmpty()) {
+				return;
+			}
+			Runnable dispatch = () -> asynchronous.forEach(entry -> dispatch(entry, event));
+			if (!scheduled.compareAndSet(false, true)) {
+				enqueue(dispatch);
+				return;
+			}
+			boolean dispatching = DISPATCHING.get();
+			try {
+				if (isEmpty()) {
+					DISPATCHING.set(Boolean.TRUE);
+					asynchronous.forEach(entry -> entry.notify(event));
+				} else {
+					enqueue(dispatch);
+				}
+			} finally {
+				DISPATCHING.set(dispatching);
+				scheduled.set(false);
+				schedule();
+			}
+		}
+
+		private void schedule() {
+			if (!isEmpty()
+					&& scheduled.compareAndSet(false, true)) {
+				dispatchers.execute(this);
+			}
+		}
+
+		@Override
+		public void run() {
+			DISPATCHING.set(Boolean.TRUE);
+			try {
+				Runnable event;
+				for (int i = 0; i < MAX_EVENTS_PER_TURN
+						&& (event = poll()) != null; i++) {
+					event.run();
+				}
+			} finally {
+				DISPATCHING.set(Boolean.FALSE);
+				scheduled.set(false);
+				schedule();
+			}
+		}
+	}
+}
@@ -16,6 +16,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang.ObjectUtils;
 import org.eclipse.core.runtime.Assert;
@@ -37,6 +40,7 @@ import org.jboss.tools.openshift.internal.common.core.security.OpenShiftSecureSt
 import org.jboss.tools.openshift.internal.common.core.security.SecureStore;
 import org.jboss.tools.openshift.internal.common.core.security.SecureStoreException;
 import org.jboss.tools.openshift.internal.core.OpenShiftCoreActivator;
+import org.jboss.tools.openshift.internal.core.WatchManager;
 import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
 
 import com.openshift.restclient.ClientBuilder;
@@ -66,6 +70,9 @@ public class Connection extends ObservablePojo implements IRefreshable, IOpenShi
 	private ICredentialsPrompter credentialsPrompter;
 	private String authScheme;
 	private Map<String, Object> extendedProperties = new HashMap<>();
+	private final Object reauthenticationLock = new Object();
+	private CompletableFuture<Boolean> reauthentication;
+	private final AtomicLong reauthentications = new AtomicLong();
 
 	//TODO modify default client to take url and throw lib specific exception
 	public Connection(String url, ICredentialsPrompter credentialsPrompter, ISSLCertificateCallback sslCertCallback)
@@ -433,10 +440,11 @@ public class Connection extends ObservablePojo implements IRefreshable, IOpenShi
 	 * @throws UnauthorizedException 
 	 */
 	public <T extends IResource> T createResource(T resource) {
+		String token = getCurrentToken();
 		try {
 			return client.create(resource);
 		} catch (UnauthorizedException e) {
-			return retryCreate(e, resource);
+			return retryCreate(e, token, resource);
 		}
 	}
 
@@ -447,10 +455,11 @@ public class Connection extends ObservablePojo implements IRefreshable, IOpenShi
 	 * @throws UnauthorizedException 
 	 */
 	public <T extends IResource> T updateResource(T resource) {
+		String token = getCurrentToken();
 		try {
 			return client.update(resource);
 		} catch (UnauthorizedException e) {
-			return retryUpdate(e, resource);
+			return retryUpdate(e, token, resource);
 		}
 	}
 
@@ -465,21 +474,34 @@ public class Connection extends ObservablePojo implements IRefreshable, IOpenShi
 		return getResources(kind,"");
 	}
 	
+	/**
+	 * Returns the resources of the given kind in the given namespace. The
+	 * resources are served from the watch cache if the namespace is watched,
+	 * they are requested from the server otherwise.
+	 * 
+	 * @see WatchManager#getCachedResources(IOpenShiftConnection, String, String)
+	 */
 	@Override
 	public <T extends IResource> List<T> getResources(String kind, String namespace) {
+		List<T> cached = WatchManager.getInstance().getCachedResources(this, kind, namespace);
+		if (cached != null) {
+			return cached;
+		}
+		String token = getCurrentToken();
 		try {
 			return client.list(kind, namespace);
 		} catch (UnauthorizedException e) {
-			return retryList(e, kind, namespace);
+			return retryList(e, token, kind, namespace);
 		}
 	}
 
 	@Override
 	public <T extends IResource> T getResource(String kind, String namespace, String name) {
+		String token = getCurrentToken();
 		try {
 			return client.get(kind, name, namespace);
 		} catch (UnauthorizedException e) {
-			return retryGet(e, kind, name, namespace);
+			return retryGet(e, token, kind, name, namespace);
 		}
 	}
 	/**
@@ -490,49 +512,116 @@ public class Connection extends ObservablePojo implements IRefreshable, IOpenShi
 	 */
 	@Override
 	public <T extends IResource> T refresh(IResource resource) {
+		String token = getCurrentToken();
 		try {
 			return client.get(resource.getKind(), resource.getName(), resource.getNamespace());
 		} catch (UnauthorizedException e) {
-			return retryGet(e, resource.getKind(), resource.getName(), resource.getNamespace());
+			return retryGet(e, token, resource.getKind(), resource.getName(), resource.getNamespace());
 		}
 	}
 	
-	private <T extends IResource> T retryGet(OpenShiftException e, String kind, String name, String namespace){
-		setToken(null);// token must be invalid, make sure not to try with
-		// cache
-		if (connect()) {
+	private <T extends IResource> T retryGet(OpenShiftException e, String token, String kind, String name, String namespace){
+		if (reauthenticate(token)) {
 			return client.get(kind, name, namespace);
 		}
 		throw e;
 	}
 
-	private <T extends IResource>  T retryCreate(OpenShiftException e, T resource){
-		setToken(null);// token must be invalid, make sure not to try with
-		// cache
-		if (connect()) {
+	private <T extends IResource>  T retryCreate(OpenShiftException e, String token, T resource){
+		if (reauthenticate(token)) {
 			return client.create(resource);
 		}
 		throw e;
 	}
 
-	private <T extends IResource>  T retryUpdate(OpenShiftException e, T resource){
-		setToken(null);// token must be invalid, make sure not to try with
-		// cache
-		if (connect()) {
+	private <T extends IResource>  T retryUpdate(OpenShiftException e, String token, T resource){
+		if (reauthenticate(token)) {
 			return client.update(resource);
 		}
 		throw e;
 	}
 
-	private <T extends IResource> List<T> retryList(OpenShiftException e, String kind, String namespace){
-		setToken(null);// token must be invalid, make sure not to try with
-		// cache
-		if (connect()) {
+	private <T extends IResource> List<T> retryList(OpenShiftException e, String token, String kind, String namespace){
+		if (reauthenticate(token)) {
 			return client.list(kind, namespace);
 		}
 		throw e;
 	}
-	
+
+	/**
+	 * Renews the authorization after a request that was sent with the given
+	 * token was rejected. Only one thread renews at a time, concurrent
+	 * callers wait for it and share its result. Callers whose token was
+	 * already replaced in the meantime don't renew but retry with the new
+	 * token.
+	 * 
+	 * @param rejectedToken the token that the rejected request was sent with
+	 * @return true if there's a (renewed) authorization to retry with
+	 */
+	protected boolean reauthenticate(String rejectedToken) {
+		CompletableFuture<Boolean> renewal;
+		boolean renewing = false;
+		synchronized (reauthenticationLock) {
+			if (reauthentication != null) {
+				renewal = reauthentication;
+			} else {
+				String token = getCurrentToken();
+				if (token != null
+						&& !token.equals(rejectedToken)) {
+					// renewed since the request was sent
+					return true;
+				}
+				renewal = this.reauthentication = new CompletableFuture<>();
+				renewing = true;
+			}
+		}
+		if (renewing) {
+			return renew(renewal);
+		}
+		try {
+			return renewal.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (ExecutionException e) {
+			return false;
+		}
+	}
+
+	private boolean renew(CompletableFuture<Boolean> renewal) {
+		try {
+			reauthentications.incrementAndGet();
+			setToken(null);// token must be invalid, make sure not to try with
+			// cache
+			boolean connected = connect();
+			renewal.complete(connected);
+			return connected;
+		} catch (RuntimeException e) {
+			renewal.completeExceptionally(e);
+			throw e;
+		} finally {
+			synchronized (reauthenticationLock) {
+				this.reauthentication = null;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of times that the authorization was renewed because
+	 * a request was rejected.
+	 */
+	public long getReauthenticationCount() {
+		return reauthentications.get();
+	}
+
+	/**
+	 * Returns the token that requests are currently sent with. Doesn't load
+	 * it from the secure storage.
+	 */
+	private String getCurrentToken() {
+		return client.getAuthorizationContext().getToken();
+	}
+
 	/**
 	 * Delete the resource from the namespace it is associated with.  The delete operation 
 	 * return silently regardless if successful or not
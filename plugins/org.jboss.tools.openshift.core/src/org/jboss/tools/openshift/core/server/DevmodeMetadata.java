@@ -10,8 +10,7 @@
  *******************************************************************************/
 package org.jboss.tools.openshift.core.server;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
 
 import org.jboss.tools.openshift.common.core.utils.StringUtils;
 
@@ -27,18 +26,17 @@ public class DevmodeMetadata {
 	private static final String DEFAULT_PORT_VALUE = "8787";
 
 	// "image->"dockerImageMetadata"->"Config"->"Labels"->
-	private static final Pattern REGEX_LABEL_DEVMODE = Pattern
-			.compile("\\\"com\\.redhat\\.dev-mode\\\" ?\\: ?\\\"([^(:|\\\")]+)(:|\\\")([^\\\"]*)");
-	private static final Pattern REGEX_LABEL_DEVMODE_PORT = Pattern
-			.compile("\\\"com\\.redhat\\.dev-mode\\.port\\\" ?\\: ?\\\"([^(:|\\\")]+)(:|\\\")([^\\\"]*)");
+	private static final String LABEL_DEVMODE = "com.redhat.dev-mode";
+	private static final String LABEL_DEVMODE_PORT = "com.redhat.dev-mode.port";
+	private static final char KEY_VALUE_DELIMITER = ':';
 
 	private String enablementKey;
 	private String enablementValue;
 	private String portKey;
 	private String portValue;
 
-	public DevmodeMetadata(String metadata) {
-		parse(metadata);
+	public DevmodeMetadata(Map<String, String> labels) {
+		parse(labels);
 	}
 
 	public String getEnablementKey() {
@@ -57,33 +55,50 @@ public class DevmodeMetadata {
 		return portValue;
 	}
 
-	private void parse(String metadata) {
-		if (!StringUtils.isEmpty(metadata)) {
-			parseEnablement(metadata);
-			parsePort(metadata);
+	private void parse(Map<String, String> labels) {
+		if (labels != null) {
+			parseEnablement(labels);
+			parsePort(labels);
 		}
 	}
 
-	private void parseEnablement(String metadata) {
-		Matcher matcher = REGEX_LABEL_DEVMODE.matcher(metadata);
-		if (matcher.find()) {
-			this.enablementKey = matcher.group(1);
-			this.enablementValue = matcher.group(3);
+	private void parseEnablement(Map<String, String> labels) {
+		String[] keyValue = split(labels.get(LABEL_DEVMODE));
+		if (keyValue != null) {
+			this.enablementKey = keyValue[0];
+			this.enablementValue = keyValue[1];
 		} else {
 			this.enablementKey = DEFAULT_ENABLEMENT_KEY;
 			this.enablementValue = DEFAULT_ENABLEMENT_VALUE;
 		}
 	}
 
-	private void parsePort(String metadata) {
-		Matcher matcher = REGEX_LABEL_DEVMODE_PORT.matcher(metadata);
-		if (matcher.find()) {
-			this.portKey = matcher.group(1);
-			this.portValue = matcher.group(3);
+	private void parsePort(Map<String, String> labels) {
+		String[] keyValue = split(labels.get(LABEL_DEVMODE_PORT));
+		if (keyValue != null) {
+			this.portKey = keyValue[0];
+			this.portValue = keyValue[1];
 		} else {
 			this.portKey = DEFAULT_PORT_KEY;
 			this.portValue = DEFAULT_PORT_VALUE;
 		}
 	}
 
+	/**
+	 * Splits the given label value "KEY:VALUE" into key and value. Returns
+	 * {@code null} if there's no key.
+	 */
+	private String[] split(String label) {
+		if (StringUtils.isEmpty(label)) {
+			return null;
+		}
+		int delimiter = label.indexOf(KEY_VALUE_DELIMITER);
+		if (delimiter == 0) {
+			return null;
+		} else if (delimiter < 0) {
+			return new String[] { label, "" };
+		}
+		return new String[] { label.substring(0, delimiter), label.substring(delimiter + 1) };
+	}
+
 }
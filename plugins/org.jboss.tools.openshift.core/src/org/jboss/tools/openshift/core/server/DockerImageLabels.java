@@ -8,6 +8,7 @@
  *******************************************************************************/
 package org.jboss.tools.openshift.core.server;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
@@ -15,9 +16,10 @@ import java.util.Objects;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.osgi.util.NLS;
 import org.jboss.ide.eclipse.as.wtp.core.server.behavior.IControllableServerBehavior;
-import org.jboss.tools.openshift.common.core.utils.StringUtils;
 import org.jboss.tools.openshift.core.connection.Connection;
 import org.jboss.tools.openshift.internal.core.OpenShiftCoreActivator;
+import org.jboss.tools.openshift.internal.core.docker.ImageLabels;
+import org.jboss.tools.openshift.internal.core.docker.ImageLabelsCache;
 import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
 
 import com.openshift.restclient.OpenShiftException;
@@ -34,12 +36,12 @@ import com.openshift.restclient.model.image.IImageStreamImport;
 
 public class DockerImageLabels {
 
-//	private static final String DOCKER_IMAGE_DIGEST_IDENTIFIER = "sha256:";
+	private static final String DOCKER_IMAGE_DIGEST_IDENTIFIER = "@sha256:";
 	private static final String SHARED_DATA_KEY = "DOCKER_IMAGE_LABELS";
 	
 	private IResource resource;
 	private Connection connection;
-	private String metadata;
+	private ImageLabels labels;
 	private DevmodeMetadata devmodeMetadata;
 	private PodDeploymentPathMetadata podPathMetadata;
 	
@@ -48,7 +50,7 @@ public class DockerImageLabels {
 	 * behaviour shared data is looked up for a matching instance. If it doesn't
 	 * exists a new one is created. The docker image metadata is lazyly loaded when
 	 * data is requested via {@link #getPodPath()}, {@link #getDevmodePortKey()}
-	 * etc.
+	 * etc. Loaded metadata is shared via the {@link ImageLabelsCache}.
 	 * 
 	 * @param resource
 	 * @param behaviour
@@ -107,19 +109,19 @@ public class DockerImageLabels {
 	}
 	
 	private boolean isLoaded() {
-		return metadata != null;
+		return labels != null;
 	}
 	
 	protected boolean loadIfRequired() {
 		if (isLoaded()) {
 			return true;
 		}
-		this.metadata = load(resource);
-		if (StringUtils.isEmpty(metadata)) {
+		this.labels = load(resource);
+		if (labels == null) {
 			return false;
 		}
-		this.devmodeMetadata = new DevmodeMetadata(metadata);
-		this.podPathMetadata = new PodDeploymentPathMetadata(metadata);
+		this.devmodeMetadata = new DevmodeMetadata(labels.getLabels());
+		this.podPathMetadata = new PodDeploymentPathMetadata(labels.getLabels(), labels.getWorkingDir());
 		return true;
 	}
 
@@ -130,13 +132,14 @@ public class DockerImageLabels {
 	/**
 	 * Loads the docker image meta data for a given resource. The given resource is
 	 * used to infer a deployment config which then is used to determined the docker
-	 * image being used. The meta data of this docker image is then loaded.
+	 * image being used. The meta data of this docker image is then looked up in
+	 * the cache (by image digest) or loaded if it's not cached yet.
 	 * 
 	 * @param reosurce
 	 *            the openshift resource to load the image metadata for
 	 * @return
 	 */
-	protected String load(IResource resource) {
+	protected ImageLabels load(IResource resource) {
 		IDeploymentConfig dc = ResourceUtils.getDeploymentConfigFor(resource, connection);
 		if (dc == null) {
 			return null;
@@ -146,8 +149,14 @@ public class DockerImageLabels {
 		if (trigger == null) {
 			return null;
 		}
-		DockerImageURI uri = trigger.getFrom();
-		return getImageStreamTag(uri, resource.getNamespace());
+		ImageLabelsCache cache = ImageLabelsCache.getInstance();
+		ImageLabels labels = cache.get(getImageDigest(dc));
+		if (labels == null) {
+			DockerImageURI uri = trigger.getFrom();
+			labels = getImageStreamTag(uri, resource.getNamespace());
+			cache.put(labels);
+		}
+		return labels;
 //		String imageRef = getImageRef(dc, connection);
 //		int imageDigestIndex = imageRef.indexOf(DOCKER_IMAGE_DIGEST_IDENTIFIER);
 //		if (imageDigestIndex > 0) {
@@ -175,11 +184,26 @@ public class DockerImageLabels {
 		return null;
 	}
 
-	private String getImageStreamTag(DockerImageURI uri, String namespace) {
+	/**
+	 * Returns the digest of the image that the given deployment config is
+	 * deploying (ex. sha256:4bc2b9...). Returns {@code null} if it's not
+	 * deployed by digest.
+	 */
+	private String getImageDigest(IDeploymentConfig dc) {
+		for (String image : dc.getImages()) {
+			int digestIndex = image.indexOf(DOCKER_IMAGE_DIGEST_IDENTIFIER);
+			if (digestIndex >= 0) {
+				return image.substring(digestIndex + 1);
+			}
+		}
+		return null;
+	}
+
+	private ImageLabels getImageStreamTag(DockerImageURI uri, String namespace) {
 		try {
 			IResource imageStreamTag = connection.getResource(ResourceKind.IMAGE_STREAM_TAG, namespace, uri.getAbsoluteUri());
-			return imageStreamTag.toJson();
-		} catch(OpenShiftException e) {
+			return ImageLabels.read(imageStreamTag.toJson());
+		} catch(OpenShiftException | IOException e) {
 			return null;
 		}
 	}
@@ -86,6 +86,9 @@ public class OpenShiftServerUtils {
 	public static final String ATTR_OVERRIDE_PROJECT_SETTINGS = "org.jboss.tools.openshift.project.Override";//$NON-NLS-1$
 
 	public static final String ATTR_CONNECTIONURL = "org.jboss.tools.openshift.Connection";//$NON-NLS-1$
+
+	public static final String ATTR_RSYNC_PARALLELISM = "org.jboss.tools.openshift.RSyncParallelism";//$NON-NLS-1$
+	public static final int DEFAULT_RSYNC_PARALLELISM = 4;
 	
 	/** the OpensHift Server Type as defined in the plugin.xml. */
 	public static final String OPENSHIFT_SERVER_TYPE = "org.jboss.tools.openshift.openshift.server.type";//$NON-NLS-1$
@@ -305,6 +308,22 @@ public class OpenShiftServerUtils {
 		return server.getAttribute(ATTR_IGNORE_CONTEXT_ROOT, true);
 	}
 
+	/**
+	 * Returns the maximum number of pods that the given server publishes to
+	 * concurrently.
+	 * 
+	 * @param server the server to get the parallelism for
+	 * @return the number of pods that are synced concurrently, at least 1
+	 * 
+	 * @see #ATTR_RSYNC_PARALLELISM
+	 */
+	public static int getRSyncParallelism(IServerAttributes server) {
+		if (server == null) {
+			return DEFAULT_RSYNC_PARALLELISM;
+		}
+		return Math.max(1, server.getAttribute(ATTR_RSYNC_PARALLELISM, DEFAULT_RSYNC_PARALLELISM));
+	}
+
 	/**
 	 * Returns true if the given server is an OpenShift one, false otherwise.
 	 * 
@@ -10,8 +10,7 @@
  *******************************************************************************/
 package org.jboss.tools.openshift.core.server;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
 
 import org.jboss.tools.openshift.common.core.utils.StringUtils;
 
@@ -23,25 +22,24 @@ public class PodDeploymentPathMetadata {
 	// default fallback
 	private static final String DEFAULT_DEPLOYMENT_DIR = "/opt/app-root/src";
 	// "image->"dockerImageMetadata"->"Config"->"Labels"->"com.redhat.deployments-dir"
-	private static final Pattern PATTERN_REDHAT_DEPLOYMENTS_DIR = Pattern
-			.compile("\"com\\.redhat\\.deployments-dir\"[^\"]*\"([^\"]*)\",");
-	// "image->"dockerImageMetadata"->"Config"->"Labels"->"com.redhat.deployments-dir"
-	private static final Pattern PATTERN_JBOSS_DEPLOYMENTS_DIR = Pattern
-			.compile("\"org\\.jboss\\.deployments-dir\"[^\"]*\"([^\"]*)\",");
-	// "image->"dockerImageMetadata"->"Config"->"WorkginDir"
-	private static final Pattern PATTERN_WOKRING_DIR = Pattern.compile("\"WorkingDir\"[^\"]*\"([^\"]*)\",");
-	
-	private String metadata;
+	private static final String LABEL_REDHAT_DEPLOYMENTS_DIR = "com.redhat.deployments-dir";
+	// "image->"dockerImageMetadata"->"Config"->"Labels"->"org.jboss.deployments-dir"
+	private static final String LABEL_JBOSS_DEPLOYMENTS_DIR = "org.jboss.deployments-dir";
+
+	private Map<String, String> labels;
+	// "image->"dockerImageMetadata"->"Config"->"WorkingDir"
+	private String workingDir;
 
-	public PodDeploymentPathMetadata(String metadata) {
-		this.metadata = metadata;
+	public PodDeploymentPathMetadata(Map<String, String> labels, String workingDir) {
+		this.labels = labels;
+		this.workingDir = workingDir;
 	}
 
 	public String get() {
-		if (StringUtils.isEmpty(metadata)) {
+		if (labels == null) {
 			return null;
 		}
-		return getPodPath(metadata);
+		return getPodPath();
 	}
 
 	protected String useDefaultPathIfEmpty(String podPath) {
@@ -51,24 +49,15 @@ public class PodDeploymentPathMetadata {
 		return podPath;
 	}
 
-    private String getPodPath(String imageMetaData) {
-        String podPath = null;
-        if ((podPath = matchFirstGroup(imageMetaData, PATTERN_REDHAT_DEPLOYMENTS_DIR)) == null) {
-            if ((podPath = matchFirstGroup(imageMetaData, PATTERN_JBOSS_DEPLOYMENTS_DIR)) == null) {
-                podPath = matchFirstGroup(imageMetaData, PATTERN_WOKRING_DIR);
-            }
-        }
-
-        return podPath;
-    }
-
-    private String matchFirstGroup(String imageStreamTag, Pattern pattern) {
-		Matcher matcher = pattern.matcher(imageStreamTag);
-		if (matcher.find() && matcher.groupCount() == 1) {
-			return matcher.group(1);
-		} else {
-			return null;
+	private String getPodPath() {
+		String podPath = labels.get(LABEL_REDHAT_DEPLOYMENTS_DIR);
+		if (StringUtils.isEmpty(podPath)) {
+			podPath = labels.get(LABEL_JBOSS_DEPLOYMENTS_DIR);
+			if (StringUtils.isEmpty(podPath)) {
+				podPath = workingDir;
+			}
 		}
+		return podPath;
 	}
 
 }
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Incorporated - initial API and implementation
+ *******************************************************************************/
+package org.jboss.tools.openshift.core.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * The state (size, modification time and content hash) of the files in a
+ * folder. Comparing the manifest of the last successful publish with the
+ * current one tells which files were added or changed since. Deleted files are
+ * not removed from the pods, as with a publish of the whole folder.
+ */
+public class PublishManifest {
+
+	private static final String HASH_ALGORITHM = "SHA-1";
+	private static final String GIT_FOLDER = ".git";
+
+	private final Map<String, FileState> files;
+
+	private PublishManifest(Map<String, FileState> files) {
+		this.files = files;
+	}
+
+	/**
+	 * Creates the manifest of the given folder. The content of a file is only
+	 * hashed if its size or modification time differ from the given previous
+	 * manifest.
+	 *
+	 * @param folder the folder to create the manifest for
+	 * @param previous the previous manifest of the same folder or {@code null}
+	 * @return the manifest of the folder
+	 * @throws IOException
+	 */
+	public static PublishManifest create(File folder, PublishManifest previous) throws IOException {
+		Map<String, FileState> files = new HashMap<>();
+		if (folder == null
+				|| !folder.isDirectory()) {
+			return new PublishManifest(files);
+		}
+		Path root = folder.toPath();
+		Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				if (GIT_FOLDER.equals(String.valueOf(dir.getFileName()))) {
+					return FileVisitResult.SKIP_SUBTREE;
+				}
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				String path = toPath(root.relativize(file));
+				FileState known = previous == null ? null : previous.files.get(path);
+				long size = attrs.size();
+				long lastModified = attrs.lastModifiedTime().toMillis();
+				if (known != null
+						&& known.size == size
+						&& known.lastModified == lastModified) {
+					files.put(path, known);
+				} else {
+					files.put(path, new FileState(size, lastModified, hash(file)));
+				}
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		return new PublishManifest(files);
+	}
+
+	/**
+	 * Returns the relative paths of the files that were added or whose
+	 * content changed compared to the given previous manifest.
+	 *
+	 * @param previous the manifest of the last publish
+	 * @return the added and changed paths
+	 */
+	public Collection<String> getChangedPaths(PublishManifest previous) {
+		Collection<String> changed = new TreeSet<>();
+		files.forEach((path, state) -> {
+			FileState known = previous.files.get(path);
+			if (known == null
+					|| !Objects.equals(known.hash, state.hash)) {
+				changed.add(path);
+			}
+		});
+		return changed;
+	}
+
+	public Collection<String> getPaths() {
+		return Collections.unmodifiableCollection(files.keySet());
+	}
+
+	private static String toPath(Path relative) {
+		return relative.toString().replace(File.separatorChar, '/');
+	}
+
+	private static String hash(Path file) throws IOException {
+		try (InputStream in = Files.newInputStream(file)) {
+			MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+			byte[] buffer = new byte[64 * 1024];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+			StringBuilder builder = new StringBuilder();
+			for (byte b : digest.digest()) {
+				builder.append(String.format("%02x", b));
+			}
+			return builder.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private static class FileState {
+
+		private final long size;
+		private final long lastModified;
+		private final String hash;
+
+		private FileState(long size, long lastModified, String hash) {
+			this.size = size;
+			this.lastModified = lastModified;
+			this.hash = hash;
+		}
+	}
+}
@@ -10,36 +10,69 @@
  *******************************************************************************/
 package org.jboss.tools.openshift.core.server;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.util.concurrent.Executors;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.wst.server.core.IServer;
+import org.jboss.dmr.ModelNode;
 import org.jboss.ide.eclipse.as.core.server.IServerConsoleWriter;
 import org.jboss.tools.openshift.common.core.connection.IConnection;
 import org.jboss.tools.openshift.internal.core.OCBinaryOperation;
+import org.jboss.tools.openshift.internal.core.OCBinaryProcesses;
 import org.jboss.tools.openshift.internal.core.OpenShiftCoreActivator;
+import org.jboss.tools.openshift.internal.core.util.OutputPump;
 import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
 
+import com.openshift.restclient.OpenShiftContext;
 import com.openshift.restclient.OpenShiftException;
 import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.capability.CapabilityVisitor;
+import com.openshift.restclient.capability.IBinaryCapability;
 import com.openshift.restclient.capability.IBinaryCapability.OpenShiftBinaryOption;
 import com.openshift.restclient.capability.resources.IRSyncable;
 import com.openshift.restclient.capability.resources.IRSyncable.LocalPeer;
+import com.openshift.restclient.capability.resources.IRSyncable.Peer;
 import com.openshift.restclient.capability.resources.IRSyncable.PodPeer;
 import com.openshift.restclient.model.IPod;
 import com.openshift.restclient.model.IResource;
 
 public class RSync {
 
+	/** the maximum number of pods that are synced concurrently by all servers */
+	public static final int MAX_CONCURRENT_SYNCS = 8;
+	private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60;
+
+	/** syncs the pods of all servers, its threads are released when idle */
+	private static final ThreadPoolExecutor SYNCS = createSyncs();
+
+	/** the manifests of what was last published to a pod, keyed by server, folder and pod */
+	private static final Map<String, PodManifest> publishedManifests = new ConcurrentHashMap<>();
+	/** the manifests of the deploy folders that were last created, keyed by server and folder */
+	private static final Map<String, PublishManifest> folderManifests = new ConcurrentHashMap<>();
+
 	private final IResource resource;
 	private final String podPath;
 	private final IServer server;
@@ -77,15 +110,8 @@ public class RSync {
 				boolean shouldSync = true;
 				//boolean shouldSync = !deployFolder.exists() || deployFolder.listFiles().length == 0; 
 				if (shouldSync) {
-					for (IPod pod : ResourceUtils.getPodsFor(resource, resource.getProject().getResources(ResourceKind.POD))) {
-						try {
-						    if ("Running".equals(pod.getStatus())) {
-	                            syncPodToDirectory(pod, podPath, deployFolder, consoleWriter);
-						    }
-						} catch (IOException | OpenShiftException e) {
-							status.add(new Status(IStatus.ERROR, OpenShiftCoreActivator.PLUGIN_ID, e.getMessage()));
-						}
-					}
+					// pods are synced one after the other, they'd write into the same local folder
+					syncPods(con, 1, status, (pod, prefix) -> syncPodToDirectory(pod, podPath, deployFolder, consoleWriter, prefix));
 				}
 			}
 		}.run(con, status);
@@ -98,79 +124,359 @@ public class RSync {
 			
 			@Override
 			protected void runOCBinary(MultiStatus multiStatus) {
-				for (IPod pod : ResourceUtils.getPodsFor(resource, resource.getProject().getResources(ResourceKind.POD))) {
-					try {
-					    if ("Running".equals(pod.getStatus())) {
-	                        syncDirectoryToPod(pod, deployFolder, podPath, consoleWriter);
-					    }
-					} catch (IOException | OpenShiftException e) {
-						status.add(new Status(IStatus.ERROR, OpenShiftCoreActivator.PLUGIN_ID, e.getMessage()));
-					}
-				}
+				PublishManifest manifest = createManifest(deployFolder);
+				List<IPod> pods = syncPods(con, OpenShiftServerUtils.getRSyncParallelism(server), status, 
+						(pod, prefix) -> publishToPod(pod, deployFolder, manifest, consoleWriter, prefix));
+				forgetOtherPods(deployFolder, pods);
 			}
 		}.run(con, status);
 	}
-	
-	private void syncPodToDirectory(IPod pod, String podPath, File destination,
-			final IServerConsoleWriter consoleWriter) throws IOException {
-		destination.mkdirs();
-		String destinationPath = sanitizePath(destination.getAbsolutePath());
-		pod.accept(new CapabilityVisitor<IRSyncable, IRSyncable>() {
-			@Override
-			public IRSyncable visit(IRSyncable rsyncable) {
-				final InputStream syncStream = rsyncable.sync(new PodPeer(podPath, pod),
-						new LocalPeer(destinationPath), OpenShiftBinaryOption.EXCLUDE_GIT_FOLDER, OpenShiftBinaryOption.SKIP_TLS_VERIFY);
-				asyncWriteLogs(syncStream, consoleWriter);
+
+	/**
+	 * Returns {@code true} if the given folder was published to all running
+	 * pods of the resource before, {@code false} otherwise. The
+	 * pods then hold what was published to them and don't need to be synced
+	 * down to the folder.
+	 *
+	 * @param deployFolder the folder that is published
+	 * @return true if all running pods were published to
+	 */
+	public boolean isPublishedToAllPods(File deployFolder) {
+		List<IPod> pods = getRunningPods();
+		return !pods.isEmpty()
+				&& pods.stream().allMatch(pod -> getPublishedManifest(pod, deployFolder) != null);
+	}
+
+	/**
+	 * Forgets what was published by the given server. Called when the server
+	 * is removed.
+	 * 
+	 * @param server the server that was removed
+	 */
+	public static void forget(IServer server) {
+		String prefix = server.getId() + ":";
+		publishedManifests.keySet().removeIf(key -> key.startsWith(prefix));
+		folderManifests.keySet().removeIf(key -> key.startsWith(prefix));
+	}
+
+	private PublishManifest createManifest(File deployFolder) {
+		String key = getFolderKey(deployFolder);
+		try {
+			PublishManifest manifest = PublishManifest.create(deployFolder, folderManifests.get(key));
+			folderManifests.put(key, manifest);
+			return manifest;
+		} catch (IOException e) {
+			folderManifests.remove(key);
+			OpenShiftCoreActivator.logWarning(
+					NLS.bind("Could not determine the changes in {0}, publishing all files.", deployFolder), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Publishes the given folder to the given pod. Only the files that were
+	 * changed since the last publish are sent if the pod was published to
+	 * before. The whole folder is sent otherwise. What was published is only
+	 * recorded once rsync completed, a failed or interrupted publish sends the
+	 * whole folder the next time.
+	 */
+	private void publishToPod(IPod pod, File deployFolder, PublishManifest manifest, 
+			IServerConsoleWriter consoleWriter, String outputPrefix) throws IOException {
+		PublishManifest published = getPublishedManifest(pod, deployFolder);
+		// forget the published state until the publish succeeded
+		String key = getManifestKey(pod, deployFolder);
+		publishedManifests.remove(key);
+		if (manifest == null
+				|| published == null) {
+			syncDirectoryToPod(pod, deployFolder, podPath, consoleWriter, outputPrefix);
+		} else {
+			Collection<String> changed = manifest.getChangedPaths(published);
+			if (!changed.isEmpty()) {
+				syncFilesToPod(pod, deployFolder, changed, consoleWriter, outputPrefix);
+			}
+		}
+		if (manifest != null) {
+			publishedManifests.put(key, new PodManifest(getPodInstance(pod), manifest));
+		}
+	}
+
+	/**
+	 * Returns the manifest of what was last published to the given pod or
+	 * {@code null} if nothing was published to it. What was published is lost
+	 * if the pod was replaced by a pod of the same name or if one of its
+	 * containers restarted, since the containers then start from their image
+	 * again.
+	 */
+	private PublishManifest getPublishedManifest(IPod pod, File deployFolder) {
+		PodManifest published = publishedManifests.get(getManifestKey(pod, deployFolder));
+		if (published == null
+				|| !published.instance.equals(getPodInstance(pod))) {
+			return null;
+		}
+		return published.manifest;
+	}
+
+	/**
+	 * Forgets what was published to the pods that are not among the given
+	 * ones, these went away.
+	 */
+	private void forgetOtherPods(File deployFolder, List<IPod> pods) {
+		String prefix = getFolderKey(deployFolder) + ":";
+		List<String> keys = pods.stream()
+				.map(pod -> getManifestKey(pod, deployFolder))
+				.collect(Collectors.toList());
+		publishedManifests.keySet().removeIf(key -> key.startsWith(prefix) && !keys.contains(key));
+	}
+
+	/**
+	 * Returns the identity of the filesystem of the given pod: the pod uid and
+	 * the restart count of each container.
+	 */
+	private static String getPodInstance(IPod pod) {
+		ModelNode json = ModelNode.fromJSONString(pod.toJson());
+		StringBuilder instance = new StringBuilder(json.get("metadata", "uid").asString());
+		ModelNode containerStatuses = json.get("status", "containerStatuses");
+		if (containerStatuses.isDefined()) {
+			for (ModelNode containerStatus : containerStatuses.asList()) {
+				instance.append(':')
+					.append(containerStatus.get("name").asString())
+					.append('=')
+					.append(containerStatus.get("restartCount").asInt(0));
+			}
+		}
+		return instance.toString();
+	}
+
+	/**
+	 * Publishes the given files of the given folder to the given pod. The files
+	 * are copied to a staging folder that is then synced to the pod.
+	 */
+	private void syncFilesToPod(IPod pod, File folder, Collection<String> paths, 
+			IServerConsoleWriter consoleWriter, String outputPrefix) throws IOException {
+		Path staging = Files.createTempDirectory("openshift-publish");
+		try {
+			for (String path : paths) {
+				Path target = staging.resolve(path);
+				Files.createDirectories(target.getParent());
+				Files.copy(new File(folder, path).toPath(), target, StandardCopyOption.COPY_ATTRIBUTES);
+			}
+			syncDirectoryToPod(pod, staging.toFile(), podPath, consoleWriter, outputPrefix);
+		} finally {
+			delete(staging);
+		}
+	}
+
+	private void delete(Path folder) {
+		try (Stream<Path> paths = Files.walk(folder)) {
+			paths.sorted(Comparator.reverseOrder())
+				.map(Path::toFile)
+				.forEach(File::delete);
+		} catch (IOException e) {
+			OpenShiftCoreActivator.logError(NLS.bind("Could not delete staging folder {0}", folder), e);
+		}
+	}
+
+	private String getFolderKey(File folder) {
+		return (server == null ? null : server.getId()) + ":" + folder.getAbsolutePath();
+	}
+
+	private String getManifestKey(IPod pod, File folder) {
+		return getFolderKey(folder) + ":" + pod.getNamespace() + "/" + pod.getName();
+	}
+
+	private static ThreadPoolExecutor createSyncs() {
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadPoolExecutor syncs = new ThreadPoolExecutor(
+				MAX_CONCURRENT_SYNCS, MAX_CONCURRENT_SYNCS,
+				IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(),
+				runnable -> {
+					Thread thread = new Thread(runnable, "OpenShift rsync #" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		syncs.allowCoreThreadTimeOut(true);
+		return syncs;
+	}
+
+	/**
+	 * Syncs the running pods of the resource, running up to the given number
+	 * of syncs concurrently. The syncs of all servers share
+	 * {@link #MAX_CONCURRENT_SYNCS} threads. The pods that could not be synced
+	 * are reported in the given status. The console output of each pod is
+	 * prefixed with the pod name if there are several pods. The oc processes
+	 * of the connection are capped by {@link OCBinaryProcesses}.
+	 * 
+	 * @return the pods that were synced
+	 */
+	private List<IPod> syncPods(IConnection connection, int parallelism, MultiStatus status, PodSync podSync) {
+		List<IPod> pods = getRunningPods();
+		boolean prefixOutput = pods.size() > 1;
+		if (parallelism <= 1 
+				|| pods.size() <= 1) {
+			pods.forEach(pod -> addProblem(syncPod(connection, pod, podSync, prefixOutput), status));
+			return pods;
+		}
+		// the oc location is held by the context of the publishing thread
+		final String ocLocation = OpenShiftContext.get().get(IBinaryCapability.OPENSHIFT_BINARY_LOCATION);
+		// each worker syncs the next pod that no other worker took yet
+		AtomicInteger next = new AtomicInteger();
+		IStatus[] statuses = new IStatus[pods.size()];
+		List<Future<?>> workers = IntStream.range(0, Math.min(parallelism, pods.size()))
+				.mapToObj(worker -> SYNCS.submit(() -> {
+					OpenShiftContext.get().put(IBinaryCapability.OPENSHIFT_BINARY_LOCATION, ocLocation);
+					for (int i = next.getAndIncrement(); i < pods.size(); i = next.getAndIncrement()) {
+						statuses[i] = syncPod(connection, pods.get(i), podSync, prefixOutput);
+					}
+				}))
+				.collect(Collectors.toList());
+		Throwable failure = await(workers);
+		for (int i = 0; i < statuses.length; i++) {
+			addProblem(statuses[i] != null ? statuses[i] : getUnsyncedStatus(pods.get(i), failure), status);
+		}
+		return pods;
+	}
+
+	/**
+	 * Waits for the given workers to complete and returns the first failure
+	 * of a worker or {@code null} if none failed. Cancels the workers if the
+	 * current thread is interrupted while waiting.
+	 */
+	private Throwable await(List<Future<?>> workers) {
+		Throwable failure = null;
+		try {
+			for (Future<?> worker : workers) {
 				try {
-					rsyncable.await();
-				} catch (InterruptedException e) {
-					OpenShiftCoreActivator.logError("Thread interrupted while running rsync", e); //$NON-NLS-1$
-					Thread.currentThread().interrupt();
+					worker.get();
+				} catch (ExecutionException e) {
+					if (failure == null) {
+						failure = e.getCause();
+					}
 				}
-				return rsyncable;
 			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			workers.forEach(worker -> worker.cancel(true));
+		}
+		return failure;
+	}
 
-			
-		}, null);
+	private void addProblem(IStatus podStatus, MultiStatus status) {
+		if (!podStatus.isOK()) {
+			status.add(podStatus);
+		}
+	}
+
+	private List<IPod> getRunningPods() {
+		return ResourceUtils.getPodsFor(resource, resource.getProject().getResources(ResourceKind.POD)).stream()
+				.filter(pod -> "Running".equals(pod.getStatus()))
+				.collect(Collectors.toList());
+	}
+
+	private IStatus syncPod(IConnection connection, IPod pod, PodSync podSync, boolean prefixOutput) {
+		try {
+			OCBinaryProcesses.getInstance().run(connection, () -> {
+				podSync.sync(pod, prefixOutput ? NLS.bind("[{0}] ", pod.getName()) : null);
+				return pod;
+			});
+			return Status.OK_STATUS;
+		} catch (IOException | OpenShiftException e) {
+			return new Status(IStatus.ERROR, OpenShiftCoreActivator.PLUGIN_ID, e.getMessage());
+		} catch (OperationCanceledException e) {
+			return new Status(IStatus.CANCEL, OpenShiftCoreActivator.PLUGIN_ID, 
+					NLS.bind("Interrupted while synchronizing pod {0}", pod.getName()), e);
+		}
+	}
+
+	/**
+	 * Returns the status of a pod that no worker completed. Either its worker
+	 * failed or the publish was interrupted.
+	 */
+	private IStatus getUnsyncedStatus(IPod pod, Throwable failure) {
+		if (failure != null) {
+			return new Status(IStatus.ERROR, OpenShiftCoreActivator.PLUGIN_ID, 
+					NLS.bind("Could not synchronize pod {0}", pod.getName()), failure);
+		}
+		return new Status(IStatus.CANCEL, OpenShiftCoreActivator.PLUGIN_ID, 
+				NLS.bind("Interrupted while synchronizing pod {0}", pod.getName()));
+	}
+
+	@FunctionalInterface
+	private interface PodSync {
+		void sync(IPod pod, String outputPrefix) throws IOException;
+	}
+
+	/**
+	 * What was published to a pod instance.
+	 */
+	private static class PodManifest {
+
+		private final String instance;
+		private final PublishManifest manifest;
+
+		PodManifest(String instance, PublishManifest manifest) {
+			this.instance = instance;
+			this.manifest = manifest;
+		}
 	}
 
-	private void syncDirectoryToPod(final IPod pod, final File source, final String podPath, final IServerConsoleWriter consoleWriter) throws IOException {
+	private void syncPodToDirectory(IPod pod, String podPath, File destination,
+			final IServerConsoleWriter consoleWriter, final String outputPrefix) throws IOException {
+		destination.mkdirs();
+		String destinationPath = sanitizePath(destination.getAbsolutePath());
+		rsync(pod, new PodPeer(podPath, pod), new LocalPeer(destinationPath), consoleWriter, outputPrefix);
+	}
+
+	private void syncDirectoryToPod(final IPod pod, final File source, final String podPath, final IServerConsoleWriter consoleWriter, final String outputPrefix) throws IOException {
 		String sourcePath = sanitizePath(source.getAbsolutePath());
-		pod.accept(new CapabilityVisitor<IRSyncable, IRSyncable>() {
+		rsync(pod, new LocalPeer(sourcePath), new PodPeer(podPath, pod), consoleWriter, outputPrefix);
+	}
+
+	/**
+	 * Runs rsync from the given source to the given destination and waits for
+	 * it to complete. Returns normally only if it did.
+	 * 
+	 * @throws IOException if the pod can't be synced by rsync
+	 * @throws OperationCanceledException if the thread was interrupted while waiting for rsync
+	 */
+	private void rsync(final IPod pod, final Peer source, final Peer destination, 
+			final IServerConsoleWriter consoleWriter, final String outputPrefix) throws IOException {
+		IRSyncable synced = pod.accept(new CapabilityVisitor<IRSyncable, IRSyncable>() {
 			@Override
 			public IRSyncable visit(IRSyncable rsyncable) {
-				final InputStream syncStream = rsyncable.sync(new LocalPeer(sourcePath), new PodPeer(podPath, pod), OpenShiftBinaryOption.EXCLUDE_GIT_FOLDER, OpenShiftBinaryOption.SKIP_TLS_VERIFY);
-				asyncWriteLogs(syncStream, consoleWriter);
+				final InputStream syncStream = OCBinaryProcesses.getInstance().spawn(() -> rsyncable.sync(source, destination, 
+						OpenShiftBinaryOption.EXCLUDE_GIT_FOLDER, OpenShiftBinaryOption.SKIP_TLS_VERIFY));
+				asyncWriteLogs(syncStream, consoleWriter, outputPrefix);
 				try {
 					rsyncable.await();
 				} catch (InterruptedException e) {
-					OpenShiftCoreActivator.logError("Thread interrupted while running rsync", e);
 					Thread.currentThread().interrupt();
+					throw new OperationCanceledException(NLS.bind("Interrupted while running rsync for pod {0}", pod.getName()));
 				}
 				return rsyncable;
 			}
 		}, null);
+		if (synced == null) {
+			throw new IOException(NLS.bind("Could not synchronize pod {0}, it does not support rsync.", pod.getName()));
+		}
 	}
 	
 	/**
 	 * Asynchronously writes the logs from the 'rsync' command, provided by the
-	 * given {@code syncStream} into the given {@code outputStream}.
+	 * given {@code syncStream} into the given {@code consoleWriter}.
 	 * 
 	 * @param syncStream the {@link InputStream} to read from
-	 * @param outputStream the {@link OutputStream} to write into
+	 * @param consoleWriter the console writer to write into
+	 * @param outputPrefix the prefix for each line or {@code null} if none
 	 */
-	private void asyncWriteLogs(final InputStream syncStream, final IServerConsoleWriter consoleWriter) {
-		Executors.newSingleThreadExecutor().execute(() -> {
-			try {
-			try (final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(syncStream));) {
-				String line;
-					while ((line = bufferedReader.readLine()) != null) {
-						consoleWriter.writeToShell(RSync.this.server.getId(), new String[]{line});
-					}
-			}
-			} catch(IOException e)  {
-				OpenShiftCoreActivator.logError("Error occurred while printing 'rsync' command output", e);
+	private void asyncWriteLogs(final InputStream syncStream, final IServerConsoleWriter consoleWriter, final String outputPrefix) {
+		OutputPump.getInstance().pump(syncStream, lines -> {
+			if (outputPrefix != null) {
+				for (int i = 0; i < lines.length; i++) {
+					lines[i] = outputPrefix + lines[i];
+				}
 			}
+			consoleWriter.writeToShell(RSync.this.server.getId(), lines);
 		});
 	}
 
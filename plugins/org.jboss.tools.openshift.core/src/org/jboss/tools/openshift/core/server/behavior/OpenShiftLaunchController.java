@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.core.resources.IProject;
@@ -55,14 +56,19 @@ import org.jboss.tools.openshift.internal.core.server.debug.DebugContext;
 import org.jboss.tools.openshift.internal.core.server.debug.DebugLaunchConfigs;
 import org.jboss.tools.openshift.internal.core.server.debug.IDebugListener;
 import org.jboss.tools.openshift.internal.core.server.debug.OpenShiftDebugMode;
+import org.jboss.tools.openshift.internal.core.util.ResourceConditionAwaiter;
 import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
 
 import com.openshift.restclient.capability.IBinaryCapability.OpenShiftBinaryOption;
 import com.openshift.restclient.capability.resources.IPortForwardable;
 import com.openshift.restclient.capability.resources.IPortForwardable.PortPair;
+import com.openshift.restclient.model.IBuild;
+import com.openshift.restclient.model.IDeploymentConfig;
+import com.openshift.restclient.model.IImageStream;
 import com.openshift.restclient.model.IPod;
 import com.openshift.restclient.model.IReplicationController;
 import com.openshift.restclient.model.IResource;
+import com.openshift.restclient.model.IService;
 
 /**
  * @author Rob Stryker
@@ -74,6 +80,10 @@ public class OpenShiftLaunchController extends AbstractSubsystemController imple
 
 	private static final String LAUNCH_DEBUG_PORT_PROP = "LOCAL_DEBUG_PORT";
 	private static final int RECHECK_DELAY = 1000;
+	private static final int RECHECK_COALESCING = 500;
+	private static final int MAX_RECHECK_DELAY = 16_000;
+	private static final int DEBUGGER_RECHECK_DELAY = 250;
+	private static final int MAX_DEBUGGER_RECHECK_DELAY = 4000;
 	private static final int PUBLISH_DELAY = 3000;
 	private static final int DEBUGGER_LAUNCHED_TIMEOUT =  60_000; //TODO Get from server settings?
 	private static final long WAIT_FOR_DEPLOYMENTCONFIG_TIMEOUT = 3 * 60 * 1024;
@@ -132,31 +142,33 @@ public class OpenShiftLaunchController extends AbstractSubsystemController imple
 	protected boolean waitForDeploymentConfigReady(IServer server, IProgressMonitor monitor) throws CoreException {
 		monitor.subTask("Waiting for deployment configs to become available...");
 		Connection connection = OpenShiftServerUtils.getConnectionChecked(server);
+		// changes in the dc, rcs, pods and services are notified by the watch
+		// that is started for the project of the resource when it's looked up
 		IResource resource = OpenShiftServerUtils.getResourceChecked(server, connection, monitor);
-		long timeout = System.currentTimeMillis() + WAIT_FOR_DEPLOYMENTCONFIG_TIMEOUT;
-		while ((ResourceUtils.getDeploymentConfigFor(resource, connection)) == null) {
-			if (!sleep(RECHECK_DELAY, timeout, monitor)) {
-				return false;
-			}
-		}
-		return true;
+		return new ResourceConditionAwaiter(() -> ResourceUtils.getDeploymentConfigFor(resource, connection) != null)
+				.triggeredBy(changed -> isInNamespace(resource, changed)
+						&& (changed instanceof IDeploymentConfig 
+								|| changed instanceof IReplicationController 
+								|| changed instanceof IPod
+								|| changed instanceof IService))
+				.withCoalescing(RECHECK_COALESCING)
+				.withBackoff(RECHECK_DELAY, MAX_RECHECK_DELAY)
+				.await(WAIT_FOR_DEPLOYMENTCONFIG_TIMEOUT, monitor);
 	}
 
-	protected boolean waitForDockerImageLabelsReady(DockerImageLabels metadata, IProgressMonitor monitor) {
+	protected boolean waitForDockerImageLabelsReady(IResource resource, DockerImageLabels metadata, IProgressMonitor monitor) {
 		monitor.subTask("Waiting for docker image to become available...");
-		long timeout = System.currentTimeMillis() + WAIT_FOR_DOCKERIMAGELABELS_TIMEOUT;
-		while (!metadata.load()) {
-			if (!sleep(RECHECK_DELAY, timeout, monitor)) {
-				return false;
-			}
-		}
-		return true;
+		return new ResourceConditionAwaiter(metadata::load)
+				.triggeredBy(changed -> isInNamespace(resource, changed)
+						&& (changed instanceof IImageStream || changed instanceof IBuild))
+				.withCoalescing(RECHECK_COALESCING)
+				.withBackoff(RECHECK_DELAY, MAX_RECHECK_DELAY)
+				.await(WAIT_FOR_DOCKERIMAGELABELS_TIMEOUT, monitor);
 	}
 
-	private boolean sleep(int sleep, long timeout, IProgressMonitor monitor) {
-		return sleep(sleep)
-				&& System.currentTimeMillis() < timeout
-				&& !monitor.isCanceled();
+	private boolean isInNamespace(IResource resource, IResource changed) {
+		return resource != null
+				&& Objects.equals(resource.getNamespace(), changed.getNamespace());
 	}
 
 	private boolean sleep(int sleep) {
@@ -202,7 +214,7 @@ public class OpenShiftLaunchController extends AbstractSubsystemController imple
 	private DockerImageLabels getDockerImageLabels(OpenShiftServerBehaviour beh, IProgressMonitor monitor) {
 		IResource resource = OpenShiftServerUtils.getResource(beh.getServer(), monitor);
 		DockerImageLabels metadata = DockerImageLabels.getInstance(resource, beh);
-		waitForDockerImageLabelsReady(metadata, monitor);
+		waitForDockerImageLabelsReady(resource, metadata, monitor);
 		return metadata;
 	}
 
@@ -415,29 +427,21 @@ public class OpenShiftLaunchController extends AbstractSubsystemController imple
 	}
 
 	private ILaunch lauchDebugger(ILaunchConfiguration debuggerLaunchConfig, int port, IProgressMonitor monitor) {
-		ILaunch launch = null;
-		int elapsed = 0;
-		boolean launched = false;
+		AtomicReference<ILaunch> launch = new AtomicReference<>();
 		monitor.subTask("Waiting for remote debug port to become available...");
-		while(!launched 
-				&& elapsed < DEBUGGER_LAUNCHED_TIMEOUT) {
-			try {
-				//TODO That's fugly. ideally we should see if socket on debug port is responsive instead
-				launch = debuggerLaunchConfig.launch(DEBUG_MODE, new NullProgressMonitor());
-				launch.setAttribute(LAUNCH_DEBUG_PORT_PROP, Integer.toString(port));
-				launched = true;
-			} catch (Exception e) {
-				if (monitor.isCanceled()) {
-					break;
-				}
+		new ResourceConditionAwaiter(() -> {
 				try {
-					Thread.sleep(RECHECK_DELAY);
-					elapsed += RECHECK_DELAY;
-				} catch (InterruptedException ie) {
+					//TODO That's fugly. ideally we should see if socket on debug port is responsive instead
+					launch.set(debuggerLaunchConfig.launch(DEBUG_MODE, new NullProgressMonitor()));
+					launch.get().setAttribute(LAUNCH_DEBUG_PORT_PROP, Integer.toString(port));
+					return true;
+				} catch (Exception e) {
+					return false;
 				}
-			}
-	    }
-		return launch;
+			})
+			.withBackoff(DEBUGGER_RECHECK_DELAY, MAX_DEBUGGER_RECHECK_DELAY)
+			.await(DEBUGGER_LAUNCHED_TIMEOUT, monitor);
+		return launch.get();
 	}
 	
 	private ILaunchConfigurationWorkingCopy getLaunchConfigWorkingCopy(IServer server, DebugLaunchConfigs launchConfigs,
@@ -61,16 +61,10 @@ public class OpenShiftPublishController extends StandardFileSystemPublishControl
 		
 		this.rsync = OpenShiftServerUtils.createRSync(getServer(), monitor);
 		final File localDeploymentDirectory = new File(getDeploymentOptions().getDeploymentsRootFolder(true));
-		final MultiStatus status = new MultiStatus(OpenShiftCoreActivator.PLUGIN_ID, 0, 
-				NLS.bind("Error while publishing server {0}.  Could not sync all pods to folder {1}", getServer().getName(), localDeploymentDirectory.getAbsolutePath()), null);
-		rsync.syncPodsToDirectory(localDeploymentDirectory, status, ServerConsoleModel.getDefault().getConsoleWriter());
-		if (!status.isOK()) {
-			syncDownFailed = true;
-			if (isSyncDownFailureCritical()) {
-				this.rsync = null;
-				throw new CoreException(status);
-			}
-			OpenShiftCoreActivator.pluginLog().logWarning("Ignoring initial sync down error.", new CoreException(status));
+		// pods that were published to still hold what the local folder had at that time
+		if (!localDeploymentDirectory.isDirectory()
+				|| !rsync.isPublishedToAllPods(localDeploymentDirectory)) {
+			syncDown(localDeploymentDirectory);
 		}
 		
 		// If the magic project is *also* a module on the server, do nothing
@@ -88,6 +82,20 @@ public class OpenShiftPublishController extends StandardFileSystemPublishControl
 		}
 	}
 	
+	private void syncDown(final File localDeploymentDirectory) throws CoreException {
+		final MultiStatus status = new MultiStatus(OpenShiftCoreActivator.PLUGIN_ID, 0, 
+				NLS.bind("Error while publishing server {0}.  Could not sync all pods to folder {1}", getServer().getName(), localDeploymentDirectory.getAbsolutePath()), null);
+		rsync.syncPodsToDirectory(localDeploymentDirectory, status, ServerConsoleModel.getDefault().getConsoleWriter());
+		if (!status.isOK()) {
+			syncDownFailed = true;
+			if (isSyncDownFailureCritical()) {
+				this.rsync = null;
+				throw new CoreException(status);
+			}
+			OpenShiftCoreActivator.pluginLog().logWarning("Ignoring initial sync down error.", new CoreException(status));
+		}
+	}
+
 	protected boolean isSyncDownFailureCritical() {
 		return !isEapProfile();
 	}
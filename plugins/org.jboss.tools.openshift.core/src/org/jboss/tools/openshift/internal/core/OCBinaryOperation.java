@@ -19,6 +19,9 @@ import com.openshift.restclient.OpenShiftContext;
 import com.openshift.restclient.capability.IBinaryCapability;
 
 /**
+ * An operation that runs the oc binary of a connection. The oc processes of
+ * the operation should be run and spawned via {@link OCBinaryProcesses}.
+ * 
  * @author Andre Dietisheim
  */
 public abstract class OCBinaryOperation {
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.core;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistryAdapter;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
+import org.jboss.tools.openshift.common.core.connection.IConnection;
+
+/**
+ * Runs the oc processes of the {@link OCBinaryOperation}s. Processes that run
+ * to completion (ex. rsync) are capped per connection so that a publish to
+ * several pods, or several servers publishing at once, don't fork a burst of oc
+ * processes. The time it takes to spawn a process is recorded.
+ * <p>
+ * Long running processes (ex. port-forwarding, log tails) are not capped, they
+ * are reused by the registries that hold them.
+ * <p>
+ * The connections are forgotten once they're removed from the connections
+ * registry.
+ */
+public class OCBinaryProcesses {
+
+	/** the default maximum number of concurrent oc processes per connection */
+	public static final int DEFAULT_MAX_PROCESSES = 8;
+
+	private static final OCBinaryProcesses INSTANCE = createInstance();
+	/** the key for the processes that aren't run for a connection */
+	private static final Object NO_CONNECTION = new Object();
+
+	private final int maxProcesses;
+	private final Map<Object, Semaphore> permits = new IdentityHashMap<>();
+
+	private final AtomicLong spawns = new AtomicLong();
+	private final AtomicLong totalSpawnLatency = new AtomicLong();
+	private final AtomicLong maxSpawnLatency = new AtomicLong();
+
+	public static OCBinaryProcesses getInstance() {
+		return INSTANCE;
+	}
+
+	private static OCBinaryProcesses createInstance() {
+		OCBinaryProcesses processes = new OCBinaryProcesses(DEFAULT_MAX_PROCESSES);
+		ConnectionsRegistrySingleton.getInstance().addListener(new ConnectionsRegistryAdapter() {
+
+			@Override
+			public void connectionRemoved(IConnection connection) {
+				processes.forget(connection);
+			}
+		}, true);
+		return processes;
+	}
+
+	protected OCBinaryProcesses(int maxProcesses) {
+		this.maxProcesses = Math.max(1, maxProcesses);
+	}
+
+	/**
+	 * Runs the given oc process for the given connection. Waits for the
+	 * processes of the connection to finish if the maximum number of processes
+	 * is reached.
+	 *
+	 * @param connection the connection that the process is run for, may be {@code null}
+	 * @param process the process to run to completion
+	 * @return the result of the process
+	 * @throws E if the process fails
+	 * @throws OperationCanceledException if the calling thread is interrupted while waiting
+	 */
+	public <T, E extends Exception> T run(IConnection connection, OCProcess<T, E> process) throws E {
+		Semaphore semaphore = getPermits(connection);
+		try {
+			semaphore.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException("Interrupted while waiting to run oc");
+		}
+		try {
+			return process.run();
+		} finally {
+			semaphore.release();
+		}
+	}
+
+	/**
+	 * Spawns an oc process by calling the given supplier and records the time
+	 * that it took.
+	 *
+	 * @param spawn the supplier that starts the process
+	 * @return what the supplier returned (ex. the output of the process)
+	 */
+	public <T> T spawn(Supplier<T> spawn) {
+		long start = System.nanoTime();
+		try {
+			return spawn.get();
+		} finally {
+			long latency = System.nanoTime() - start;
+			spawns.incrementAndGet();
+			totalSpawnLatency.addAndGet(latency);
+			maxSpawnLatency.accumulateAndGet(latency, Math::max);
+		}
+	}
+
+	private Semaphore getPermits(IConnection connection) {
+		synchronized (permits) {
+			return permits.computeIfAbsent(connection == null ? NO_CONNECTION : connection,
+					key -> new Semaphore(maxProcesses, true));
+		}
+	}
+
+	/**
+	 * Forgets the given connection. The processes that are still running for
+	 * it don't count against the processes that are run for it later.
+	 *
+	 * @param connection the connection that was removed
+	 */
+	public void forget(IConnection connection) {
+		synchronized (permits) {
+			permits.remove(connection);
+		}
+	}
+
+	public int getMaxProcesses() {
+		return maxProcesses;
+	}
+
+	/**
+	 * Returns the number of processes that are running for the given
+	 * connection.
+	 *
+	 * @param connection the connection, may be {@code null}
+	 */
+	public int getRunning(IConnection connection) {
+		Semaphore semaphore;
+		synchronized (permits) {
+			semaphore = permits.get(connection == null ? NO_CONNECTION : connection);
+		}
+		if (semaphore == null) {
+			return 0;
+		}
+		return maxProcesses - semaphore.availablePermits();
+	}
+
+	/**
+	 * Returns the number of connections that processes were run for and that
+	 * were not forgotten.
+	 */
+	public int getConnectionCount() {
+		synchronized (permits) {
+			return permits.size();
+		}
+	}
+
+	/**
+	 * Returns the number of processes that were spawned.
+	 */
+	public long getSpawns() {
+		return spawns.get();
+	}
+
+	/**
+	 * Returns the average time in milliseconds that it took to spawn a process.
+	 */
+	public long getAverageSpawnLatency() {
+		long count = spawns.get();
+		if (count == 0) {
+			return 0;
+		}
+		return TimeUnit.NANOSECONDS.toMillis(totalSpawnLatency.get() / count);
+	}
+
+	/**
+	 * Returns the longest time in milliseconds that it took to spawn a process.
+	 */
+	public long getMaxSpawnLatency() {
+		return TimeUnit.NANOSECONDS.toMillis(maxSpawnLatency.get());
+	}
+
+	/**
+	 * An oc process that is run to completion.
+	 */
+	@FunctionalInterface
+	public interface OCProcess<T, E extends Exception> {
+		T run() throws E;
+	}
+}
@@ -14,6 +14,8 @@ import java.util.Collection;
 
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
+import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.wst.server.core.IServerLifecycleListener;
 import org.eclipse.wst.server.core.ServerCore;
 import org.jboss.tools.foundation.core.plugin.BaseCorePlugin;
@@ -26,7 +28,9 @@ import org.jboss.tools.openshift.common.core.connection.IConnection;
 import org.jboss.tools.openshift.core.connection.Connection;
 import org.jboss.tools.openshift.core.connection.ConnectionPersistency;
 import org.jboss.tools.openshift.core.preferences.OpenShiftCorePreferences;
+import org.jboss.tools.openshift.internal.core.preferences.OCBinaryVersionCache;
 import org.jboss.tools.openshift.internal.core.server.resources.ResourceChangePublisher;
+import org.jboss.tools.openshift.internal.core.util.OutputPump;
 import org.osgi.framework.BundleContext;
 
 /**
@@ -38,6 +42,7 @@ public class OpenShiftCoreActivator extends BaseCorePlugin {
 	private static OpenShiftCoreActivator instance;
 	private IServerLifecycleListener serverListener;
 	private ResourceChangePublisher resourceChangeListener;
+	private IPreferenceChangeListener ocBinaryLocationListener;
 	public OpenShiftCoreActivator() {
 		super();
 		instance = this;
@@ -104,14 +109,19 @@ public class OpenShiftCoreActivator extends BaseCorePlugin {
         // A clone of the auto-publish thread implementation
         resourceChangeListener = new ResourceChangePublisher();
 		ResourcesPlugin.getWorkspace().addResourceChangeListener(resourceChangeListener, IResourceChangeEvent.POST_BUILD | IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
-
+		// validate the oc binary ahead of its use whenever its location changes
+		ocBinaryLocationListener = OCBinaryVersionCache.getInstance().getPreferenceListener();
+		InstanceScope.INSTANCE.getNode(PLUGIN_ID).addPreferenceChangeListener(ocBinaryLocationListener);
 	}
 
     @Override
 	public void stop(BundleContext context) throws Exception {
     	saveAllConnections();
+    	InstanceScope.INSTANCE.getNode(PLUGIN_ID).removePreferenceChangeListener(ocBinaryLocationListener);
     	ResourcesPlugin.getWorkspace().removeResourceChangeListener(resourceChangeListener);
+    	resourceChangeListener.dispose();
     	ServerCore.removeServerLifecycleListener(getServerListener());
+    	OutputPump.shutdown();
     	super.stop(context);
 	}
 
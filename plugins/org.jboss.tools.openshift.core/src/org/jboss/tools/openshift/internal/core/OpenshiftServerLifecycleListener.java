@@ -20,11 +20,14 @@ import org.eclipse.wst.server.core.IServer;
 import org.eclipse.wst.server.core.IServerLifecycleListener;
 import org.jboss.tools.openshift.core.server.OpenShiftServer;
 import org.jboss.tools.openshift.core.server.OpenShiftServerUtils;
+import org.jboss.tools.openshift.core.server.RSync;
 
 public class OpenshiftServerLifecycleListener implements IServerLifecycleListener {
 	@Override
 	public void serverRemoved(IServer server) {
-		// Take no action when a server is removed
+		if (server != null) {
+			RSync.forget(server);
+		}
 	}
 	@Override
 	public void serverChanged(IServer server) {
@@ -10,33 +10,89 @@
  ******************************************************************************/
 package org.jboss.tools.openshift.internal.core;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.eclipse.osgi.service.debug.DebugOptions;
 import org.eclipse.osgi.util.NLS;
 import org.jboss.tools.foundation.core.plugin.AbstractTrace;
 
 /**
  * Hook into platform trace functionality.  Message binding 
  * adheres to NLS.bind (e.g. bind("foo {0}",'bar'))
+ * Messages that are expensive to build should be passed as {@link Supplier}
+ * (e.g. debug(() -> resource.toJson())), they're only built if tracing is
+ * enabled.
  * @author jeff.cantrill
  *
  */
 public class Trace extends AbstractTrace{
 	
+	private static final String DEBUG_OPTION = "/debug";
+
 	private static Trace instance = null;
+
+	private final Map<String, Boolean> enabledLevels = new ConcurrentHashMap<>();
+	private volatile boolean debugging = false;
 	
 	protected Trace(OpenShiftCoreActivator plugin) {
 		super(plugin);
 		instance = this;
 	}
+
+	@Override
+	public void optionsChanged(DebugOptions options) {
+		super.optionsChanged(options);
+		enabledLevels.clear();
+		for (String level : new String[] { STRING_CONFIG, STRING_INFO, STRING_WARNING, STRING_SEVERE, STRING_FINER, STRING_FINEST }) {
+			enabledLevels.put(level, options.getBooleanOption(OpenShiftCoreActivator.PLUGIN_ID + level, false));
+		}
+		this.debugging = options.getBooleanOption(OpenShiftCoreActivator.PLUGIN_ID + DEBUG_OPTION, false);
+	}
+
+	/**
+	 * Returns {@code true} if messages of the given level are traced.
+	 * 
+	 * @param level the level ex. {@link #STRING_FINER}
+	 */
+	public static boolean isEnabled(String level) {
+		Trace trace = instance;
+		return trace != null
+				&& trace.debugging
+				&& Boolean.TRUE.equals(trace.enabledLevels.get(level));
+	}
+
+	public static boolean isDebugEnabled() {
+		return isEnabled(STRING_FINER);
+	}
 	
 	public static void debug(String message, Object...args) {
 		debug(message,null,args);
 	}
 
 	public static void debug(String message, Throwable err, Object...args) {
+		if (!isEnabled(STRING_FINER)) {
+			return;
+		}
 		traceInternal(instance, STRING_FINER, NLS.bind(message, args),err);
 	}
 
+	public static void debug(Supplier<String> message) {
+		debug(message, null);
+	}
+
+	public static void debug(Supplier<String> message, Throwable err) {
+		if (!isEnabled(STRING_FINER)) {
+			return;
+		}
+		traceInternal(instance, STRING_FINER, message.get(), err);
+	}
+
 	public static void info(String message, Object...args) {
+		if (!isEnabled(STRING_INFO)) {
+			return;
+		}
 		traceInternal(instance, STRING_INFO, NLS.bind(message, args));
 	}
 	
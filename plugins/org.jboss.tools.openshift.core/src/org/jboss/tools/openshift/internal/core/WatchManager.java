@@ -10,18 +10,28 @@
  ******************************************************************************/
 package org.jboss.tools.openshift.internal.core;
 
+import java.net.HttpURLConnection;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.jboss.tools.openshift.common.core.utils.StringUtils;
 import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistryAdapter;
 import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
 import org.jboss.tools.openshift.common.core.connection.IConnection;
@@ -33,15 +43,43 @@ import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
 import com.openshift.restclient.IClient;
 import com.openshift.restclient.IOpenShiftWatchListener;
 import com.openshift.restclient.IWatcher;
+import com.openshift.restclient.OpenShiftException;
 import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.model.IProject;
 import com.openshift.restclient.model.IResource;
 
+/**
+ * Watches the resources in OpenShift projects and notifies the connections
+ * registry about changes. There is a single watcher (and a single listener) for
+ * all the {@link #KINDS} in a project. The client opens an endpoint per kind
+ * for it. Events are demultiplexed by kind within the listener and the watch
+ * reconnects as a whole, sharing a single backoff.
+ * <p>
+ * The listener remembers the last seen resourceVersion of each kind and the
+ * resources it knows of, by kind. The client lists each kind on its own when
+ * the watch (re)connects and reports each listing separately, so the known
+ * state of a kind is only replaced by a listing of this very kind. Empty
+ * listings don't tell their kind, the kinds that have no resources are thus
+ * only known once all endpoints listed. When the watch reconnects it resumes
+ * from this state and only notifies the resources that changed while it was
+ * disconnected. The known state is only dropped (relisted) if the server
+ * reports that the resource versions are too old (410 Gone).
+ * <p>
+ * The resources known to the watches are a cache that
+ * {@link #getCachedResources(IOpenShiftConnection, String, String)} serves
+ * from, for the kinds that were listed and as long as their endpoint is
+ * connected or was in sync with the server no longer than the maximum
+ * staleness ago.
+ */
 public class WatchManager {
 
+	public static final String WATCH_JOB_FAMILY = WatchManager.class.getName();
+	public static final long DEFAULT_MAX_STALENESS_MILLIS = 5000;
+
 	private static final int[] FIBONACCI = new int[] { 0, 1, 1, 2, 3, 5, 8, 13, 21 };
 	private static final long BACKOFF_MILLIS = 5000;
 	private static final long BACKOFF_RESET = FIBONACCI[FIBONACCI.length - 1] * BACKOFF_MILLIS * 2;
+	private static final String MESSAGE_RESOURCE_VERSION_TOO_OLD = "too old resource version";
 	public static final String [] KINDS = new String[] {
 			ResourceKind.BUILD, 
 			ResourceKind.BUILD_CONFIG, 
@@ -59,11 +97,18 @@ public class WatchManager {
 	
 	/**
 	 * A map storing relation between Openshift projects and related watcher.
-	 * The String is computed from the Openshift project and it not the Openshift
-	 * project because 2 different Openshift connections may have projects with the
-	 * same name.
+	 * The key is computed from the Openshift project and the connection because
+	 * 2 different Openshift connections may have projects with the same name.
+	 * There's a single watcher for all the kinds in a project.
 	 */
 	private Map<WatchKey, AtomicReference<IWatcher>> watches = new ConcurrentHashMap<>();
+	private Map<WatchKey, WatchListener> listeners = new ConcurrentHashMap<>();
+
+	private final AtomicLong relists = new AtomicLong();
+	private final AtomicLong resumes = new AtomicLong();
+	private final AtomicLong cacheHits = new AtomicLong();
+	private final AtomicLong cacheMisses = new AtomicLong();
+	private volatile long maxStaleness = DEFAULT_MAX_STALENESS_MILLIS;
 	
 	private static class Holder {
 		static WatchManager instance = new WatchManager();
@@ -78,22 +123,126 @@ public class WatchManager {
 	}
 	
 	public void stopWatch(IProject project, IOpenShiftConnection connection) {
-		for (String kind : KINDS) {
-			AtomicReference<IWatcher> watcherRef = watches.remove(new WatchKey(connection, project, kind));
-			if((watcherRef != null) && (watcherRef.get() != null)) {
-				watcherRef.get().stop();
-			}
+		WatchKey key = new WatchKey(connection, project);
+		WatchListener listener = listeners.remove(key);
+		if (listener != null) {
+			listener.stopping();
+		}
+		AtomicReference<IWatcher> watcherRef = watches.remove(key);
+		if (watcherRef != null) {
+			stop(watcherRef.getAndSet(null));
+		}
+	}
+
+	private static void stop(IWatcher watcher) {
+		if (watcher != null) {
+			watcher.stop();
 		}
 	}
 	
 	public void startWatch(final IProject project, final IOpenShiftConnection connection) {
-		AtomicReference<IWatcher> watcherRef = new AtomicReference<>();
-		for (String kind : KINDS) {
-			if (watches.putIfAbsent(new WatchKey(connection, project, kind), watcherRef) == null) {
-				WatchListener listener = new WatchListener(project, connection, kind, 0, 0);
-				startWatch(project, 0, 0, listener);
-			}
+		WatchKey key = new WatchKey(connection, project);
+		if (watches.putIfAbsent(key, new AtomicReference<>()) == null) {
+			WatchListener listener = new WatchListener(project, connection, 0, 0);
+			listeners.put(key, listener);
+			startWatch(project, 0, 0, listener);
+		}
+	}
+
+	/**
+	 * Returns the resources of the given kind in the given namespace as they
+	 * are known to the watch for this namespace. Returns {@code null} if the
+	 * namespace is not watched, the kind is not watched or was not listed yet
+	 * or if the watch was not in sync with the server for longer than the
+	 * maximum staleness. The returned list belongs to the caller but the
+	 * resources are the instances known to the watch, which are shared with
+	 * the OpenShift explorer. Callers that modify a resource need to copy it
+	 * first.
+	 * 
+	 * @param connection the connection to get the resources for
+	 * @param kind the kind of resources
+	 * @param namespace the namespace of the resources
+	 * @return the cached resources or {@code null} if there are none
+	 * 
+	 * @see #setMaxStaleness(long)
+	 */
+	public <T extends IResource> List<T> getCachedResources(IOpenShiftConnection connection, String kind, String namespace) {
+		if (StringUtils.isEmpty(namespace)
+				|| !isCacheable(kind)) {
+			cacheMisses.incrementAndGet();
+			return null;
+		}
+		WatchListener listener = listeners.get(new WatchKey(connection, namespace));
+		if (listener == null
+				|| !listener.isInSync(kind, maxStaleness)) {
+			cacheMisses.incrementAndGet();
+			return null;
 		}
+		cacheHits.incrementAndGet();
+		return listener.getResources(kind);
+	}
+
+	private boolean isCacheable(String kind) {
+		return !ResourceKind.PROJECT.equals(kind)
+				&& Stream.of(KINDS).anyMatch(k -> k.equals(kind));
+	}
+
+	/**
+	 * Sets the maximum time in milliseconds that a watch may be out of sync
+	 * with the server and still serve its resources from the cache.
+	 * 
+	 * @param maxStaleness the maximum staleness in milliseconds
+	 */
+	public void setMaxStaleness(long maxStaleness) {
+		this.maxStaleness = maxStaleness;
+	}
+
+	/**
+	 * Returns the number of lookups that were served by the watch cache.
+	 * 
+	 * @return the number of cache hits
+	 */
+	public long getCacheHits() {
+		return cacheHits.get();
+	}
+
+	/**
+	 * Returns the number of lookups that could not be served by the watch
+	 * cache.
+	 * 
+	 * @return the number of cache misses
+	 */
+	public long getCacheMisses() {
+		return cacheMisses.get();
+	}
+
+	/**
+	 * Returns the number of projects that are currently watched.
+	 * 
+	 * @return the number of watched projects
+	 */
+	public int getWatchedProjectsCount() {
+		return watches.size();
+	}
+
+	/**
+	 * Returns the number of times a watch had to take the full list of
+	 * resources (initial connect or expired resource versions).
+	 * 
+	 * @return the number of full relists
+	 */
+	public long getRelistCount() {
+		return relists.get();
+	}
+
+	/**
+	 * Returns the number of times a watch reconnected and resumed from the
+	 * resource versions it knew of.
+	 * 
+	 * @return the number of resumed watches
+	 */
+	public long getResumeCount() {
+		return resumes.get();
 	}
 	
 	private void startWatch(final IProject project, int backoff, long lastConnect, WatchListener listener) {
@@ -109,17 +258,22 @@ public class WatchManager {
 	}
 	
 	/**
-	 * Class representing a key in the global watches table.
+	 * Class representing a key in the global watches table. Projects are
+	 * identified by their name (which is their namespace).
 	 */
 	private static class WatchKey {
 	    private IOpenShiftConnection connection;
         private IProject project;
-		private String kind;
+        private String namespace;
 
-        private WatchKey(IOpenShiftConnection connection, IProject project, String kind) {
-	        this.connection = connection;
+        private WatchKey(IOpenShiftConnection connection, IProject project) {
+	        this(connection, project.getName());
 	        this.project = project;
-	        this.kind = kind;
+	    }
+
+        private WatchKey(IOpenShiftConnection connection, String namespace) {
+	        this.connection = connection;
+	        this.namespace = namespace;
 	    }
 
         @Override
@@ -127,8 +281,7 @@ public class WatchManager {
             final int prime = 31;
             int result = 1;
             result = prime * result + ((connection == null) ? 0 : connection.hashCode());
-            result = prime * result + ((project == null) ? 0 : project.hashCode());
-            result = prime * result + ((kind == null) ? 0 : kind.hashCode());
+            result = prime * result + ((namespace == null) ? 0 : namespace.hashCode());
             return result;
         }
 
@@ -149,31 +302,30 @@ public class WatchManager {
                     return false;
             } else if (!connection.equals(other.connection))
                 return false;
-            if (project == null) {
-                if (other.project != null)
-                    return false;
-            } else if (!project.equals(other.project))
-                return false;
-            if (kind == null) {
-            	if (other.kind != null)
-            		return false;
-            } else if (!kind.equals(other.kind))
-            	return false;
-            return true;
+            return Objects.equals(namespace, other.namespace);
         }
 	}
 	
 	public class WatchListener implements IOpenShiftWatchListener{
 		
-		private static final int NOT_FOUND = -1;
-		
 		private final IOpenShiftConnection conn;
 		private final IProject project;
-		private final String kind;
 		private int backoff = 0;
 		private long lastConnect = 0;
 		private AtomicReference<State> state = new AtomicReference<>(State.DISCONNECTED);
-		private List<IResource> resources = Collections.synchronizedList(new ArrayList<>());
+		/** the listener for the current connection of the watch */
+		private volatile Endpoints endpoints;
+		/** the known resources by kind, keyed by namespace and name */
+		private Map<String, Map<String, IResource>> resources = new ConcurrentHashMap<>();
+		private Map<String, String> lastResourceVersions = new ConcurrentHashMap<>();
+		/** the kinds that were listed */
+		private Set<String> listed = ConcurrentHashMap.newKeySet();
+		/** the kinds whose resource versions are too old to resume from */
+		private Set<String> relistRequired = ConcurrentHashMap.newKeySet();
+		/** the kinds whose endpoint is known to be connected */
+		private Set<String> connectedKinds = ConcurrentHashMap.newKeySet();
+		/** the last time the resources of a kind were known to be in sync, by kind */
+		private Map<String, Long> lastInSync = new ConcurrentHashMap<>();
 		
 		/**
 		 * Used only for testing purposes
@@ -182,13 +334,12 @@ public class WatchManager {
 			this.state.set(State.valueOf(state));
 		}
 
-		protected WatchListener(IProject project, IOpenShiftConnection conn, String kind, int backoff, long lastConnect) {
-			Trace.debug("WatchManager Adding WatchListener for {0} and kind {1}", project.getName(), kind);
+		protected WatchListener(IProject project, IOpenShiftConnection conn, int backoff, long lastConnect) {
+			Trace.debug("WatchManager Adding WatchListener for {0}", project.getName());
 			this.project = project;
 			this.conn = conn;
 			this.backoff = backoff;
 			this.lastConnect = lastConnect;
-			this.kind = kind;
 			
 			if(System.currentTimeMillis() - lastConnect > BACKOFF_RESET) {
 				backoff = 0;
@@ -197,39 +348,232 @@ public class WatchManager {
 
 		}
 	
+		/**
+		 * Called with the listing of a kind whenever the watch for it
+		 * (re)connects. The client reports every kind separately. An empty
+		 * listing can't be told apart from the ones of other kinds, the
+		 * {@link Endpoints} of the connection account for them once all kinds
+		 * were listed.
+		 */
 		@Override
 		public void connected(List<IResource> resources) {
 			Trace.debug("WatchManager Endpoint connected to {0} with {1} resources", conn.toString(), resources.size());
-			this.resources.addAll(resources);
+			resources.stream()
+				.collect(Collectors.groupingBy(IResource::getKind))
+				.forEach(this::connected);
 		}
 
+		private void connected(String kind, List<IResource> resources) {
+			if (listed.add(kind)) {
+				// initial connect
+				relists.incrementAndGet();
+				replaceResources(kind, resources);
+			} else if (relistRequired.remove(kind)) {
+				Trace.debug("WatchManager Relisting {0} in project {1}, resource versions are too old", kind, project.getName());
+				relists.incrementAndGet();
+				notifyChanges(kind, replaceResources(kind, resources), false);
+			} else {
+				Trace.debug("WatchManager Resuming {0} in project {1} from resource version {2}", kind, project.getName(), lastResourceVersions.get(kind));
+				resumes.incrementAndGet();
+				notifyChanges(kind, replaceResources(kind, resources), true);
+			}
+			inSync(kind);
+		}
+
+		/**
+		 * Marks the endpoint of the given kind as connected and its resources
+		 * as being in sync with the server.
+		 */
+		private void inSync(String kind) {
+			connectedKinds.add(kind);
+			lastInSync.put(kind, System.currentTimeMillis());
+		}
+
+		/**
+		 * Marks all the endpoints as disconnected. The client doesn't tell
+		 * which endpoint disconnected or failed, the kinds are thus only
+		 * considered connected again once they're listed or receive events.
+		 */
+		private void outOfSync() {
+			long now = System.currentTimeMillis();
+			for (Iterator<String> it = connectedKinds.iterator(); it.hasNext();) {
+				lastInSync.put(it.next(), now);
+				it.remove();
+			}
+		}
+
+		/**
+		 * Replaces the known resources of the given kind with the given ones
+		 * and returns the resources of this kind that were known before, keyed
+		 * by namespace and name. The known resources of other kinds are left
+		 * untouched.
+		 * 
+		 * @param kind the kind of the given resources
+		 * @param resources the resources that should be known
+		 * @return the resources of the given kind known so far
+		 */
+		private Map<String, IResource> replaceResources(String kind, List<IResource> resources) {
+			Map<String, IResource> kindResources = new ConcurrentHashMap<>();
+			for (IResource resource : resources) {
+				kindResources.put(getKey(resource), resource);
+				updateResourceVersion(resource);
+			}
+			Map<String, IResource> previous = this.resources.put(kind, kindResources);
+			return previous == null ? new HashMap<>() : new HashMap<>(previous);
+		}
+
+		/**
+		 * Notifies the connections registry about the resources of the given
+		 * kind that changed compared to the given previous resources.
+		 * 
+		 * @param kind
+		 *            the kind of resources
+		 * @param previous
+		 *            the resources of this kind that were known before, keyed
+		 *            by namespace and name
+		 * @param onlyModified
+		 *            if {@code true} the resources with an unchanged
+		 *            resourceVersion are not notified
+		 */
+		private void notifyChanges(String kind, Map<String, IResource> previous, boolean onlyModified) {
+			int notified = 0;
+			for (IResource resource : getKindResources(kind).values()) {
+				IResource oldItem = previous.remove(getKey(resource));
+				if (!onlyModified
+						|| oldItem == null
+						|| !StringUtils.areEqual(oldItem.getResourceVersion(), resource.getResourceVersion())) {
+					fireResourceChanged(oldItem, resource);
+					notified++;
+				}
+			}
+			// remaining ones were deleted while the watch was disconnected
+			for (IResource oldItem : previous.values()) {
+				fireResourceChanged(oldItem, null);
+				notified++;
+			}
+			Trace.debug("WatchManager Notified {0} changed {1} in project {2}", notified, kind, project.getName());
+		}
+
+		private Map<String, IResource> getKindResources(String kind) {
+			return resources.computeIfAbsent(kind, k -> new ConcurrentHashMap<>());
+		}
+
+		private String getKey(IResource resource) {
+			return resource.getNamespace() + "/" + resource.getName();
+		}
+
+		private void updateResourceVersion(IResource resource) {
+			String resourceVersion = resource.getResourceVersion();
+			if (!StringUtils.isEmpty(resourceVersion)) {
+				lastResourceVersions.put(resource.getKind(), resourceVersion);
+			}
+		}
+
+		private void fireResourceChanged(IResource oldItem, IResource newItem) {
+			ConnectionsRegistrySingleton.getInstance().postConnectionChanged(conn, ConnectionProperties.PROPERTY_RESOURCE, oldItem, newItem);
+		}
+
+		/**
+		 * Returns {@code true} if the resources of the given kind were listed
+		 * and the endpoint for this kind is connected or was in sync with the
+		 * server no longer than the given time ago.
+		 * 
+		 * @param kind the kind of resources
+		 * @param maxStaleness the maximum staleness in milliseconds
+		 */
+		private boolean isInSync(String kind, long maxStaleness) {
+			if (!listed.contains(kind)) {
+				return false;
+			}
+			if (connectedKinds.contains(kind)) {
+				return true;
+			}
+			Long lastInSync = this.lastInSync.get(kind);
+			return lastInSync != null
+					&& System.currentTimeMillis() - lastInSync <= maxStaleness;
+		}
+
+		/**
+		 * Returns a new list of the known resources of the given kind. The
+		 * resources are shared with the explorer and must not be modified by
+		 * the callers.
+		 */
+		@SuppressWarnings("unchecked")
+		private <T extends IResource> List<T> getResources(String kind) {
+			Map<String, IResource> kindResources = resources.get(kind);
+			if (kindResources == null) {
+				return new ArrayList<>();
+			}
+			return new ArrayList<>((Collection<T>) kindResources.values());
+		}
+
+		/**
+		 * Returns the last resourceVersion that was seen for the given kind.
+		 * 
+		 * @param kind the kind of resources
+		 * @return the last resourceVersion or {@code null} if none was seen yet
+		 */
+		public String getLastResourceVersion(String kind) {
+			return lastResourceVersions.get(kind);
+		}
+
+		/**
+		 * Called whenever one of the endpoints of the watch closed. The watch
+		 * is reconnected as a whole, the endpoints that are still open keep
+		 * delivering their events until it is.
+		 */
 		@Override
 		public void disconnected() {
 			Trace.debug("WatchManager Endpoint disconnected to {0}.", conn.toString());
-			state.set(State.DISCONNECTED);
+			outOfSync();
+			restart();
 		}
 
 		@Override
 		public void error(Throwable err) {
 			Trace.warn("WatchManager Reconnecting. There was an error watching connection {0}: ", err, conn.toString());
+			outOfSync();
+			if (isResourceVersionTooOld(err)) {
+				relistRequired.addAll(listed);
+			}
 			restart();
 		}
+
+		/**
+		 * Returns {@code true} if the given error reports that the resource
+		 * versions that the watch is resuming from are not available any more
+		 * on the server (410 Gone).
+		 */
+		private boolean isResourceVersionTooOld(Throwable err) {
+			for (Throwable t = err; t != null; t = t.getCause()) {
+				if (t instanceof OpenShiftException
+						&& ((OpenShiftException) t).getStatus() != null
+						&& ((OpenShiftException) t).getStatus().getCode() == HttpURLConnection.HTTP_GONE) {
+					return true;
+				}
+				if (t.getMessage() != null
+						&& t.getMessage().contains(MESSAGE_RESOURCE_VERSION_TOO_OLD)) {
+					return true;
+				}
+			}
+			return false;
+		}
 		
 		private void restart() {
-			if (State.DISCONNECTED.equals(state.get())) {
-				Trace.debug("Endpoint disconnected and skipping restart for project {0} and kind {1}",
-						project.getName(), kind);
+			State current = state.get();
+			if (State.STARTING.equals(current)) {
+				Trace.debug("Returning early from restart.  Already starting for project {0}", project.getName());
+				return;
+			} else if (State.CONNECTED != current) {
+				Trace.debug("Watch not connected and skipping restart for project {0}", project.getName());
 				return;
-			} else if (State.STARTING.equals(state.get())) {
-				Trace.debug("Returning early from restart.  Already starting for project {0} and kind {1}", project.getName(), kind);
 			}
 			try {
-				// TODO enhance fix to only check project once
 				conn.refresh(project);
-				Trace.debug("WatchManager Rescheduling watch job for project {0} and kind {1}", project.getName(), kind);
+				Trace.debug("WatchManager Rescheduling watch job for project {0}", project.getName());
 				startWatch(project, backoff, lastConnect, this);
 			}catch(Exception e) {
-				Trace.debug("WatchManager Unable to rescheduling watch job for project {0} and kind {1}", e, project.getName(), kind);
+				Trace.debug("WatchManager Unable to rescheduling watch job for project {0}", e, project.getName());
 				stopWatch(project, conn);
 			}
 		}
@@ -244,21 +588,30 @@ public class WatchManager {
 				this.client = client;
 			}
 
+			@Override
+			public boolean belongsTo(Object family) {
+				return WATCH_JOB_FAMILY.equals(family);
+			}
+
 			@Override
 			protected IStatus run(IProgressMonitor monitor) {
+				if (State.STOPPING == state.get()) {
+					return Status.OK_STATUS;
+				}
 				try {
 					connect(client);
 				}catch(Exception e) {
-					Trace.debug("Exception starting watch on project {0} and {1} kind",e,project.getName(), kind);
+					Trace.debug("Exception starting watch on project {0}", e, project.getName());
 					backoff++;
 					if(backoff >= FIBONACCI.length) {
-						Trace.info("Exceeded backoff attempts trying to reconnect watch for {0} and kind {1}",project.getName(), kind);
-						watches.remove(project);
+						Trace.info("Exceeded backoff attempts trying to reconnect watch for {0}", project.getName());
+						watches.remove(new WatchKey(conn, project));
+						listeners.remove(new WatchKey(conn, project));
 						state.set(State.DISCONNECTED);
 						return Status.OK_STATUS;
 					}
 					final long delay = FIBONACCI[backoff] * BACKOFF_MILLIS;
-					Trace.debug("Delaying watch restart by {0}ms for project {1} and kinds {2} ", delay, project.getName(), kind);
+					Trace.debug("Delaying watch restart by {0}ms for project {1}", delay, project.getName());
 					new RestartWatchJob(client).schedule(delay);
 				}
 				return Status.OK_STATUS;
@@ -267,25 +620,41 @@ public class WatchManager {
 		}
 		
 		public void start(int backoff, long lastConnect){
-			if(state.getAndSet(State.STARTING) == State.STARTING) {
-				Trace.debug("In the process of starting watch already.  Returning early");
+			State previous = state.getAndUpdate(s -> s == State.STOPPING ? s : State.STARTING);
+			if (previous == State.STARTING
+					|| previous == State.STOPPING) {
+				Trace.debug("In the process of starting or stopping watch already.  Returning early");
 				return;
 			}
 			this.backoff = backoff;
 			this.lastConnect = lastConnect;
-			Trace.info("Starting watch on project {0} for kind {1}", project.getName(), kind);
+			Trace.info("Starting watch on project {0}", project.getName());
 			IClient client = getClientFor(project);
 			if(client != null) {
 				new RestartWatchJob(client).schedule();
 			}
 		}
 		
+		private void stopping() {
+			state.set(State.STOPPING);
+			this.endpoints = null;
+		}
+
 		private void connect(IClient client) {
-		    WatchKey key = new WatchKey(conn, project, kind);
-			if(watches.containsKey(key)) {
-				AtomicReference<IWatcher> watcherRef = watches.get(key);
-				watcherRef.set(client.watch(project.getName(), this, kind));
-				state.set(State.CONNECTED);
+		    WatchKey key = new WatchKey(conn, project);
+			AtomicReference<IWatcher> watcherRef = watches.get(key);
+			if(watcherRef != null) {
+				Endpoints endpoints = new Endpoints();
+				// ignore the callbacks of the previous watcher from now on
+				this.endpoints = endpoints;
+				stop(watcherRef.getAndSet(null));
+				watcherRef.set(client.watch(project.getName(), endpoints, KINDS));
+				if (watches.get(key) != watcherRef) {
+					// stopped meanwhile
+					stop(watcherRef.getAndSet(null));
+					return;
+				}
+				state.compareAndSet(State.STARTING, State.CONNECTED);
 				lastConnect = System.currentTimeMillis();
 			}
 		}
@@ -300,27 +669,88 @@ public class WatchManager {
 
 		@Override
 		public void received(IResource resource, ChangeType change) {
-			Trace.debug("Watch received change in {0} state\n{1}", state, resource.toJson(false));
-			if(State.CONNECTED == state.get()) {
+			Trace.debug(() -> "Watch received change in " + state + " state\n" + resource.toJson(false));
+			// endpoints that are still open keep delivering while the watch restarts
+			if(State.CONNECTED == state.get()
+					|| State.STARTING == state.get()) {
 				IResource newItem = null;
 				IResource oldItem = null;
-				int index = resources.indexOf(resource);
+				String key = getKey(resource);
+				Map<String, IResource> resources = getKindResources(resource.getKind());
 				if (ChangeType.ADDED.equals(change)) {
-					resources.add(resource);
+					resources.put(key, resource);
 					newItem = resource;
 				} else if (ChangeType.DELETED.equals(change)) {
-					oldItem = index > NOT_FOUND ? resources.remove(index) : resource;
-				} else if (ChangeType.MODIFIED.equals(change)) {				
-					if(index > NOT_FOUND) {
-						oldItem = resources.remove(index);
+					oldItem = resources.remove(key);
+					if (oldItem == null) {
+						oldItem = resource;
 					}
-					resources.add(resource);
+				} else if (ChangeType.MODIFIED.equals(change)) {
+					oldItem = resources.put(key, resource);
 					newItem = resource;
 				}
-				ConnectionsRegistrySingleton.getInstance().fireConnectionChanged(conn, ConnectionProperties.PROPERTY_RESOURCE, oldItem, newItem);
+				updateResourceVersion(resource);
+				inSync(resource.getKind());
+				fireResourceChanged(oldItem, newItem);
+			}
+		}
+
+		/**
+		 * The listener that the client calls back for the endpoints of a
+		 * single connection of the watch. The callbacks of a previous
+		 * connection, ie. of the endpoints that are being stopped, are
+		 * ignored.
+		 */
+		private class Endpoints implements IOpenShiftWatchListener {
+
+			/** the kinds that were listed with resources */
+			private final Set<String> listedKinds = ConcurrentHashMap.newKeySet();
+			private final AtomicInteger listings = new AtomicInteger();
+
+			/**
+			 * Every endpoint lists its kind once when it connects. Once all of
+			 * them did, the kinds that were not listed with resources were
+			 * listed empty. Their known resources were deleted meanwhile.
+			 */
+			@Override
+			public void connected(List<IResource> resources) {
+				if (!isCurrent()) {
+					return;
+				}
+				resources.forEach(resource -> listedKinds.add(resource.getKind()));
+				WatchListener.this.connected(resources);
+				if (listings.incrementAndGet() == KINDS.length) {
+					Stream.of(KINDS)
+						.filter(kind -> !listedKinds.contains(kind))
+						.forEach(kind -> WatchListener.this.connected(kind, Collections.emptyList()));
+				}
+			}
+
+			@Override
+			public void disconnected() {
+				if (isCurrent()) {
+					WatchListener.this.disconnected();
+				}
+			}
+
+			@Override
+			public void error(Throwable err) {
+				if (isCurrent()) {
+					WatchListener.this.error(err);
+				}
+			}
+
+			@Override
+			public void received(IResource resource, ChangeType change) {
+				if (isCurrent()) {
+					WatchListener.this.received(resource, change);
+				}
+			}
+
+			private boolean isCurrent() {
+				return endpoints == this;
 			}
 		}
-		
 	}
 
 	private class DeletedConnectionListener extends ConnectionsRegistryAdapter {
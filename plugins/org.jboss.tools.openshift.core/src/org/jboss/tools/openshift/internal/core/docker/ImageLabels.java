@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.core.docker;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * The labels and the working dir of a docker image, as found in the
+ * "image->dockerImageMetadata->Config" of an image stream tag. The image digest
+ * identifies the image content.
+ */
+public class ImageLabels {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private static final String DIGEST = "/image/metadata/name";
+	private static final String CONFIG = "/image/dockerImageMetadata/Config";
+	private static final String CONTAINER_CONFIG = "/image/dockerImageMetadata/ContainerConfig";
+	private static final String LABELS = "/Labels";
+	private static final String WORKING_DIR = "/WorkingDir";
+	/** the objects that are descended into, all others are skipped */
+	private static final List<String> PARENTS = Arrays.asList(
+			"/image", "/image/metadata", "/image/dockerImageMetadata", CONFIG, CONTAINER_CONFIG);
+
+	private final String digest;
+	private final Map<String, String> labels;
+	private final String workingDir;
+
+	public ImageLabels(String digest, Map<String, String> labels, String workingDir) {
+		this.digest = digest;
+		this.labels = labels == null ? Collections.emptyMap() : Collections.unmodifiableMap(labels);
+		this.workingDir = workingDir;
+	}
+
+	/**
+	 * Reads the labels and working dir from the given image stream tag json.
+	 * The json is streamed through and only the image digest, the labels and
+	 * the working dir are picked. The labels and working dir in "Config" win
+	 * over the ones in "ContainerConfig".
+	 *
+	 * @param json the image stream tag json
+	 * @return the labels or {@code null} if the json is empty or no object
+	 * @throws IOException if the json cannot be parsed
+	 */
+	public static ImageLabels read(String json) throws IOException {
+		if (json == null
+				|| json.isEmpty()) {
+			return null;
+		}
+		Map<String, Object> values = new HashMap<>();
+		try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				return null;
+			}
+			readObject(parser, "", values);
+		}
+		return new ImageLabels(
+				(String) values.get(DIGEST),
+				getValue(CONFIG + LABELS, CONTAINER_CONFIG + LABELS, values),
+				getValue(CONFIG + WORKING_DIR, CONTAINER_CONFIG + WORKING_DIR, values));
+	}
+
+	private static void readObject(JsonParser parser, String path, Map<String, Object> values) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String child = path + '/' + parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			if (token == JsonToken.START_OBJECT) {
+				if (PARENTS.contains(child)) {
+					readObject(parser, child, values);
+				} else if (child.endsWith(LABELS)
+						&& isConfig(path)) {
+					values.put(child, readLabels(parser));
+				} else {
+					parser.skipChildren();
+				}
+			} else if (token == JsonToken.START_ARRAY) {
+				parser.skipChildren();
+			} else if (token == JsonToken.VALUE_STRING
+					&& (DIGEST.equals(child)
+						|| (child.endsWith(WORKING_DIR) && isConfig(path)))) {
+				values.put(child, parser.getText());
+			}
+		}
+	}
+
+	private static boolean isConfig(String path) {
+		return CONFIG.equals(path)
+				|| CONTAINER_CONFIG.equals(path);
+	}
+
+	private static Map<String, String> readLabels(JsonParser parser) throws IOException {
+		Map<String, String> labels = new HashMap<>();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String name = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			if (token.isScalarValue()) {
+				labels.put(name, parser.getText());
+			} else {
+				parser.skipChildren();
+			}
+		}
+		return labels;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T getValue(String key, String fallbackKey, Map<String, Object> values) {
+		Object value = values.get(key);
+		if (value == null) {
+			value = values.get(fallbackKey);
+		}
+		return (T) value;
+	}
+
+	/**
+	 * Returns the digest of the image (ex. sha256:4bc2b9...).
+	 */
+	public String getDigest() {
+		return digest;
+	}
+
+	public Map<String, String> getLabels() {
+		return labels;
+	}
+
+	public String getLabel(String name) {
+		return labels.get(name);
+	}
+
+	public String getWorkingDir() {
+		return workingDir;
+	}
+}
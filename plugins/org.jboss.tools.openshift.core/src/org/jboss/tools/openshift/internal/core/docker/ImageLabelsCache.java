@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.core.docker;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.commons.lang.StringUtils;
+import org.jboss.tools.openshift.internal.core.OpenShiftCoreActivator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A cache of the {@link ImageLabels} keyed by image digest. A digest
+ * identifies the image content, the cache can therefore be shared by all
+ * connections and server adapters. The least recently used entries are evicted
+ * once the cache is full. The entries are persisted to the state location of
+ * the plugin so that they survive restarts.
+ */
+public class ImageLabelsCache {
+
+	public static final int MAX_ENTRIES = 128;
+
+	private static final String CACHE_FILE = "imageLabels.json";
+	private static final String PROPERTY_LABELS = "labels";
+	private static final String PROPERTY_WORKING_DIR = "workingDir";
+
+	private static ImageLabelsCache instance;
+
+	private final Map<String, ImageLabels> entries;
+	private final File file;
+	private final ObjectMapper mapper = new ObjectMapper();
+	private boolean restored = false;
+
+	public static synchronized ImageLabelsCache getInstance() {
+		if (instance == null) {
+			instance = new ImageLabelsCache(MAX_ENTRIES, getCacheFile());
+		}
+		return instance;
+	}
+
+	private static File getCacheFile() {
+		OpenShiftCoreActivator plugin = OpenShiftCoreActivator.getDefault();
+		if (plugin == null) {
+			return null;
+		}
+		return plugin.getStateLocation().append(CACHE_FILE).toFile();
+	}
+
+	/**
+	 * Creates a cache with the given size that's persisted to the given file.
+	 *
+	 * @param maxEntries the maximum number of entries
+	 * @param file the file to persist to or {@code null} if it's not persisted
+	 */
+	protected ImageLabelsCache(int maxEntries, File file) {
+		this.entries = new LinkedHashMap<String, ImageLabels>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Entry<String, ImageLabels> eldest) {
+				return size() > maxEntries;
+			}
+		};
+		this.file = file;
+	}
+
+	/**
+	 * Returns the labels for the image with the given digest or {@code null}
+	 * if they're not cached.
+	 *
+	 * @param digest the digest of the image
+	 * @return the labels or {@code null}
+	 */
+	public synchronized ImageLabels get(String digest) {
+		if (StringUtils.isEmpty(digest)) {
+			return null;
+		}
+		restoreIfRequired();
+		return entries.get(digest);
+	}
+
+	/**
+	 * Caches the given labels. Labels without digest are not cached.
+	 *
+	 * @param labels the labels to cache
+	 */
+	public synchronized void put(ImageLabels labels) {
+		if (labels == null
+				|| StringUtils.isEmpty(labels.getDigest())) {
+			return;
+		}
+		restoreIfRequired();
+		entries.put(labels.getDigest(), labels);
+		save();
+	}
+
+	public synchronized int size() {
+		restoreIfRequired();
+		return entries.size();
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		this.restored = true;
+		save();
+	}
+
+	private void restoreIfRequired() {
+		if (restored) {
+			return;
+		}
+		this.restored = true;
+		if (file == null
+				|| !file.isFile()) {
+			return;
+		}
+		try {
+			Iterator<Entry<String, JsonNode>> fields = mapper.readTree(file).fields();
+			while (fields.hasNext()) {
+				Entry<String, JsonNode> field = fields.next();
+				JsonNode node = field.getValue();
+				entries.put(field.getKey(), new ImageLabels(
+						field.getKey(),
+						toMap(node.path(PROPERTY_LABELS)),
+						node.path(PROPERTY_WORKING_DIR).textValue()));
+			}
+		} catch (IOException e) {
+			OpenShiftCoreActivator.logWarning("Could not restore the cached docker image labels from " + file, e);
+		}
+	}
+
+	private Map<String, String> toMap(JsonNode node) {
+		Map<String, String> map = new HashMap<>();
+		node.fields().forEachRemaining(field -> map.put(field.getKey(), field.getValue().asText()));
+		return map;
+	}
+
+	private void save() {
+		if (file == null) {
+			return;
+		}
+		ObjectNode root = mapper.createObjectNode();
+		// least recently used first so that the order survives a restore
+		entries.values().forEach(labels -> {
+			ObjectNode node = root.putObject(labels.getDigest());
+			node.put(PROPERTY_WORKING_DIR, labels.getWorkingDir());
+			ObjectNode labelsNode = node.putObject(PROPERTY_LABELS);
+			labels.getLabels().forEach(labelsNode::put);
+		});
+		try {
+			mapper.writeValue(file, root);
+		} catch (IOException e) {
+			OpenShiftCoreActivator.logWarning("Could not persist the cached docker image labels to " + file, e);
+		}
+	}
+}
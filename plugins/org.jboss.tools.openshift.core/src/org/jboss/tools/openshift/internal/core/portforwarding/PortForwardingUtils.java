@@ -17,14 +17,19 @@ import java.net.ServerSocket;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.MultiStatus;
 import org.jboss.tools.openshift.core.connection.ConnectionsRegistryUtil;
 import org.jboss.tools.openshift.internal.core.OCBinaryOperation;
+import org.jboss.tools.openshift.internal.core.OCBinaryProcesses;
 
 import com.openshift.restclient.capability.CapabilityVisitor;
 import com.openshift.restclient.capability.IBinaryCapability.OpenShiftBinaryOption;
@@ -38,7 +43,13 @@ import com.openshift.restclient.model.IPod;
 public class PortForwardingUtils {
 
 	/** Internal registry of {@link IPod}'s port-forwarding. */
-	private static final Map<IPod, IPortForwardable> REGISTRY = new HashMap<>();
+	private static final Map<IPod, IPortForwardable> REGISTRY = new ConcurrentHashMap<>();
+	/** the port-forwardings that are being started, by pod */
+	private static final Map<IPod, CompletableFuture<IPortForwardable>> STARTING = new ConcurrentHashMap<>();
+
+	/** the initial and maximum delay when polling for ports to get free */
+	private static final long MIN_POLLING_DELAY = 10;
+	private static final long MAX_POLLING_DELAY = 100;
 
 	/**
 	 * Checks if the given port is already used
@@ -113,27 +124,70 @@ public class PortForwardingUtils {
 	 *         started on the given pod.
 	 */
 	public static IPortForwardable startPortForwarding(final IPod pod, final Collection<IPortForwardable.PortPair> ports, final OpenShiftBinaryOption... options) {
-		// skip if port-forwarding is already started
-		if (isPortForwardingStarted(pod)) {
-			return null;
+		while (true) {
+			// skip if port-forwarding is already started
+			if (isPortForwardingStarted(pod)) {
+				return null;
+			}
+			// a single caller starts the pod so that concurrent starts don't spawn several oc processes
+			CompletableFuture<IPortForwardable> start = new CompletableFuture<>();
+			CompletableFuture<IPortForwardable> pending = STARTING.putIfAbsent(pod, start);
+			if (pending == null) {
+				return startPortForwarding(pod, ports, start, options);
+			}
+			// started concurrently, check again once it's done
+			awaitQuietly(pending);
+		}
+	}
+
+	private static IPortForwardable startPortForwarding(final IPod pod, final Collection<IPortForwardable.PortPair> ports, 
+			CompletableFuture<IPortForwardable> start, final OpenShiftBinaryOption... options) {
+		try {
+			if (isPortForwardingStarted(pod)) {
+				// started by a caller that finished before this one claimed the pod
+				start.complete(null);
+				return null;
+			}
+			IPortForwardable forwarding = forwardPorts(pod, ports, options);
+			if (forwarding != null) {
+				REGISTRY.put(pod, forwarding);
+			} else {
+				REGISTRY.remove(pod);
+			}
+			start.complete(forwarding);
+			return forwarding;
+		} catch (RuntimeException e) {
+			start.completeExceptionally(e);
+			throw e;
+		} finally {
+			STARTING.remove(pod, start);
 		}
-		final IPortForwardable portForwarding = pod
-				.accept(new CapabilityVisitor<IPortForwardable, IPortForwardable>() {
+	}
+
+	private static void awaitQuietly(CompletableFuture<IPortForwardable> start) {
+		try {
+			start.join();
+		} catch (CompletionException | CancellationException e) {
+			// the other start failed, this caller may try again
+		}
+	}
+
+	private static IPortForwardable forwardPorts(final IPod pod, final Collection<IPortForwardable.PortPair> ports, final OpenShiftBinaryOption... options) {
+		return pod.accept(new CapabilityVisitor<IPortForwardable, IPortForwardable>() {
+			@Override
+			public IPortForwardable visit(final IPortForwardable portForwarding) {
+				new OCBinaryOperation() {
 					@Override
-					public IPortForwardable visit(final IPortForwardable portForwarding) {
-						new OCBinaryOperation() {
-							@Override
-							protected void runOCBinary(MultiStatus multiStatus) {
-								portForwarding.forwardPorts(ports, options);
-							}
-						}.run(ConnectionsRegistryUtil.safeGetConnectionFor(pod), null);
-						return portForwarding;
+					protected void runOCBinary(MultiStatus multiStatus) {
+						OCBinaryProcesses.getInstance().spawn(() -> {
+							portForwarding.forwardPorts(ports, options);
+							return portForwarding;
+						});
 					}
-				}, null);
-		if (portForwarding != null) {
-			REGISTRY.put(pod, portForwarding);
-		}
-		return portForwarding;
+				}.run(ConnectionsRegistryUtil.safeGetConnectionFor(pod), null);
+				return portForwarding;
+			}
+		}, null);
 	}
 
 	/**
@@ -167,9 +221,11 @@ public class PortForwardingUtils {
 			return null;
 		}
 		final IPortForwardable portForwarding = REGISTRY.remove(pod);
-		if (portForwarding != null) {
-			portForwarding.stop();
+		if (portForwarding == null) {
+			// stopped concurrently
+			return null;
 		}
+		portForwarding.stop();
 		waitForPortsToGetFree(portForwarding.getPortPairs(), 5, stream);
 		return portForwarding;
 	}
@@ -177,29 +233,41 @@ public class PortForwardingUtils {
 	/**
 	 * Polls the given ports for given time.
 	 * Returns true if all ports get free, returns false otherwise.
+	 * The ports are polled right away and then with a delay that grows from
+	 * 10ms up to 100ms so that ports that are released quickly are detected
+	 * quickly.
 	 * @param ports
 	 * @param stream
 	 * @return
 	 * @throws IOException
 	 */
 	public static boolean waitForPortsToGetFree(Collection<PortPair> ports, int pollingTimeSeconds, OutputStream stream) throws IOException {
-		int pollCount = pollingTimeSeconds * 10; //One poll per 100 ms.
-		for (int i = 0; i < pollCount; i++) {
+		long start = System.currentTimeMillis();
+		long deadline = start + TimeUnit.SECONDS.toMillis(pollingTimeSeconds);
+		long nextReport = start;
+		long delay = MIN_POLLING_DELAY;
+		while (true) {
 			if(!PortForwardingUtils.hasPortInUse(ports)) {
 				return true;
 			}
-			if (i % 10 == 0) {
+			long now = System.currentTimeMillis();
+			if (now >= deadline) {
+				return false;
+			}
+			if (now >= nextReport) {
 				// report once a second;
 				if(stream != null) {
 					stream.write("Waiting for port-forwarding to stop...\n".getBytes());
 				}
+				nextReport += TimeUnit.SECONDS.toMillis(1);
 			}
 			try {
-				Thread.sleep(100);
+				Thread.sleep(Math.min(delay, deadline - now));
 			} catch (InterruptedException e) {
-				break;
+				Thread.currentThread().interrupt();
+				return false;
 			}
+			delay = Math.min(delay * 2, MAX_POLLING_DELAY);
 		}
-		return false;
 	}
 }
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.core.preferences;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
+import org.jboss.tools.openshift.core.preferences.IOpenShiftCoreConstants;
+import org.osgi.framework.Version;
+
+/**
+ * A cache of the versions of the oc binaries. The versions are keyed by the
+ * canonical path of the binary and are valid as long as its size and last
+ * modification time are unchanged. Looking up a cached version therefore costs
+ * a single stat of the binary instead of running "oc version".
+ *
+ * @see OCBinaryVersionValidator#getVersion(IProgressMonitor)
+ */
+public class OCBinaryVersionCache {
+
+	private static final OCBinaryVersionCache INSTANCE = new OCBinaryVersionCache();
+
+	/** the canonical paths for the locations that were looked up */
+	private final Map<String, String> canonicalPaths = new ConcurrentHashMap<>();
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	public static OCBinaryVersionCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the cached version of the oc binary at the given location or
+	 * {@code null} if it's not cached or the binary changed since it was
+	 * cached.
+	 *
+	 * @param location the location of the oc binary
+	 * @return the version or {@code null}
+	 */
+	public Version get(String location) {
+		if (StringUtils.isBlank(location)) {
+			return null;
+		}
+		String canonicalPath = canonicalPaths.computeIfAbsent(location, OCBinaryVersionCache::getCanonicalPath);
+		Entry entry = entries.get(canonicalPath);
+		if (entry == null) {
+			return null;
+		}
+		BasicFileAttributes attributes = readAttributes(canonicalPath);
+		if (!entry.isValid(attributes)) {
+			entries.remove(canonicalPath, entry);
+			// the location may be a link that points to a different binary now
+			canonicalPaths.remove(location);
+			return null;
+		}
+		return entry.version;
+	}
+
+	/**
+	 * Caches the given version for the oc binary at the given location. Nothing
+	 * is cached if the binary doesn't exist.
+	 *
+	 * @param location the location of the oc binary
+	 * @param version the version of the binary
+	 */
+	public void put(String location, Version version) {
+		if (StringUtils.isBlank(location)
+				|| version == null) {
+			return;
+		}
+		String canonicalPath = getCanonicalPath(location);
+		BasicFileAttributes attributes = readAttributes(canonicalPath);
+		if (attributes == null) {
+			return;
+		}
+		canonicalPaths.put(location, canonicalPath);
+		entries.put(canonicalPath, new Entry(attributes, version));
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public void clear() {
+		entries.clear();
+		canonicalPaths.clear();
+	}
+
+	/**
+	 * Determines the version of the oc binary at the given location in a
+	 * background job so that it's cached once it's requested.
+	 *
+	 * @param location the location of the oc binary
+	 */
+	public void validateInBackground(String location) {
+		if (StringUtils.isBlank(location)) {
+			return;
+		}
+		Job job = new Job("Validating oc binary at " + location) {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				new OCBinaryVersionValidator(location).getVersion(monitor);
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.schedule();
+	}
+
+	/**
+	 * Returns a listener that validates the oc binary in the background when
+	 * the oc location preference changes.
+	 */
+	public IPreferenceChangeListener getPreferenceListener() {
+		return new IPreferenceChangeListener() {
+
+			@Override
+			public void preferenceChange(PreferenceChangeEvent event) {
+				if (IOpenShiftCoreConstants.OPENSHIFT_CLI_LOC.equals(event.getKey())
+						&& event.getNewValue() instanceof String) {
+					validateInBackground((String) event.getNewValue());
+				}
+			}
+		};
+	}
+
+	private static String getCanonicalPath(String location) {
+		try {
+			return new File(location).getCanonicalPath();
+		} catch (IOException e) {
+			return new File(location).getAbsolutePath();
+		}
+	}
+
+	private static BasicFileAttributes readAttributes(String path) {
+		try {
+			return Files.readAttributes(new File(path).toPath(), BasicFileAttributes.class);
+		} catch (IOException | SecurityException e) {
+			return null;
+		}
+	}
+
+	private static class Entry {
+
+		private final long size;
+		private final long lastModified;
+		private final Version version;
+
+		private Entry(BasicFileAttributes attributes, Version version) {
+			this.size = attributes.size();
+			this.lastModified = attributes.lastModifiedTime().toMillis();
+			this.version = version;
+		}
+
+		private boolean isValid(BasicFileAttributes attributes) {
+			return attributes != null
+					&& attributes.size() == size
+					&& attributes.lastModifiedTime().toMillis() == lastModified;
+		}
+	}
+}
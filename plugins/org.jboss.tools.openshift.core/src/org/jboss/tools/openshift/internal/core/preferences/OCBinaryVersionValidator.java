@@ -63,23 +63,39 @@ public class OCBinaryVersionValidator {
 
 	
 	/**
-	 * Returns the version of the OC binary by running the version command.
-	 * 
+	 * Returns the version of the OC binary. The version is looked up in the
+	 * {@link OCBinaryVersionCache} and the version command is only run if the
+	 * binary is not cached or changed since it was cached.
+	 *
 	 * @param monitor the progress monitor
-	 * 
+	 *
 	 * @return the OSGi version of the binary
 	 */
 	public Version getVersion(IProgressMonitor monitor) {
-		Optional<Version> version = Optional.empty();
-		if (path != null) {
-			try {
-				ProcessBuilder builder = new ProcessBuilder(path, "version");
-				Process process = builder.start();
-				version = parseVersion(process, monitor);
-			} catch (IOException e) {
-				OpenShiftCoreActivator.logError(e.getLocalizedMessage(), e);
+		if (path == null) {
+			return Version.emptyVersion;
+		}
+		Version version = OCBinaryVersionCache.getInstance().get(path);
+		if (version == null) {
+			version = runVersionCommand(monitor);
+			// don't cache failures, the binary may only lack permissions
+			if (!monitor.isCanceled()
+					&& !Version.emptyVersion.equals(version)) {
+				OCBinaryVersionCache.getInstance().put(path, version);
 			}
 		}
+		return version;
+	}
+
+	private Version runVersionCommand(IProgressMonitor monitor) {
+		Optional<Version> version = Optional.empty();
+		try {
+			ProcessBuilder builder = new ProcessBuilder(path, "version");
+			Process process = builder.start();
+			version = parseVersion(process, monitor);
+		} catch (IOException e) {
+			OpenShiftCoreActivator.logError(e.getLocalizedMessage(), e);
+		}
 		return version.orElse(Version.emptyVersion);
 	}
 
@@ -161,7 +161,10 @@ public class OpenShiftDebugMode {
 					OpenShiftCoreActivator.PLUGIN_ID, "No deployment config present that can be updated."));
 		}
 
-		IPod pod = getNewPod(monitor, dc, ConnectionsRegistryUtil.getConnectionFor(dc));
+		Connection connection = ConnectionsRegistryUtil.getConnectionFor(dc);
+		// the deployment config may be shared with the explorer, modify a copy
+		dc = connection.getResourceFactory().create(dc.toJson(true));
+		IPod pod = getNewPod(monitor, dc, connection);
 		context.setPod(pod);
 
 		toggleDebugger(context, monitor);
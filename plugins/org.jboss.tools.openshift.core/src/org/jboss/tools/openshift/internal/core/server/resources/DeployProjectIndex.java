@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Incorporated - initial API and implementation
+ *******************************************************************************/
+package org.jboss.tools.openshift.internal.core.server.resources;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.wst.server.core.IServer;
+import org.eclipse.wst.server.core.IServerLifecycleListener;
+import org.eclipse.wst.server.core.IServerType;
+import org.eclipse.wst.server.core.ServerCore;
+import org.jboss.tools.openshift.core.server.OpenShiftServer;
+import org.jboss.tools.openshift.core.server.OpenShiftServerUtils;
+
+/**
+ * An index of the OpenShift servers by the name of their deploy project. It is
+ * built from the workspace servers once and then kept up to date by the
+ * server lifecycle events, so that looking up the servers for a changed project
+ * doesn't walk all the servers and load their adapters.
+ */
+public class DeployProjectIndex implements IServerLifecycleListener {
+
+	/** the deploy project names by server */
+	private final Map<IServer, String> deployProjects = new HashMap<>();
+	/** the servers by deploy project name */
+	private final Map<String, Set<IServer>> servers = new HashMap<>();
+	private boolean initialized = false;
+
+	/**
+	 * Returns the OpenShift servers that deploy the given project.
+	 *
+	 * @param project the deploy project
+	 * @return the servers, an empty set if there are none
+	 */
+	public synchronized Set<IServer> getServers(IProject project) {
+		if (project == null) {
+			return Collections.emptySet();
+		}
+		initIfRequired();
+		Set<IServer> projectServers = servers.get(project.getName());
+		if (projectServers == null) {
+			return Collections.emptySet();
+		}
+		return new LinkedHashSet<>(projectServers);
+	}
+
+	private void initIfRequired() {
+		if (initialized) {
+			return;
+		}
+		this.initialized = true;
+		for (IServer server : ServerCore.getServers()) {
+			add(server);
+		}
+	}
+
+	@Override
+	public synchronized void serverAdded(IServer server) {
+		if (initialized) {
+			add(server);
+		}
+	}
+
+	@Override
+	public synchronized void serverChanged(IServer server) {
+		if (initialized) {
+			// the deploy project may have changed
+			remove(server);
+			add(server);
+		}
+	}
+
+	@Override
+	public synchronized void serverRemoved(IServer server) {
+		if (initialized) {
+			remove(server);
+		}
+	}
+
+	private void add(IServer server) {
+		if (!isOpenShiftServer(server)) {
+			return;
+		}
+		String deployProject = OpenShiftServerUtils.getDeployProjectName(server);
+		if (deployProject == null) {
+			return;
+		}
+		deployProjects.put(server, deployProject);
+		servers.computeIfAbsent(deployProject, key -> new LinkedHashSet<>()).add(server);
+	}
+
+	private void remove(IServer server) {
+		String deployProject = deployProjects.remove(server);
+		if (deployProject == null) {
+			return;
+		}
+		Set<IServer> projectServers = servers.get(deployProject);
+		if (projectServers != null) {
+			projectServers.remove(server);
+			if (projectServers.isEmpty()) {
+				servers.remove(deployProject);
+			}
+		}
+	}
+
+	private boolean isOpenShiftServer(IServer server) {
+		if (server == null) {
+			return false;
+		}
+		IServerType type = server.getServerType();
+		return type != null
+				&& OpenShiftServer.SERVER_TYPE_ID.equals(type.getId());
+	}
+}
@@ -12,6 +12,8 @@ package org.jboss.tools.openshift.internal.core.server.resources;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -29,8 +31,10 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.core.runtime.jobs.MultiRule;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.wst.server.core.IServer;
@@ -53,6 +57,21 @@ import org.jboss.tools.openshift.internal.core.Trace;
  */
 public class ResourceChangePublisher implements IResourceChangeListener {
 
+	/** the time in ms that the changes of a server are collected before they're handled in one job */
+	public static final long COALESCING_WINDOW = 250;
+
+	private final DeployProjectIndex deployProjectIndex = new DeployProjectIndex();
+	/** the change jobs that didn't start yet, by server */
+	private final Map<IServer, MagicProjectChangeJob> pendingJobs = new ConcurrentHashMap<>();
+
+	public ResourceChangePublisher() {
+		ServerCore.addServerLifecycleListener(deployProjectIndex);
+	}
+
+	public void dispose() {
+		ServerCore.removeServerLifecycleListener(deployProjectIndex);
+	}
+
 	@Override
 	public void resourceChanged(IResourceChangeEvent event) {
 		final IResourceDelta delta = event.getDelta();
@@ -134,44 +153,34 @@ public class ResourceChangePublisher implements IResourceChangeListener {
 	private OpenShiftServer[] getPublishRequiredServers(IResourceDelta delta){		
 		// The list of servers that will require publish
 		final List<OpenShiftServer> servers2 = new ArrayList<>();
-
-		// wrksServers = Workspaces Servers
-		final IServer[] wrksServers =  ServerCore.getServers();
-		for( int i = 0; i < wrksServers.length; i++ ) {
-			OpenShiftServer os = (OpenShiftServer)wrksServers[i].loadAdapter(OpenShiftServer.class, new NullProgressMonitor());
+		// Safe because we've already eliminated non-project deltas
+		IProject p = (IProject)delta.getResource();
+		for (IServer server : deployProjectIndex.getServers(p)) {
+			OpenShiftServer os = (OpenShiftServer)server.loadAdapter(OpenShiftServer.class, new NullProgressMonitor());
 			if( os != null ) {
-				IProject magic = OpenShiftServerUtils.getDeployProject(wrksServers[i]);
-				if( magic != null ) {
-					 // Safe because we've already eliminated non-project deltas
-					IProject p = (IProject)delta.getResource();
-					if( magic.equals(p)) {
-						servers2.add(os);
-					}
-				}
+				servers2.add(os);
 			}
 		}
 		return servers2.toArray(new OpenShiftServer[servers2.size()]);
 	}
 	
 
+	/**
+	 * Handles the changes to the deploy project of the given server. Changes
+	 * that occur within {@link #COALESCING_WINDOW} are merged into the job that
+	 * is pending for the server.
+	 */
 	protected void handleSpecialProjectChange(OpenShiftServer server, IResourceDelta delta,  List<IResource> changes, IResourceChangeEvent event) {
-		// check for duplicate jobs already waiting and don't create a new one
-		Job[] jobs = Job.getJobManager().find(ServerUtil.SERVER_JOB_FAMILY);
-		if (jobs != null) {
-			int size = jobs.length;
-			for (int i = 0; i < size; i++) {
-				if (jobs[i] instanceof MagicProjectChangeJob) {
-					MagicProjectChangeJob rcj = (MagicProjectChangeJob) jobs[i];
-					if (rcj.getServer().equals(server.getServer()) && rcj.getState() == Job.WAITING)
-						return;
-				}
-			}
+		MagicProjectChangeJob pending = pendingJobs.get(server.getServer());
+		if (pending != null
+				&& pending.merge(changes, event)) {
+			return;
 		}
-		
 		MagicProjectChangeJob job = new MagicProjectChangeJob(server, delta, changes, event);
 		job.setSystem(true);
 		job.setPriority(Job.BUILD);
-		job.schedule();
+		pendingJobs.put(server.getServer(), job);
+		job.schedule(COALESCING_WINDOW);
 	}
 	
 	/**
@@ -180,17 +189,67 @@ public class ResourceChangePublisher implements IResourceChangeListener {
 	public class MagicProjectChangeJob extends Job {
 		private IResourceDelta delta;
 		private OpenShiftServer openshiftServer;
-		private IResourceChangeEvent event;
+		private boolean buildOccurred;
+		private boolean projectClosedOrDeleted;
 		private List<IResource> changes;
+		private int mergedDeltas = 0;
+		private boolean closed = false;
 
 		public MagicProjectChangeJob(OpenShiftServer openshiftServer, IResourceDelta delta, List<IResource> change, IResourceChangeEvent event) {
 			super(NLS.bind(Messages.jobUpdateServer, openshiftServer.getServer().getName()));
 			this.openshiftServer = openshiftServer;
 			this.delta = delta;
-			this.changes = change;
-			this.event = event;
+			this.changes = new ArrayList<>(change);
+			this.buildOccurred = event != null && didBuildOccur(event);
+			this.projectClosedOrDeleted = event != null && isProjectCloseOrDeleteEvent(event);
 
 			setRule(createResourcesRule(openshiftServer, delta));
+			addJobChangeListener(new JobChangeAdapter() {
+				@Override
+				public void done(IJobChangeEvent event) {
+					// jobs that are cancelled before they run are done without running
+					close();
+				}
+			});
+		}
+
+		/**
+		 * Merges the given changes into this job if it didn't start yet.
+		 * 
+		 * @return true if the changes were merged, false if the job started,
+		 *         was cancelled or is not scheduled
+		 */
+		synchronized boolean merge(List<IResource> change, IResourceChangeEvent event) {
+			if (closed
+					|| getState() == Job.NONE) {
+				return false;
+			}
+			this.changes.addAll(change);
+			this.buildOccurred |= event != null && didBuildOccur(event);
+			this.projectClosedOrDeleted |= event != null && isProjectCloseOrDeleteEvent(event);
+			this.mergedDeltas++;
+			return true;
+		}
+
+		/**
+		 * Stops merging changes into this job and removes it from the pending
+		 * jobs.
+		 */
+		private synchronized void close() {
+			this.closed = true;
+			pendingJobs.remove(getServer(), this);
+		}
+
+		/**
+		 * Returns the number of deltas that were merged into this job, in
+		 * addition to the one that it was created for.
+		 */
+		public synchronized int getMergedDeltas() {
+			return mergedDeltas;
+		}
+
+		public synchronized List<IResource> getChanges() {
+			return new ArrayList<>(changes);
 		}
 
 		private ISchedulingRule createResourcesRule(OpenShiftServer openshiftServer, IResourceDelta delta) {
@@ -212,6 +271,9 @@ public class ResourceChangePublisher implements IResourceChangeListener {
 		
 		@Override
 		protected IStatus run(IProgressMonitor monitor) {
+			close();
+			Trace.debug(() -> NLS.bind("Handling changes to the deploy project of server {0}, merged {1} deltas", 
+					openshiftServer.getServer().getName(), getMergedDeltas()));
 			IServer server = openshiftServer.getServer();
 			OpenShiftServerBehaviour behaviourDelegate = (OpenShiftServerBehaviour)
 					server.loadAdapter(OpenShiftServerBehaviour.class, new NullProgressMonitor());
@@ -225,15 +287,12 @@ public class ResourceChangePublisher implements IResourceChangeListener {
 				behaviourDelegate.handleResourceChange();
 			
 			if (server.getServerState() == IServer.STATE_STARTED)
-				autoPublish(event);
+				autoPublish();
 			
 			return Status.OK_STATUS;
 		}
 		
-		private void autoPublish(IResourceChangeEvent event) {
-			boolean buildOccurred = event != null && didBuildOccur(event);
-			boolean projectClosedOrDeleted = event != null && isProjectCloseOrDeleteEvent(event);
-			
+		private void autoPublish() {
 			int auto = ((Server)openshiftServer.getServer()).getAutoPublishSetting();
 			if (auto == Server.AUTO_PUBLISH_DISABLE)
 				return;
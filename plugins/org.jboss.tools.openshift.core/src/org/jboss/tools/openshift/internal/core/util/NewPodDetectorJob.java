@@ -12,9 +12,19 @@ package org.jboss.tools.openshift.internal.core.util;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang.StringUtils;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -22,7 +32,6 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistryAdapter;
 import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
 import org.jboss.tools.openshift.common.core.connection.IConnection;
-import org.jboss.tools.openshift.common.core.connection.IConnectionsRegistryListener;
 import org.jboss.tools.openshift.core.connection.Connection;
 import org.jboss.tools.openshift.core.connection.ConnectionsRegistryUtil;
 import org.jboss.tools.openshift.internal.core.OpenShiftCoreActivator;
@@ -31,6 +40,7 @@ import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.model.IDeploymentConfig;
 import com.openshift.restclient.model.IPod;
 import com.openshift.restclient.model.IReplicationController;
+import com.openshift.restclient.model.IResource;
 
 /**
  * A job that waits for new pods for a given, updated replication controller to reappear.
@@ -46,43 +56,14 @@ public class NewPodDetectorJob extends Job {
 	public static final String DEPLOYMENT_CONFIG_LISTENER_JOB_TIMEOUT_KEY = "deployment.config.listener.job.timeout";
 	//TODO get timeout value from some settings
 	public static final int TIMEOUT = Integer.getInteger(DEPLOYMENT_CONFIG_LISTENER_JOB_TIMEOUT_KEY, 600_000);
-	private static final int SLEEP_DELAY = 100;
 	private static final String POD_STATE_RUNNING = "Running";
-	
-	private IDeploymentConfig dc;
-	private IPod pod;
-	private Collection<String> oldPods = Collections.emptySet();
-
-	private IConnectionsRegistryListener connectionsRegistryListener = new ConnectionsRegistryAdapter() {
-		@Override
-		public void connectionChanged(IConnection connection, String property, Object oldValue, Object newValue) {
-			if (pod != null) {
-				// we're done already
-				return;
-			}
 
-			if (newValue instanceof IDeploymentConfig 
-					&& !dc.equals(oldValue)) {
-				dc = (IDeploymentConfig) newValue;
-				return;
-			}
+	private static final PodEventDispatcher dispatcher = new PodEventDispatcher();
 
-			if (newValue instanceof IPod) {
-				IPod notifiedPod = (IPod) newValue;
-				if (isNewRunningRuntimePod(notifiedPod)) {
-					// store new & running runtime pod for job to stop waiting
-					pod = notifiedPod;
-			    }
-			}
-		}
-
-		private boolean isNewRunningRuntimePod(IPod pod) {
-			return ResourceUtils.isRuntimePod(pod)
-					&& !oldPods.contains(pod.getName())
-					&& POD_STATE_RUNNING.equals(pod.getStatus()) 
-					&& ResourceUtils.areRelated(pod, dc);
-		}
-	};
+	private volatile IDeploymentConfig dc;
+	private volatile DetectorKey key;
+	private volatile Collection<String> oldPods = Collections.emptySet();
+	private final CompletableFuture<IPod> pod = new CompletableFuture<>();
 
 	public NewPodDetectorJob(IDeploymentConfig dc) {
 		super("Waiting for OpenShift Pod redeployment");
@@ -91,46 +72,189 @@ public class NewPodDetectorJob extends Job {
 
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
+		this.key = new DetectorKey(getConnection(dc), dc.getNamespace());
 		this.oldPods = getOldPods(dc);
 		try {
-			ConnectionsRegistrySingleton.getInstance().addListener(connectionsRegistryListener);
+			dispatcher.add(this);
 			waitForNewPod(monitor);
-			return pod == null ? getTimeOutStatus() : Status.OK_STATUS;
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			return getPod() == null ? getTimeOutStatus() : Status.OK_STATUS;
 		} finally {
-			ConnectionsRegistrySingleton.getInstance().removeListener(connectionsRegistryListener);
+			dispatcher.remove(this);
 		}
 	}
 
-	private Collection<String> getOldPods(IReplicationController rc) {
+	@Override
+	protected void canceling() {
+		// wake up the waiting job
+		pod.cancel(false);
+	}
+
+	/**
+	 * Returns the connection that the given replication controller belongs to.
+	 */
+	protected IConnection getConnection(IReplicationController rc) {
+		return ConnectionsRegistryUtil.getConnectionFor(rc);
+	}
+
+	/**
+	 * Returns the names of the runtime pods that exist for the given
+	 * replication controller. The connection serves them from the watch cache
+	 * if the project is watched.
+	 */
+	protected Collection<String> getOldPods(IReplicationController rc) {
 		Connection connection = ConnectionsRegistryUtil.getConnectionFor(rc);
 		List<IPod> allPods = connection.getResources(ResourceKind.POD, rc.getNamespace());
 		return ResourceUtils.getPodsFor(rc, allPods).stream()
 			.filter(pod -> ResourceUtils.isRuntimePod(pod))
 			.map(p -> p.getName())
-			.collect(Collectors.toList());
+			.collect(Collectors.toSet());
+	}
+
+	protected void waitForNewPod(IProgressMonitor monitor) {
+		if (monitor.isCanceled()) {
+			return;
+		}
+		try {
+			pod.get(TIMEOUT, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException | CancellationException | ExecutionException e) {
+			// timed out or canceled
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
 	}
 
-	private void waitForNewPod(IProgressMonitor monitor) {
-		long elapsed = 0;
-		while (pod == null
-				&& !monitor.isCanceled() 
-				&& elapsed < TIMEOUT) {
-			try {
-				Thread.sleep(SLEEP_DELAY);
-				monitor.worked(1);
-				elapsed += SLEEP_DELAY;
-			} catch (InterruptedException e) {
-				// swallow intentionally
+	/**
+	 * Notifies this detector of a change in the project of its deployment
+	 * config. Completes the detection if the given resource is a new running
+	 * runtime pod of the deployment config.
+	 */
+	protected void resourceChanged(Object oldValue, Object newValue) {
+		if (pod.isDone()) {
+			// we're done already
+			return;
+		}
+
+		if (newValue instanceof IDeploymentConfig) {
+			IDeploymentConfig notifiedDc = (IDeploymentConfig) newValue;
+			if (isSameDeploymentConfig(notifiedDc)) {
+				this.dc = notifiedDc;
+			}
+			return;
+		}
+
+		if (newValue instanceof IPod) {
+			IPod notifiedPod = (IPod) newValue;
+			if (isNewRunningRuntimePod(notifiedPod)) {
+				// complete with new & running runtime pod for job to stop waiting
+				pod.complete(notifiedPod);
 			}
 		}
 	}
 
+	private boolean isSameDeploymentConfig(IDeploymentConfig other) {
+		return StringUtils.equals(dc.getName(), other.getName())
+				&& StringUtils.equals(dc.getNamespace(), other.getNamespace());
+	}
+
+	private boolean isNewRunningRuntimePod(IPod pod) {
+		return ResourceUtils.isRuntimePod(pod)
+				&& !oldPods.contains(pod.getName())
+				&& POD_STATE_RUNNING.equals(pod.getStatus()) 
+				&& ResourceUtils.areRelated(pod, dc);
+	}
+
 	public IStatus getTimeOutStatus() {
 		return new Status(IStatus.ERROR, OpenShiftCoreActivator.PLUGIN_ID, 
 				"Failed to detect new deployed Pod for " + dc.getName());
 	}
 	
 	public IPod getPod() {
-		return pod;
+		if (pod.isCancelled()) {
+			return null;
+		}
+		return pod.getNow(null);
+	}
+
+	/**
+	 * The connection and namespace that a detector waits for pods in.
+	 */
+	private static class DetectorKey {
+
+		private final IConnection connection;
+		private final String namespace;
+
+		private DetectorKey(IConnection connection, String namespace) {
+			this.connection = connection;
+			this.namespace = namespace;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(connection, namespace);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof DetectorKey)) {
+				return false;
+			}
+			DetectorKey other = (DetectorKey) obj;
+			return Objects.equals(connection, other.connection)
+					&& Objects.equals(namespace, other.namespace);
+		}
+	}
+
+	/**
+	 * A single connections registry listener that dispatches the resource
+	 * changes to the detectors that wait for pods in the connection and
+	 * namespace of the changed resource.
+	 */
+	private static class PodEventDispatcher extends ConnectionsRegistryAdapter {
+
+		private final Map<DetectorKey, Collection<NewPodDetectorJob>> detectorsByKey = new HashMap<>();
+
+		synchronized void add(NewPodDetectorJob detector) {
+			if (detectorsByKey.isEmpty()) {
+				ConnectionsRegistrySingleton.getInstance().addListener(this);
+			}
+			detectorsByKey
+				.computeIfAbsent(detector.key, key -> new CopyOnWriteArrayList<>())
+				.add(detector);
+		}
+
+		synchronized void remove(NewPodDetectorJob detector) {
+			Collection<NewPodDetectorJob> detectors = detectorsByKey.get(detector.key);
+			if (detectors == null) {
+				return;
+			}
+			detectors.remove(detector);
+			if (detectors.isEmpty()) {
+				detectorsByKey.remove(detector.key);
+				if (detectorsByKey.isEmpty()) {
+					ConnectionsRegistrySingleton.getInstance().removeListener(this);
+				}
+			}
+		}
+
+		@Override
+		public void connectionChanged(IConnection connection, String property, Object oldValue, Object newValue) {
+			if (!(newValue instanceof IResource)) {
+				return;
+			}
+			DetectorKey key = new DetectorKey(connection, ((IResource) newValue).getNamespace());
+			Collection<NewPodDetectorJob> detectors;
+			synchronized (this) {
+				detectors = detectorsByKey.get(key);
+			}
+			if (detectors != null) {
+				detectors.forEach(detector -> detector.resourceChanged(oldValue, newValue));
+			}
+		}
 	}
 }
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.core.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.jboss.tools.openshift.internal.core.OpenShiftCoreActivator;
+
+/**
+ * Pumps the output of the rsync processes that are spawned for the oc binary
+ * into the server console. All streams share a bounded pool of threads. The
+ * lines that are available are handed over in chunks rather than one by one.
+ * Once all threads are busy, the caller pumps its stream itself. This only
+ * suits streams that end with their process, like the ones of rsync, the
+ * caller is blocked until then. Long-lived streams (ex. port-forward, logs)
+ * must not be pumped here.
+ *
+ * @see #pump(InputStream, Consumer)
+ */
+public class OutputPump {
+
+	public static final int MAX_PUMPS = 16;
+	public static final int MAX_LINES_PER_CHUNK = 256;
+	private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60;
+
+	private static OutputPump instance;
+
+	private final ThreadPoolExecutor executor;
+
+	public static synchronized OutputPump getInstance() {
+		if (instance == null) {
+			instance = new OutputPump();
+		}
+		return instance;
+	}
+
+	/**
+	 * Stops pumping the streams and releases the threads. Called when the
+	 * plugin is stopped.
+	 */
+	public static synchronized void shutdown() {
+		if (instance != null) {
+			instance.executor.shutdownNow();
+			instance = null;
+		}
+	}
+
+	protected OutputPump() {
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(
+				0, MAX_PUMPS,
+				IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+				new SynchronousQueue<>(),
+				runnable -> {
+					Thread thread = new Thread(runnable, "OpenShift rsync output pump #" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				},
+				new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	/**
+	 * Reads the given rsync output until it ends and hands its lines in
+	 * chunks to the given consumer. A chunk holds the lines that were
+	 * available without blocking, up to {@link #MAX_LINES_PER_CHUNK}.
+	 *
+	 * @param stream the stream to read from
+	 * @param consumer the consumer that gets the lines
+	 * @return the future that is done once the stream was read
+	 */
+	public Future<?> pump(InputStream stream, Consumer<String[]> consumer) {
+		return executor.submit(() -> {
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream))) {
+				List<String> chunk = new ArrayList<>();
+				String line;
+				while ((line = reader.readLine()) != null) {
+					chunk.add(line);
+					if (chunk.size() >= MAX_LINES_PER_CHUNK
+							|| !reader.ready()) {
+						flush(chunk, consumer);
+					}
+				}
+				flush(chunk, consumer);
+			} catch (IOException e) {
+				OpenShiftCoreActivator.logError("Error occurred while reading the output of rsync", e);
+			}
+		});
+	}
+
+	private void flush(List<String> chunk, Consumer<String[]> consumer) {
+		if (chunk.isEmpty()) {
+			return;
+		}
+		consumer.accept(chunk.toArray(new String[chunk.size()]));
+		chunk.clear();
+	}
+
+	/**
+	 * Returns the number of threads that are currently pumping streams.
+	 */
+	public int getActiveCount() {
+		return executor.getActiveCount();
+	}
+}
@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.core.util;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistryAdapter;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
+import org.jboss.tools.openshift.common.core.connection.IConnection;
+import org.jboss.tools.openshift.common.core.connection.IConnectionsRegistryListener;
+import org.jboss.tools.openshift.core.connection.ConnectionProperties;
+import org.jboss.tools.openshift.internal.core.WatchManager;
+
+import com.openshift.restclient.model.IResource;
+
+/**
+ * Waits for a condition on the state of resources to become true. The
+ * condition is evaluated whenever the {@link WatchManager} notifies a change
+ * in a resource that matches the given trigger. Optionally the condition is
+ * also polled with an exponential backoff, for conditions that depend on
+ * resources that are not watched or for the case where there's no watch.
+ * Changes may be coalesced so that a burst of changes only evaluates the
+ * condition once.
+ *
+ * <pre>
+ * new ResourceConditionAwaiter(() -> isReady(dc))
+ * 		.triggeredBy(resource -> dc.getNamespace().equals(resource.getNamespace()))
+ * 		.withCoalescing(500)
+ * 		.withBackoff(1000, 16_000)
+ * 		.await(timeout, monitor);
+ * </pre>
+ */
+public class ResourceConditionAwaiter {
+
+	/** the interval at which the monitor is checked for cancellation */
+	private static final long CANCEL_CHECK_INTERVAL = 200;
+
+	private final BooleanSupplier condition;
+	private Predicate<IResource> trigger;
+	private long initialBackoff = -1;
+	private long maxBackoff = -1;
+	private long coalescing = 0;
+
+	private final Object lock = new Object();
+	private boolean changed = false;
+
+	public ResourceConditionAwaiter(BooleanSupplier condition) {
+		this.condition = condition;
+	}
+
+	/**
+	 * Evaluates the condition whenever a resource that matches the given
+	 * trigger changes.
+	 *
+	 * @param trigger the resources that the condition depends on
+	 * @return this awaiter
+	 */
+	public ResourceConditionAwaiter triggeredBy(Predicate<IResource> trigger) {
+		this.trigger = trigger;
+		return this;
+	}
+
+	/**
+	 * Collects the changes for the given time after a triggering change and
+	 * then evaluates the condition once for all of them.
+	 *
+	 * @param coalescing the time in milliseconds to collect changes for
+	 * @return this awaiter
+	 */
+	public ResourceConditionAwaiter withCoalescing(long coalescing) {
+		this.coalescing = Math.max(0, coalescing);
+		return this;
+	}
+
+	/**
+	 * Polls the condition, starting with the given delay and doubling it up to
+	 * the given maximum delay.
+	 *
+	 * @param initialBackoff the first delay in milliseconds
+	 * @param maxBackoff the maximum delay in milliseconds
+	 * @return this awaiter
+	 */
+	public ResourceConditionAwaiter withBackoff(long initialBackoff, long maxBackoff) {
+		this.initialBackoff = Math.max(1, initialBackoff);
+		this.maxBackoff = Math.max(this.initialBackoff, maxBackoff);
+		return this;
+	}
+
+	/**
+	 * Waits until the condition is true, the given timeout elapsed or the
+	 * given monitor is canceled.
+	 *
+	 * @param timeout the timeout in milliseconds
+	 * @param monitor the monitor to check for cancellation
+	 * @return true if the condition became true, false otherwise
+	 */
+	public boolean await(long timeout, IProgressMonitor monitor) {
+		IConnectionsRegistryListener listener = createListener();
+		if (listener != null) {
+			ConnectionsRegistrySingleton.getInstance().addListener(listener);
+		}
+		try {
+			return waitForCondition(timeout, monitor);
+		} finally {
+			if (listener != null) {
+				ConnectionsRegistrySingleton.getInstance().removeListener(listener);
+			}
+		}
+	}
+
+	private boolean waitForCondition(long timeout, IProgressMonitor monitor) {
+		long deadline = System.currentTimeMillis() + timeout;
+		long backoff = initialBackoff;
+		long nextPoll = backoff >= 0 ? System.currentTimeMillis() + backoff : Long.MAX_VALUE;
+		// the time at which the changes that were collected are evaluated
+		long nextEvaluation = Long.MAX_VALUE;
+		if (condition.getAsBoolean()) {
+			return true;
+		}
+		while (!monitor.isCanceled()) {
+			long now = System.currentTimeMillis();
+			if (now >= deadline) {
+				return false;
+			}
+			synchronized (lock) {
+				if (!changed) {
+					long wait = Math.min(Math.min(Math.min(deadline, nextPoll), nextEvaluation) - now, CANCEL_CHECK_INTERVAL);
+					if (wait > 0) {
+						try {
+							lock.wait(wait);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							return false;
+						}
+					}
+				}
+				if (changed) {
+					changed = false;
+					if (nextEvaluation == Long.MAX_VALUE) {
+						nextEvaluation = System.currentTimeMillis() + coalescing;
+					}
+				}
+			}
+			boolean evaluate = false;
+			if (System.currentTimeMillis() >= nextEvaluation) {
+				evaluate = true;
+			}
+			if (System.currentTimeMillis() >= nextPoll) {
+				evaluate = true;
+				backoff = Math.min(backoff * 2, maxBackoff);
+				nextPoll = System.currentTimeMillis() + backoff;
+			}
+			if (evaluate) {
+				nextEvaluation = Long.MAX_VALUE;
+				if (condition.getAsBoolean()) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private IConnectionsRegistryListener createListener() {
+		if (trigger == null) {
+			return null;
+		}
+		return new ConnectionsRegistryAdapter() {
+
+			@Override
+			public void connectionChanged(IConnection connection, String property, Object oldValue, Object newValue) {
+				if (!ConnectionProperties.PROPERTY_RESOURCE.equals(property)) {
+					return;
+				}
+				if (isTrigger(newValue)
+						|| isTrigger(oldValue)) {
+					synchronized (lock) {
+						changed = true;
+						lock.notifyAll();
+					}
+				}
+			}
+
+			private boolean isTrigger(Object value) {
+				return value instanceof IResource
+						&& trigger.test((IResource) value);
+			}
+		};
+	}
+}
@@ -636,12 +636,26 @@ public class ResourceUtils {
 	 * @see
 	 */
 	public static boolean isOlder(IResource thisResource, IResource thatResource) {
+		return isOlder(thisResource.getResourceVersion(), thatResource.getResourceVersion());
+	}
+
+	/**
+	 * Returns {@code true} if the given 1st resource version is lower than the
+	 * given 2nd one. Resource versions are opaque strings, they are compared as
+	 * longs if they're numeric. Versions that aren't numeric are only
+	 * considered to be the same if they're equal, any other pair is considered
+	 * to be older.
+	 * 
+	 * @param thisVersion
+	 * @param thatVersion
+	 * @return true if the 1st resource version is older than the 2nd one
+	 */
+	public static boolean isOlder(String thisVersion, String thatVersion) {
 		try {
-			int thisVersion = Integer.parseInt(thisResource.getResourceVersion());
-			int thatVersion = Integer.parseInt(thatResource.getResourceVersion());
-			return thisVersion < thatVersion;
+			return Long.parseLong(thisVersion) < Long.parseLong(thatVersion);
 		} catch (NumberFormatException e) {
-			return true;
+			return thisVersion == null
+					|| !thisVersion.equals(thatVersion);
 		}
 	}
 
@@ -12,6 +12,12 @@ package org.jboss.tools.openshift.io.core;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpStatus;
@@ -29,6 +35,7 @@ import org.jboss.tools.openshift.io.core.exception.OpenshiftIORefreshException;
 import org.jboss.tools.openshift.io.core.model.ICluster;
 import org.jboss.tools.openshift.io.core.model.IAccount;
 import org.jboss.tools.openshift.io.core.model.IAccountModel;
+import org.jboss.tools.openshift.io.internal.core.OpenShiftIOCoreActivator;
 import org.jboss.tools.openshift.io.internal.core.model.AccountModel;
 
 public class AccountService {
@@ -41,6 +48,21 @@ public class AccountService {
 
 	private IAccountModel model;
 
+	/** the minimum delay in ms between 2 background renewals of the token of an account */
+	public static final long MIN_RENEWAL_DELAY = 1000;
+
+	private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "OpenShift.io token renewal");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/** the scheduled background renewals by account */
+	private final Map<IAccount, ScheduledFuture<?>> renewals = new ConcurrentHashMap<>();
+
+	/** the locks that serialize the logins and refreshes by account or cluster */
+	private final Map<Object, Object> locks = new ConcurrentHashMap<>();
+
 	private AccountService() {
 	}
 
@@ -83,17 +105,57 @@ public class AccountService {
 		return (current - lastRefreshed) > OSIOCoreConstants.DURATION_24_HOURS;
 	}
 
+	/**
+	 * Returns the time at which the token of the given account should be
+	 * renewed. This is when half of its total valid period has passed or 24h
+	 * after it was refreshed, whatever comes first.
+	 * 
+	 * @see #getStatus(IAccount)
+	 */
+	long getRenewalTime(IAccount account) {
+		long lastRefreshed = account.getLastRefreshedTime();
+		long halfTheTotalValidPeriod = lastRefreshed + (account.getAccessTokenExpiryTime() - lastRefreshed) / 2;
+		return Math.min(halfTheTotalValidPeriod, lastRefreshed + OSIOCoreConstants.DURATION_24_HOURS);
+	}
+
 	public String getToken(IResource t) {
-		String token = null;
+		return getToken(getModel().getClusters().get(0));
+	}
 
-		ICluster cluster = getModel().getClusters().get(0);
-		List<IAccount> identities = cluster.getAccounts();
-		if (identities.isEmpty()) {
-			token = performLogin(cluster, null);
-		} else {
-			IAccount account = identities.get(0);
-			AccountStatus status = getStatus(account);
-			switch (status) {
+	/**
+	 * Returns the access token for the given cluster. Logs in or refreshes the
+	 * token if required. Concurrent callers share a single login or refresh. The
+	 * token is then renewed in the background before it needs a refresh.
+	 * 
+	 * @param cluster the cluster to get the token for
+	 * @return the access token
+	 */
+	public String getToken(ICluster cluster) {
+		IAccount account = getAccount(cluster);
+		if (account == null) {
+			synchronized (getLock(cluster)) {
+				account = getAccount(cluster);
+				if (account == null) {
+					String token = performLogin(cluster, null);
+					scheduleRenewal(getAccount(cluster));
+					return token;
+				}
+			}
+		}
+		return getToken(account);
+	}
+
+	private String getToken(IAccount account) {
+		if (getStatus(account) == AccountStatus.VALID) {
+			if (!renewals.containsKey(account)) {
+				scheduleRenewal(account);
+			}
+			return account.getAccessToken();
+		}
+		synchronized (getLock(account)) {
+			String token = null;
+			// another caller may have renewed the token while we were waiting
+			switch (getStatus(account)) {
 			case VALID:
 				token = account.getAccessToken();
 				break;
@@ -101,12 +163,60 @@ public class AccountService {
 				token = performRefresh(account);
 				break;
 			case NEEDS_LOGIN:
-				token = performLogin(cluster, account);
+				token = performLogin(account.getCluster(), account);
 				break;
 			}
+			scheduleRenewal(account);
+			return token;
+		}
+	}
+
+	private IAccount getAccount(ICluster cluster) {
+		List<IAccount> identities = cluster.getAccounts();
+		if (identities.isEmpty()) {
+			return null;
+		}
+		return identities.get(0);
+	}
+
+	private Object getLock(Object accountOrCluster) {
+		return locks.computeIfAbsent(accountOrCluster, key -> new Object());
+	}
 
+	private void scheduleRenewal(IAccount account) {
+		if (account == null) {
+			return;
+		}
+		long delay = Math.max(getRenewalTime(account) - System.currentTimeMillis(), MIN_RENEWAL_DELAY);
+		ScheduledFuture<?> previous = renewals.put(account,
+				renewer.schedule(() -> renew(account), delay, TimeUnit.MILLISECONDS));
+		if (previous != null) {
+			previous.cancel(false);
+		}
+	}
+
+	/**
+	 * Refreshes the token of the given account if it needs to be refreshed.
+	 * Does not log in, this needs the user. The account is not renewed any more
+	 * once it was removed from its cluster.
+	 */
+	private void renew(IAccount account) {
+		renewals.remove(account);
+		if (!account.getCluster().getAccounts().contains(account)) {
+			return;
+		}
+		try {
+			synchronized (getLock(account)) {
+				if (getStatus(account) == AccountStatus.NEEDS_REFRESH) {
+					performRefresh(account);
+				}
+			}
+			if (getStatus(account) != AccountStatus.NEEDS_LOGIN) {
+				scheduleRenewal(account);
+			}
+		} catch (OpenshiftIORefreshException e) {
+			OpenShiftIOCoreActivator.logError(e.getLocalizedMessage(), e);
 		}
-		return token;
 	}
 
 	private String performLogin(ICluster cluster, IAccount account) {
@@ -15,7 +15,11 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.jsonwebtoken.Claims;
@@ -24,6 +28,20 @@ import io.jsonwebtoken.Jwts;
 public class OSIOUtils {
 
 	private static final ObjectMapper mapper = new ObjectMapper();
+
+	private static final int EXPIRY_CACHE_SIZE = 16;
+
+	/** the decoded expiry times by token, the least recently used are evicted */
+	private static final Map<String, Long> expiryCache = Collections.synchronizedMap(
+			new LinkedHashMap<String, Long>(EXPIRY_CACHE_SIZE, 0.75f, true) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+					return size() > EXPIRY_CACHE_SIZE;
+				}
+			});
 	
 	private OSIOUtils() {}
 	
@@ -62,15 +80,21 @@ public class OSIOUtils {
 	}
 
 	/**
-	 * Extract the expiry time from the OpenShift.io token.
+	 * Extract the expiry time from the OpenShift.io token. The expiry times of
+	 * the tokens that were decoded recently are cached.
 	 * 
 	 * @param token the token
 	 * @return the expiry time
 	 */
 	public static long decodeExpiryFromToken(String token) {
-		String payloads[] = token.split("\\.");
-		Claims claims = (Claims) Jwts.parser().parse(payloads[0] + '.' + payloads[1] + '.').getBody();
-		return  claims.get("exp", Date.class).getTime();
+		Long expiry = expiryCache.get(token);
+		if (expiry == null) {
+			String payloads[] = token.split("\\.");
+			Claims claims = (Claims) Jwts.parser().parse(payloads[0] + '.' + payloads[1] + '.').getBody();
+			expiry = claims.get("exp", Date.class).getTime();
+			expiryCache.put(token, expiry);
+		}
+		return expiry;
 	}
 
 	public static String computeLandingURL(String endpointURL, String devstudioOsioLandingPageSuffix) {
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.ui.explorer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.swt.widgets.Control;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
+import org.jboss.tools.openshift.internal.ui.models.IOpenshiftUIElement;
+import org.jboss.tools.openshift.internal.ui.models.OpenshiftUIModel;
+
+/**
+ * Collects the elements that need a refresh in the explorer over a short
+ * (coalescing) window and then refreshes them in a single batch in the UI
+ * thread. Elements whose ancestor is to be refreshed in the same batch are
+ * dropped since refreshing the ancestor refreshes them, too.
+ */
+public class ExplorerRefreshScheduler {
+
+	public static final int DEFAULT_COALESCING_WINDOW = 100;
+
+	private final StructuredViewer viewer;
+	private final Set<Object> refreshes = new LinkedHashSet<>();
+	private final Set<Object> updates = new LinkedHashSet<>();
+	private boolean scheduled = false;
+	private volatile int coalescingWindow = DEFAULT_COALESCING_WINDOW;
+
+	private final AtomicLong queued = new AtomicLong();
+	private final AtomicLong executed = new AtomicLong();
+
+	public ExplorerRefreshScheduler(StructuredViewer viewer) {
+		this.viewer = viewer;
+	}
+
+	/**
+	 * Queues a refresh of the given element.
+	 *
+	 * @param element the element to refresh
+	 */
+	public void refresh(Object element) {
+		queue(element, refreshes);
+	}
+
+	/**
+	 * Queues a label update of the given element.
+	 *
+	 * @param element the element to update
+	 */
+	public void update(Object element) {
+		queue(element, updates);
+	}
+
+	private void queue(Object element, Set<Object> elements) {
+		if (element == null) {
+			return;
+		}
+		queued.incrementAndGet();
+		synchronized (this) {
+			elements.add(element);
+			if (scheduled) {
+				return;
+			}
+			scheduled = true;
+		}
+		schedule();
+	}
+
+	/**
+	 * Schedules the execution of the queued refreshes once the coalescing
+	 * window elapsed.
+	 */
+	protected void schedule() {
+		Control control = viewer.getControl();
+		if (control == null || control.isDisposed()) {
+			synchronized (this) {
+				refreshes.clear();
+				updates.clear();
+				scheduled = false;
+			}
+			return;
+		}
+		control.getDisplay().asyncExec(() -> {
+			if (!control.isDisposed()) {
+				control.getDisplay().timerExec(coalescingWindow, this::execute);
+			}
+		});
+	}
+
+	/**
+	 * Refreshes and updates all the elements that were queued so far. Needs to
+	 * be called in the UI thread.
+	 */
+	protected void execute() {
+		List<Object> toRefresh;
+		List<Object> toUpdate;
+		synchronized (this) {
+			toRefresh = new ArrayList<>(refreshes);
+			toUpdate = new ArrayList<>(updates);
+			refreshes.clear();
+			updates.clear();
+			scheduled = false;
+		}
+		Control control = viewer.getControl();
+		if (control == null || control.isDisposed()) {
+			return;
+		}
+		Set<Object> dirty = new LinkedHashSet<>(toRefresh);
+		toRefresh.removeIf(element -> hasDirtyAncestor(element, dirty));
+		toUpdate.removeIf(element -> dirty.contains(element) || hasDirtyAncestor(element, dirty));
+		try {
+			control.setRedraw(false);
+			toRefresh.forEach(element -> {
+				executed.incrementAndGet();
+				viewer.refresh(getViewerElement(element));
+			});
+			toUpdate.forEach(element -> {
+				executed.incrementAndGet();
+				viewer.update(element, null);
+			});
+		} finally {
+			control.setRedraw(true);
+		}
+	}
+
+	private boolean hasDirtyAncestor(Object element, Set<Object> dirty) {
+		if (!(element instanceof IOpenshiftUIElement)) {
+			return false;
+		}
+		for (Object parent = ((IOpenshiftUIElement<?, ?>) element).getParent();
+				parent != null;
+				parent = getParent(parent)) {
+			if (dirty.contains(parent)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Object getParent(Object element) {
+		if (element instanceof OpenshiftUIModel
+				|| !(element instanceof IOpenshiftUIElement)) {
+			return null;
+		}
+		return ((IOpenshiftUIElement<?, ?>) element).getParent();
+	}
+
+	/**
+	 * The explorer shows the connections registry as root instead of the model.
+	 */
+	private Object getViewerElement(Object element) {
+		if (element instanceof OpenshiftUIModel) {
+			return ConnectionsRegistrySingleton.getInstance();
+		}
+		return element;
+	}
+
+	/**
+	 * Sets the time in milliseconds that changes are collected before they're
+	 * refreshed in the viewer.
+	 *
+	 * @param coalescingWindow the window in milliseconds
+	 */
+	public void setCoalescingWindow(int coalescingWindow) {
+		this.coalescingWindow = Math.max(0, coalescingWindow);
+	}
+
+	public StructuredViewer getViewer() {
+		return viewer;
+	}
+
+	public int getCoalescingWindow() {
+		return coalescingWindow;
+	}
+
+	/**
+	 * Returns the number of refreshes and updates that were requested.
+	 */
+	public long getQueuedCount() {
+		return queued.get();
+	}
+
+	/**
+	 * Returns the number of refreshes and updates that were executed in the
+	 * viewer.
+	 */
+	public long getExecutedCount() {
+		return executed.get();
+	}
+}
@@ -51,6 +51,7 @@ public class OpenShiftExplorerContentProvider implements ITreeContentProvider {
 	private OpenshiftUIModel model;
 	private IElementListener listener;
 	private StructuredViewer viewer;
+	private volatile ExplorerRefreshScheduler refreshScheduler;
 	private Map<Object, BaseExplorerContentProvider.LoadingStub> stubs = new HashMap<Object, BaseExplorerContentProvider.LoadingStub>();
 
 	public OpenShiftExplorerContentProvider() {
@@ -66,13 +67,13 @@ public class OpenShiftExplorerContentProvider implements ITreeContentProvider {
 
 			@Override
 			public void elementChanged(IOpenshiftUIElement<?, ?> element) {
-				if (element instanceof OpenshiftUIModel) {
-					refreshViewer(ConnectionsRegistrySingleton.getInstance());
-				} else {
-					refreshViewer(element);
+				ExplorerRefreshScheduler scheduler = refreshScheduler;
+				if (scheduler == null) {
+					return;
 				}
+				scheduler.refresh(element);
 				if (element.getWrapped() instanceof IRoute) {
-					viewer.update(element.getParent(), null);
+					scheduler.update(element.getParent());
 				}
 			}
 		};
@@ -210,6 +211,18 @@ public class OpenShiftExplorerContentProvider implements ITreeContentProvider {
 	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
 		// non-structured viewer would be a configuration problem. Crash!
 		this.viewer = (StructuredViewer) viewer;
+		if (viewer != null
+				&& (refreshScheduler == null || refreshScheduler.getViewer() != viewer)) {
+			this.refreshScheduler = new ExplorerRefreshScheduler(this.viewer);
+		}
+	}
+
+	/**
+	 * Returns the scheduler that batches the refreshes of the elements that
+	 * changed in the model.
+	 */
+	public ExplorerRefreshScheduler getRefreshScheduler() {
+		return refreshScheduler;
 	}
 
 	private boolean isTerminatedBuild(IBuild build) {
@@ -156,7 +156,7 @@ public class DeployImageJob extends AbstractDelegatingMonitorJob
 	private Collection<IResource> createResources(Connection connection, Collection<IResource> resources) {
 		Collection<IResource> created = new ArrayList<>();
 		for (IResource resource : resources) {
-			Trace.debug("Trying to create resource: {0}", resource.toJson());
+			Trace.debug(() -> "Trying to create resource: " + resource.toJson());
 			try {
 				created.add(connection.createResource(resource));
 			} catch(OpenShiftException e) {
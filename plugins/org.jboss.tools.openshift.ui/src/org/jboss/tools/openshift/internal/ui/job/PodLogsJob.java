@@ -14,6 +14,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -27,6 +30,7 @@ import org.eclipse.ui.console.MessageConsoleStream;
 import org.jboss.tools.openshift.internal.common.core.job.AbstractDelegatingMonitorJob;
 import org.jboss.tools.openshift.internal.common.ui.console.ConsoleUtils;
 import org.jboss.tools.openshift.internal.core.OCBinaryOperation;
+import org.jboss.tools.openshift.internal.core.OCBinaryProcesses;
 import org.jboss.tools.openshift.internal.ui.OpenShiftUIActivator;
 
 import com.openshift.restclient.OpenShiftException;
@@ -43,8 +47,23 @@ import com.openshift.restclient.model.IPod;
 public class PodLogsJob extends AbstractDelegatingMonitorJob {
 	private static final String DOCUMENT_IS_CLOSED = "Document is closed";
 
+	/** the preference for the size that the console is trimmed to once it exceeds the high water mark */
+	public static final String PREF_CONSOLE_LOW_WATER_MARK = "org.jboss.tools.openshift.ui.podlogs.console.lowWaterMark";
+	/** the preference for the size in characters that the console may grow to */
+	public static final String PREF_CONSOLE_HIGH_WATER_MARK = "org.jboss.tools.openshift.ui.podlogs.console.highWaterMark";
+	public static final int DEFAULT_CONSOLE_LOW_WATER_MARK = 800 * 1024;
+	public static final int DEFAULT_CONSOLE_HIGH_WATER_MARK = 1024 * 1024;
+
 	private static final Map<Key, ConsoleStreamPipe> REGISTRY = new HashMap<>();
 
+	private static final AtomicInteger PIPE_NUMBER = new AtomicInteger();
+	/** the threads that pipe the logs of all followed pods */
+	private static final ExecutorService PIPES = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "OpenShift pod logs pipe #" + PIPE_NUMBER.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+
 	private final Key key;
 
 	public PodLogsJob(IPod pod, String containerName) {
@@ -64,7 +83,7 @@ public class PodLogsJob extends AbstractDelegatingMonitorJob {
 					@Override
 					public ConsoleStreamPipe visit(final IPodLogRetrieval capability) {
 						ConsoleStreamPipe consoleStream = new ConsoleStreamPipe(capability);
-						new Thread(consoleStream).start();
+						PIPES.execute(consoleStream);
 						return consoleStream;
 					}
 
@@ -85,6 +104,25 @@ public class PodLogsJob extends AbstractDelegatingMonitorJob {
 		return console;
 	}
 	
+	/**
+	 * Limits the size of the given console to the water marks that are set in
+	 * the preferences.
+	 */
+	private void setWaterMarks(MessageConsole console) {
+		int low = getPreference(PREF_CONSOLE_LOW_WATER_MARK, DEFAULT_CONSOLE_LOW_WATER_MARK);
+		int high = getPreference(PREF_CONSOLE_HIGH_WATER_MARK, DEFAULT_CONSOLE_HIGH_WATER_MARK);
+		if (low >= high) {
+			low = DEFAULT_CONSOLE_LOW_WATER_MARK;
+			high = DEFAULT_CONSOLE_HIGH_WATER_MARK;
+		}
+		console.setWaterMarks(low, high);
+	}
+
+	private int getPreference(String key, int defaultValue) {
+		int value = OpenShiftUIActivator.getDefault().getPreferenceStore().getInt(key);
+		return value > 0 ? value : defaultValue;
+	}
+
 	private String getMessageConsoleName() {
 		IPod pod = key.pod;
 		return NLS.bind("{0}\\{1}\\{2} log", new Object[] {pod.getNamespace(), pod.getName(), key.container});
@@ -136,7 +174,8 @@ public class PodLogsJob extends AbstractDelegatingMonitorJob {
 	private class ConsoleStreamPipe extends OCBinaryOperation implements Runnable {
 		
 		private IPodLogRetrieval capability;
-		private boolean running = true;
+		private volatile boolean running = true;
+		private volatile PodLogsPump pump;
 		
 		ConsoleStreamPipe(IPodLogRetrieval capability){
 			this.capability = capability;
@@ -144,6 +183,9 @@ public class PodLogsJob extends AbstractDelegatingMonitorJob {
 		
 		public void stop() {
 			this.running = false;
+			if (pump != null) {
+				pump.stop();
+			}
 			capability.stop();
 		}
 		
@@ -156,14 +198,20 @@ public class PodLogsJob extends AbstractDelegatingMonitorJob {
 		protected void runOCBinary(MultiStatus multiStatus) {
 			ConsoleUtils.registerConsoleListener(new ConsoleListener(this));
 			final MessageConsole console = showConsole();
+			setWaterMarks(console);
 			final MessageConsoleStream os = console.newMessageStream();
 			os.setEncoding("UTF-8");
 			try {
-				final InputStream logs = capability.getLogs(true, key.container, OpenShiftBinaryOption.SKIP_TLS_VERIFY);
-				byte [] data = new byte [256];
-				int read = 0;
-				while(running && (read = readSafely(logs, data)) != -1 && !os.isClosed()){
-					os.write(data, 0, read);
+				final InputStream logs = OCBinaryProcesses.getInstance().spawn(
+						() -> capability.getLogs(true, key.container, OpenShiftBinaryOption.SKIP_TLS_VERIFY));
+				this.pump = new PodLogsPump(logs, text -> {
+					if (os.isClosed()) {
+						throw new IOException(DOCUMENT_IS_CLOSED);
+					}
+					os.write(text);
+				});
+				if (running) {
+					pump.pump();
 				}
 			} catch (OpenShiftException e) {
 				OpenShiftUIActivator.getDefault().getLogger().logError(e);
@@ -188,37 +236,6 @@ public class PodLogsJob extends AbstractDelegatingMonitorJob {
 		}
 	}
 
-	/**
-	 * This helper method try not to make a fuss out of closing the input stream internally.
-	 * All other failures should not be hidden.
-	 *  
-	 * @param logs
-	 * @param data
-	 * @return
-	 * @throws IOException
-	 */
-	private int readSafely(InputStream logs, byte[] data) throws IOException {
-		try {
-			if(logs.available() < 0) {
-				return -1;
-			}
-		} catch (IOException e) {
-			//InputStream.available() may throw exception if the stream is closed externally.
-			return -1;
-		}
-		try {
-			return logs.read(data);
-		} catch (IOException e) {
-			if("Stream closed".equals(e.getMessage())) {
-				//Closed externally, nothing to read. Now we can only rely on chain of input streams 
-				//having BufferedInputStream in it. Otherwise, we cannot say if stream is closed or failed. 
-				return -1;
-			}
-			throw e;
-		}
-	}
-
-	
 	private class ConsoleListener implements IConsoleListener{
 		
 		private ConsoleStreamPipe pipe;
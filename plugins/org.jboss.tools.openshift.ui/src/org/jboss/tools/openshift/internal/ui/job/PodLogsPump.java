@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.ui.job;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Pumps the logs of a pod into a console. The logs are read in large chunks
+ * and appended to the console in batches, once per time slice, so that a chatty
+ * pod doesn't flood the console with small appends. The logs that are waiting
+ * to be appended are bounded. Logs that don't fit are dropped and reported by a
+ * gap marker rather than blocking the reader.
+ *
+ * @see #pump()
+ */
+public class PodLogsPump {
+
+	public static final int BUFFER_SIZE = 64 * 1024;
+	/** the default maximum number of characters that wait to be appended */
+	public static final int DEFAULT_MAX_PENDING = 256 * 1024;
+	public static final long FLUSH_INTERVAL_MILLIS = 200;
+	public static final String GAP_MARKER = "\n[... {0} characters of log output were dropped ...]\n";
+
+	private static final String STREAM_CLOSED = "Stream closed";
+
+	private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "OpenShift pod logs flusher");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final InputStream logs;
+	private final ILogsConsole console;
+	private final int maxPending;
+
+	private final StringBuilder pending = new StringBuilder();
+	private long dropped = 0;
+	private final Object flushLock = new Object();
+	private volatile boolean running = true;
+	private volatile IOException consoleError;
+
+	public PodLogsPump(InputStream logs, ILogsConsole console) {
+		this(logs, console, DEFAULT_MAX_PENDING);
+	}
+
+	public PodLogsPump(InputStream logs, ILogsConsole console, int maxPending) {
+		this.logs = logs;
+		this.console = console;
+		this.maxPending = maxPending;
+	}
+
+	/**
+	 * Reads the logs until they end or the pump is stopped, appending them to
+	 * the console every {@link #FLUSH_INTERVAL_MILLIS}. Blocks the calling
+	 * thread while reading.
+	 *
+	 * @throws IOException if the logs cannot be read or appended to the console
+	 */
+	public void pump() throws IOException {
+		ScheduledFuture<?> flushes = FLUSHER.scheduleWithFixedDelay(
+				this::flushSafely, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+		try {
+			read();
+		} finally {
+			flushes.cancel(false);
+		}
+		flush();
+		if (consoleError != null) {
+			throw consoleError;
+		}
+	}
+
+	public void stop() {
+		this.running = false;
+	}
+
+	public boolean isRunning() {
+		return running;
+	}
+
+	private void read() throws IOException {
+		CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		byte[] data = new byte[BUFFER_SIZE];
+		ByteBuffer bytes = ByteBuffer.wrap(data);
+		CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+		int read = 0;
+		while (running
+				&& (read = readSafely(data, bytes.position(), bytes.remaining())) != -1) {
+			bytes.position(bytes.position() + read);
+			bytes.flip();
+			// incomplete multi-byte characters are kept for the next read
+			decoder.decode(bytes, chars, false);
+			bytes.compact();
+			chars.flip();
+			append(chars);
+			chars.clear();
+		}
+	}
+
+	/**
+	 * Reads from the logs without making a fuss out of the stream being closed
+	 * externally. All other failures are not hidden.
+	 */
+	private int readSafely(byte[] data, int offset, int length) throws IOException {
+		try {
+			if (logs.available() < 0) {
+				return -1;
+			}
+		} catch (IOException e) {
+			// InputStream.available() may throw if the stream is closed externally
+			return -1;
+		}
+		try {
+			return logs.read(data, offset, length);
+		} catch (IOException e) {
+			if (STREAM_CLOSED.equals(e.getMessage())) {
+				// closed externally, nothing to read. We can only rely on the chain of input
+				// streams having a BufferedInputStream, otherwise we cannot tell closed from failed
+				return -1;
+			}
+			throw e;
+		}
+	}
+
+	private synchronized void append(CharSequence chars) {
+		if (chars.length() == 0) {
+			return;
+		}
+		// keep dropping until the next flush so that the gap marker is at the right position
+		if (dropped > 0
+				|| pending.length() + chars.length() > maxPending) {
+			dropped += chars.length();
+		} else {
+			pending.append(chars);
+		}
+	}
+
+	private synchronized String drain() {
+		if (pending.length() == 0
+				&& dropped == 0) {
+			return null;
+		}
+		if (dropped > 0) {
+			pending.append(NLS.bind(GAP_MARKER, dropped));
+			this.dropped = 0;
+		}
+		String text = pending.toString();
+		pending.setLength(0);
+		return text;
+	}
+
+	private void flushSafely() {
+		try {
+			flush();
+		} catch (IOException e) {
+			this.consoleError = e;
+			stop();
+		}
+	}
+
+	/**
+	 * Appends the logs that were read since the last flush to the console.
+	 *
+	 * @throws IOException if the console cannot be appended to
+	 */
+	public void flush() throws IOException {
+		synchronized (flushLock) {
+			String text = drain();
+			if (text != null) {
+				console.append(text);
+			}
+		}
+	}
+
+	/**
+	 * The console that the logs are appended to.
+	 */
+	@FunctionalInterface
+	public interface ILogsConsole {
+		void append(String text) throws IOException;
+	}
+}
@@ -14,10 +14,19 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -27,6 +36,7 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.osgi.util.NLS;
 import org.jboss.tools.openshift.core.connection.ConnectionProperties;
 import org.jboss.tools.openshift.core.connection.IOpenShiftConnection;
+import org.jboss.tools.openshift.internal.core.Trace;
 import org.jboss.tools.openshift.internal.core.WatchManager;
 import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
 import org.jboss.tools.openshift.internal.ui.OpenShiftUIActivator;
@@ -52,12 +62,39 @@ public class ConnectionWrapper extends AbstractOpenshiftUIElement<IOpenShiftConn
 			ResourceKind.PROJECT
 		};
 
+	/**
+	 * The maximum number of list requests that are sent concurrently to the
+	 * server of a connection.
+	 */
+	public static final int MAX_CONCURRENT_REQUESTS = 4;
+	private static final long IDLE_THREAD_TIMEOUT_SECONDS = 30;
+
 	private AtomicReference<LoadingState> state = new AtomicReference<LoadingState>(LoadingState.INIT);
 	private Map<String, ProjectWrapper> projects = new HashMap<>();
 	private ResourceCache resourceCache = new ResourceCache();
+	private Map<String, Long> loadDurations = new ConcurrentHashMap<>();
+	private final ExecutorService loadExecutor;
 
 	public ConnectionWrapper(OpenshiftUIModel parent, IOpenShiftConnection wrapped) {
 		super(parent, wrapped);
+		this.loadExecutor = createLoadExecutor(wrapped);
+	}
+
+	private static ExecutorService createLoadExecutor(IOpenShiftConnection connection) {
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(
+				MAX_CONCURRENT_REQUESTS, MAX_CONCURRENT_REQUESTS,
+				IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(),
+				runnable -> {
+					Thread thread = new Thread(runnable, 
+							NLS.bind("OpenShift resource loader {0} #{1}", 
+									connection == null ? null : connection.getHost(), threadNumber.incrementAndGet()));
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
 	}
 
 	public Collection<IResourceWrapper<?, ?>> getResources() {
@@ -116,10 +153,7 @@ public class ConnectionWrapper extends AbstractOpenshiftUIElement<IOpenShiftConn
 					IProject project = projectWrapper.getWrapped();
 					IOpenShiftConnection connection = projectWrapper.getParent().getWrapped();
 					WatchManager.getInstance().startWatch(project, connection);
-					Collection<IResource> resources = new HashSet<>();
-					for (String kind : RESOURCE_KINDS) {
-						resources.addAll(getWrapped().getResources(kind, project.getNamespace()));
-					}
+					Collection<IResource> resources = join(loadResources(project));
 					resources.forEach(r -> resourceCache.add(r));
 					projectWrapper.initWithResources(resources);
 					projectWrapper.fireChanged();
@@ -237,7 +271,8 @@ public class ConnectionWrapper extends AbstractOpenshiftUIElement<IOpenShiftConn
 		resourceCache.add(newResource);
 		Collection<IResource> resources = resourceCache.getResources(newResource.getProject().getNamespace());
 		// relying in IResource#equals() definition
-		projectWrapper.updateWithResources(resources);
+		projectWrapper.updateWithDelta(resources, Collections.singletonList(newResource), Collections.emptyList(),
+				Collections.emptyList());
 	}
 
 	protected void handleRemove(ProjectWrapper projectWrapper, IResource oldResource) {
@@ -250,7 +285,8 @@ public class ConnectionWrapper extends AbstractOpenshiftUIElement<IOpenShiftConn
 			}
 		} else if (projectWrapper != null) {
 			Collection<IResource> resources = resourceCache.getResources(oldResource.getNamespace());
-			projectWrapper.updateWithResources(resources);
+			projectWrapper.updateWithDelta(resources, Collections.emptyList(), Collections.emptyList(),
+					Collections.singletonList(oldResource));
 		}
 	}
 
@@ -259,7 +295,8 @@ public class ConnectionWrapper extends AbstractOpenshiftUIElement<IOpenShiftConn
 		resourceCache.add(newResource);
 		Collection<IResource> resources = resourceCache.getResources(newResource.getNamespace());
 		// relying in IResource#equals() definition
-		projectWrapper.updateWithResources(resources);
+		projectWrapper.updateWithDelta(resources, Collections.emptyList(), Collections.singletonList(newResource),
+				Collections.emptyList());
 	}
 
 	@Override
@@ -267,9 +304,14 @@ public class ConnectionWrapper extends AbstractOpenshiftUIElement<IOpenShiftConn
 		updateWithResources(loadProjects());
 		state.set(LoadingState.LOADED);
 		fireChanged();
-		for (ProjectWrapper project : projects.values()) {
-			project.refresh();
+		Collection<ProjectWrapper> wrappers;
+		synchronized (projects) {
+			wrappers = new ArrayList<>(projects.values());
 		}
+		// request the resources of all projects up front, the executor caps the concurrency
+		Map<ProjectWrapper, CompletableFuture<Collection<IResource>>> loads = new LinkedHashMap<>();
+		wrappers.forEach(project -> loads.put(project, startRefresh(project)));
+		loads.forEach((project, load) -> project.refresh(join(load)));
 	}
 
 	private List<IProject> loadProjects() {
@@ -277,17 +319,97 @@ public class ConnectionWrapper extends AbstractOpenshiftUIElement<IOpenShiftConn
 	}
 
 	void refresh(ProjectWrapper projectWrapper) {
+		refresh(projectWrapper, join(startRefresh(projectWrapper)));
+	}
+
+	void refresh(ProjectWrapper projectWrapper, Collection<IResource> resources) {
 		resourceCache.flush(projectWrapper.getWrapped().getNamespace());
+		resources.forEach(r -> resourceCache.add(r));
+		projectWrapper.updateWithResources(resources);
+	}
+
+	private CompletableFuture<Collection<IResource>> startRefresh(ProjectWrapper projectWrapper) {
 		IProject project = projectWrapper.getWrapped();
 		IOpenShiftConnection connection = projectWrapper.getParent().getWrapped();
 		WatchManager.getInstance().stopWatch(project, connection);
 		WatchManager.getInstance().startWatch(project, connection);
-		Collection<IResource> resources = new HashSet<>();
-		for (String kind : RESOURCE_KINDS) {
-			resources.addAll(getWrapped().getResources(kind, project.getNamespace()));
+		return loadResources(project);
+	}
+
+	/**
+	 * Lists all the {@link #RESOURCE_KINDS} of the given project. The list
+	 * requests are sent concurrently (up to {@link #MAX_CONCURRENT_REQUESTS}
+	 * per connection), their results are merged as they arrive.
+	 * 
+	 * @param project the project to list the resources of
+	 * @return the future that completes once all kinds are listed
+	 */
+	CompletableFuture<Collection<IResource>> loadResources(IProject project) {
+		String namespace = project.getNamespace();
+		Collection<IResource> resources = ConcurrentHashMap.newKeySet();
+		long start = System.currentTimeMillis();
+		CompletableFuture<?>[] loads = Stream.of(RESOURCE_KINDS)
+				.map(kind -> CompletableFuture
+						.supplyAsync(() -> loadResources(kind, namespace), loadExecutor)
+						.thenAccept(resources::addAll))
+				.toArray(CompletableFuture[]::new);
+		return CompletableFuture.allOf(loads).thenApply(done -> {
+			Trace.debug(() -> NLS.bind("Loaded {0} resources in project {1} within {2} ms", 
+					new Object[] { resources.size(), namespace, System.currentTimeMillis() - start }));
+			return resources;
+		});
+	}
+
+	private List<IResource> loadResources(String kind, String namespace) {
+		long start = System.currentTimeMillis();
+		try {
+			return getWrapped().getResources(kind, namespace);
+		} finally {
+			long duration = System.currentTimeMillis() - start;
+			loadDurations.put(kind, duration);
+			Trace.debug(() -> NLS.bind("Listed {0} in project {1} within {2} ms", new Object[] { kind, namespace, duration }));
 		}
-		resources.forEach(r -> resourceCache.add(r));
-		projectWrapper.updateWithResources(resources);
+	}
+
+	/**
+	 * Returns the time in milliseconds that the last list request for the
+	 * given kind took or {@code null} if it was not listed yet.
+	 * 
+	 * @param kind the resource kind
+	 * @return the duration in milliseconds
+	 */
+	public Long getLastLoadDuration(String kind) {
+		return loadDurations.get(kind);
+	}
+
+	/**
+	 * Releases the threads that load the resources and the cached resources.
+	 * Called when the connection was removed. The loads that were requested
+	 * already still complete.
+	 */
+	void dispose() {
+		loadExecutor.shutdown();
+		resourceCache.dispose();
+	}
+
+	private static <T> T join(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			Throwable cause = getCause(e);
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw e;
+		}
+	}
+
+	private static Throwable getCause(Throwable e) {
+		if (e instanceof CompletionException
+				&& e.getCause() != null) {
+			return e.getCause();
+		}
+		return e;
 	}
 
 }
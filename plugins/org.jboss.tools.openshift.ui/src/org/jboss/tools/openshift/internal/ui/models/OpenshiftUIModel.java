@@ -13,8 +13,10 @@ package org.jboss.tools.openshift.internal.ui.models;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.swt.widgets.Display;
 import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistry;
@@ -36,6 +38,7 @@ public class OpenshiftUIModel extends AbstractOpenshiftUIElement<ConnectionsRegi
 
 	private Map<IOpenShiftConnection, ConnectionWrapper> connections = new HashMap<>();
 	private List<IElementListener> listeners = new ArrayList<IElementListener>();
+	private Set<IOpenshiftUIElement<?, ?>> pendingChanges = new LinkedHashSet<>();
 
 	private IConnectionsRegistryListener listener;
 
@@ -94,26 +97,56 @@ public class OpenshiftUIModel extends AbstractOpenshiftUIElement<ConnectionsRegi
 	}
 
 	protected void removeConnection(IConnection connection) {
+		ConnectionWrapper removed;
 		synchronized (connections) {
-			connections.remove(connection);
+			removed = connections.remove(connection);
+		}
+		if (removed != null) {
+			removed.dispose();
 		}
 	}
 
+	/**
+	 * Notifies the listeners of the change in the given element. Changes that
+	 * happen outside of the UI thread are queued and dispatched in a single
+	 * runnable so that bursts of changes don't flood the UI thread with
+	 * runnables. An element that changes several times before the queue is
+	 * dispatched is only dispatched once. Changes in the UI thread are
+	 * dispatched right away, after the changes that are queued.
+	 */
 	@Override
 	protected void fireChanged(IOpenshiftUIElement<?, ?> source) {
 		if (Display.getCurrent() != null) {
+			// keep the order, queued changes happened before
+			dispatchPendingChanges();
 			dispatchChange(source);
 		} else {
+			synchronized (pendingChanges) {
+				boolean dispatchScheduled = !pendingChanges.isEmpty();
+				pendingChanges.add(source);
+				if (dispatchScheduled) {
+					return;
+				}
+			}
 			Display.getDefault().asyncExec(new Runnable() {
 
 				@Override
 				public void run() {
-					dispatchChange(source);
+					dispatchPendingChanges();
 				}
 			});
 		}
 	}
 
+	private void dispatchPendingChanges() {
+		Collection<IOpenshiftUIElement<?, ?>> changes;
+		synchronized (pendingChanges) {
+			changes = new ArrayList<>(pendingChanges);
+			pendingChanges.clear();
+		}
+		changes.forEach(this::dispatchChange);
+	}
+
 	private void dispatchChange(IOpenshiftUIElement<?, ?> source) {
 		Collection<IElementListener> copy = new ArrayList<>();
 		synchronized (listeners) {
@@ -174,6 +207,7 @@ public class OpenshiftUIModel extends AbstractOpenshiftUIElement<ConnectionsRegi
 					}
 				}
 				if (!oldWrappers.isEmpty()) {
+					oldWrappers.values().forEach(ConnectionWrapper::dispose);
 					changed = true;
 				}
 			}
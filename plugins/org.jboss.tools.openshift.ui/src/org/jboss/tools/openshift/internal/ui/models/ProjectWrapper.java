@@ -12,6 +12,7 @@ package org.jboss.tools.openshift.internal.ui.models;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.jboss.tools.openshift.core.OpenShiftAPIAnnotations;
@@ -25,6 +26,7 @@ import com.openshift.restclient.model.IService;
 
 public class ProjectWrapper extends ResourceContainer<IProject, ConnectionWrapper> implements IProjectWrapper {
 	private AtomicReference<LoadingState> state = new AtomicReference<LoadingState>(LoadingState.INIT);
+	private ResourceRelationIndex relations = new ResourceRelationIndex();
 
 	public ProjectWrapper(ConnectionWrapper parent, IProject resource) {
 		super(parent, resource);
@@ -47,23 +49,49 @@ public class ProjectWrapper extends ResourceContainer<IProject, ConnectionWrappe
 	}
 
 	@Override
-	protected void postUpdate(Collection<IResource> resources, Map<IResource, AbstractResourceWrapper<?, ?>> updated,
-			boolean changed) {
+	protected void postUpdate(Collection<IResource> resources, Collection<IResource> changedResources,
+			Map<IResource, AbstractResourceWrapper<?, ?>> updated, boolean changed) {
 		if (changed || !updated.isEmpty()) {
-			// we need to update all services. Any resource change may have
-			// changed to related
-			getResources().forEach(wrapper -> {
-				if (wrapper instanceof ServiceWrapper) {
-					ServiceWrapper service = (ServiceWrapper) wrapper;
-					Collection<IResource> relatedResources = ServiceResourceMapper
-							.computeRelatedResources(service.getWrapped(), resources);
-					service.updateWithResources(relatedResources);
-				} else if (wrapper instanceof ReplicationControllerWrapper) {
-				    ReplicationControllerWrapper dcWrapper = (ReplicationControllerWrapper) wrapper;
-				    Collection<IResource> relatedresources = getRelatedResources(resources, wrapper);
-				    dcWrapper.updateWithResources(relatedresources);
-				}
-			});
+			Collection<ResourceContainer<?, ?>> containers = getRelationContainers();
+			if (changedResources == null) {
+				// we need to update all services. Any resource change may have
+				// changed to related
+				containers.forEach(container -> updateRelatedResources(container, resources));
+				relations.reindex(containers);
+			} else {
+				// only update the services, dcs and rcs that the changed
+				// resources are or may get related to
+				relations.retainAll(containers);
+				Collection<ResourceContainer<?, ?>> affected = relations.getAffected(changedResources);
+				containers.stream()
+					.filter(container -> !relations.contains(container))
+					// new containers computed their related resources when they were created
+					.forEach(relations::index);
+				affected.forEach(container -> {
+					updateRelatedResources(container, resources);
+					relations.index(container);
+				});
+			}
+		}
+	}
+
+	private Collection<ResourceContainer<?, ?>> getRelationContainers() {
+		return super.getResources().stream()
+				.filter(wrapper -> wrapper instanceof ServiceWrapper
+						|| wrapper instanceof ReplicationControllerWrapper)
+				.map(wrapper -> (ResourceContainer<?, ?>) wrapper)
+				.collect(Collectors.toList());
+	}
+
+	private void updateRelatedResources(ResourceContainer<?, ?> container, Collection<IResource> resources) {
+		if (container instanceof ServiceWrapper) {
+			ServiceWrapper service = (ServiceWrapper) container;
+			Collection<IResource> relatedResources = ServiceResourceMapper
+					.computeRelatedResources(service.getWrapped(), resources);
+			service.updateWithResources(relatedResources);
+		} else if (container instanceof ReplicationControllerWrapper) {
+			Collection<IResource> relatedresources = getRelatedResources(resources, container);
+			container.updateWithResources(relatedresources);
 		}
 	}
 
@@ -99,6 +127,7 @@ public class ProjectWrapper extends ResourceContainer<IProject, ConnectionWrappe
     @Override
 	void initWithResources(Collection<IResource> resources) {
 		super.initWithResources(resources);
+		relations.reindex(getRelationContainers());
 		state.set(LoadingState.LOADED);
 	}
 
@@ -109,6 +138,12 @@ public class ProjectWrapper extends ResourceContainer<IProject, ConnectionWrappe
 		fireChanged();
 	}
 
+	void refresh(Collection<IResource> resources) {
+		getParent().refresh(this, resources);
+		state.set(LoadingState.LOADED);
+		fireChanged();
+	}
+
     @Override
     public Collection<IResourceWrapper<?, ?>> getResources() {
         load(IExceptionHandler.NULL_HANDLER);
@@ -15,115 +15,144 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.jboss.tools.openshift.internal.core.Trace;
+import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
 
 import com.openshift.restclient.model.IResource;
 
+/**
+ * A cache of resources by namespace, kind and name. The resources of a
+ * namespace are indexed by kind so that looking up the resources of a kind
+ * doesn't filter all the resources of the namespace. Lookups share a read lock,
+ * changes are exclusive.
+ */
 class ResourceCache {
-	private Map<String, Map<String, IResource>> cache = new HashMap<String, Map<String, IResource>>();
+
+	/** the resources by namespace */
+	private final Map<String, NamespaceResources> cache = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Lock readLock = lock.readLock();
+	private final Lock writeLock = lock.writeLock();
 
 	public void dispose() {
 		flush();
 	}
 
 	public void flush() {
-		synchronized (cache) {
+		writeLock.lock();
+		try {
 			cache.clear();
+		} finally {
+			writeLock.unlock();
 		}
 	}
 
 	public void flush(String namespace) {
-		synchronized (cache) {
+		writeLock.lock();
+		try {
 			cache.remove(namespace);
+		} finally {
+			writeLock.unlock();
 		}
 	}
 
-	/**
-	 * Key for caching an object
-	 * 
-	 * @param resource
-	 * @return
-	 */
-	private String getCacheKey(IResource resource) {
-		return getCacheKey(resource.getKind(), resource.getName());
-	}
-
-	private String getCacheKey(String kind, String name) {
-		return kind+"/"+name;
-	}
-
 	@SuppressWarnings("unchecked")
 	public <T extends IResource> T getResource(String namespace, String kind, String name) {
-		synchronized (cache) {
-			Map<String, IResource> projectResources = cache.get(namespace);
-			if (projectResources != null) {
-				return (T) projectResources.get(getCacheKey(kind, name));
-			}
-			return null;
+		readLock.lock();
+		try {
+			return (T) getFromCache(namespace, kind, name);
+		} finally {
+			readLock.unlock();
 		}
 	}
 
 	@SuppressWarnings("unchecked")
 	public <T extends IResource> Collection<T> getResources(String namespace, String kind) {
-		synchronized (cache) {
-
-			Map<String, IResource> projectResources = cache.get(namespace);
-			if (projectResources != null) {
-				return projectResources.values().stream().filter(r -> kind.equals(r.getKind())).map(r -> (T) r)
-						.collect(Collectors.toList());
+		readLock.lock();
+		try {
+			NamespaceResources namespaceResources = cache.get(namespace);
+			if (namespaceResources == null) {
+				return Collections.emptyList();
 			}
-			return Collections.emptyList();
+			Map<String, IResource> kindResources = namespaceResources.get(kind);
+			if (kindResources == null) {
+				return Collections.emptyList();
+			}
+			return new ArrayList<>((Collection<T>) kindResources.values());
+		} finally {
+			readLock.unlock();
 		}
 	}
 
 	@SuppressWarnings("unchecked")
 	public <T extends IResource> Collection<T> getResources(String namespace) {
-		synchronized (cache) {
-			Map<String, IResource> projectResources = cache.get(namespace);
-			if (projectResources != null) {
-				return new ArrayList<T>((Collection<T>) projectResources.values());
+		readLock.lock();
+		try {
+			NamespaceResources namespaceResources = cache.get(namespace);
+			if (namespaceResources == null) {
+				return Collections.emptyList();
 			}
-			return Collections.emptyList();
+			return (Collection<T>) namespaceResources.getAll();
+		} finally {
+			readLock.unlock();
 		}
 	}
 
 	/**
-	 * 
+	 *
 	 * @param resource
 	 * @return true if cached; false otherwise
 	 */
 	public boolean add(IResource resource) {
 		if (resource == null)
 			return false;
-		synchronized (cache) {
-			if (getCachedVersion(resource) != null) {
-				Trace.debug("-->Returning early since already processed {0}", resource);
+		writeLock.lock();
+		try {
+			if (getFromCache(resource) != null) {
+				Trace.debug(() -> "-->Returning early since already processed " + resource);
 				return false;
 			}
 			putIntoCache(resource);
+		} finally {
+			writeLock.unlock();
 		}
 		return true;
 	}
 
+	private IResource getFromCache(IResource resource) {
+		return getFromCache(getNamespace(resource), resource.getKind(), resource.getName());
+	}
+
+	private IResource getFromCache(String namespace, String kind, String name) {
+		NamespaceResources namespaceResources = cache.get(namespace);
+		if (namespaceResources == null) {
+			return null;
+		}
+		Map<String, IResource> kindResources = namespaceResources.get(kind);
+		if (kindResources == null) {
+			return null;
+		}
+		return kindResources.get(name);
+	}
+
 	private void removeFromCache(IResource resource) {
-		Map<String, IResource> projectResources = cache.get(getNamespace(resource));
-		if (projectResources != null) {
-			projectResources.remove(getCacheKey(resource));
-			if (projectResources.isEmpty()) {
-				cache.remove(getNamespace(resource));
+		String namespace = getNamespace(resource);
+		NamespaceResources namespaceResources = cache.get(namespace);
+		if (namespaceResources != null) {
+			namespaceResources.remove(resource);
+			if (namespaceResources.isEmpty()) {
+				cache.remove(namespace);
 			}
 		}
 	}
 
 	private void putIntoCache(IResource resource) {
-		Map<String, IResource> projectResources = cache.get(getNamespace(resource));
-		if (projectResources == null) {
-			projectResources = new HashMap<String, IResource>();
-			cache.put(getNamespace(resource), projectResources);
-		}
-		projectResources.put(getCacheKey(resource), resource);
+		cache.computeIfAbsent(getNamespace(resource), namespace -> new NamespaceResources())
+			.put(resource);
 	}
 
 	public String getNamespace(IResource resource) {
@@ -135,41 +164,93 @@ class ResourceCache {
 	}
 
 	/**
-	 * 
+	 *
 	 * @param resource
 	 * @return true if removed; false otherwise
 	 */
 	public boolean remove(IResource resource) {
 		if (resource == null)
 			return false;
-		synchronized (cache) {
+		writeLock.lock();
+		try {
 			removeFromCache(resource);
+		} finally {
+			writeLock.unlock();
 		}
 		return true;
 
 	}
 
 	/**
-	 * 
+	 *
 	 * @param resource
 	 * @return true if updated; false otherwise
 	 */
 	public boolean update(IResource resource) {
 		if (resource == null)
 			return false;
-		synchronized (cache) {
-			if (isUpToDate(resource)) {
-				Trace.debug("-->Returning early since already have this change: {0}", resource);
+		writeLock.lock();
+		try {
+			if (isUpToDate(getFromCache(resource), resource)) {
+				Trace.debug(() -> "-->Returning early since already have this change: " + resource);
 				return false;
 			}
 			putIntoCache(resource);
+		} finally {
+			writeLock.unlock();
 		}
 		return true;
 	}
 
 	public boolean isUpToDate(IResource resource) {
-		IResource cachedVersion = getCachedVersion(resource);
-		return cachedVersion != null && Integer.parseInt(cachedVersion.getResourceVersion()) >= Integer
-				.parseInt(resource.getResourceVersion());
+		return isUpToDate(getCachedVersion(resource), resource);
+	}
+
+	private boolean isUpToDate(IResource cachedVersion, IResource resource) {
+		return cachedVersion != null
+				&& !ResourceUtils.isOlder(cachedVersion.getResourceVersion(), resource.getResourceVersion());
+	}
+
+	/**
+	 * The resources of a namespace by kind and name.
+	 */
+	private static class NamespaceResources {
+
+		private final Map<String, Map<String, IResource>> resourcesByKind = new HashMap<>();
+		private int size = 0;
+
+		Map<String, IResource> get(String kind) {
+			return resourcesByKind.get(kind);
+		}
+
+		void put(IResource resource) {
+			Map<String, IResource> kindResources = resourcesByKind.computeIfAbsent(resource.getKind(), kind -> new HashMap<>());
+			if (kindResources.put(resource.getName(), resource) == null) {
+				size++;
+			}
+		}
+
+		void remove(IResource resource) {
+			Map<String, IResource> kindResources = resourcesByKind.get(resource.getKind());
+			if (kindResources == null) {
+				return;
+			}
+			if (kindResources.remove(resource.getName()) != null) {
+				size--;
+			}
+			if (kindResources.isEmpty()) {
+				resourcesByKind.remove(resource.getKind());
+			}
+		}
+
+		Collection<IResource> getAll() {
+			Collection<IResource> all = new ArrayList<>(size);
+			resourcesByKind.values().forEach(kindResources -> all.addAll(kindResources.values()));
+			return all;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
 	}
 }
@@ -16,6 +16,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
+
 import com.openshift.restclient.model.IResource;
 
 abstract class ResourceContainer<R extends IResource, P extends AbstractOpenshiftUIElement<?, ?>>
@@ -51,6 +53,19 @@ abstract class ResourceContainer<R extends IResource, P extends AbstractOpenshif
 	}
 	
 	void updateWithResources(Collection<IResource> resources) {
+		updateWithResources(resources, null);
+	}
+
+	/**
+	 * Updates the contained resources with the given ones.
+	 * 
+	 * @param resources
+	 *            all the resources
+	 * @param changedResources
+	 *            the resources that changed compared to the last update or
+	 *            {@code null} if they're unknown
+	 */
+	void updateWithResources(Collection<IResource> resources, Collection<IResource> changedResources) {
 		Map<IResource, AbstractResourceWrapper<?, ?>> updated = new HashMap<>();
 		boolean changed = false;
 		synchronized (childrenLock) {
@@ -79,9 +94,73 @@ abstract class ResourceContainer<R extends IResource, P extends AbstractOpenshif
 			AbstractResourceWrapper<?, ?> wrapper = updated.get(r);
 			wrapper.updateWith(r);
 		});
-		postUpdate(resources, updated, changed);
+		postUpdate(resources, changedResources, updated, changed);
 	}
 	
+	/**
+	 * Updates the contained resources with the given changes. Only the
+	 * wrappers of the changed resources are touched. Modified resources only
+	 * update their wrappers if their resource version moved.
+	 * 
+	 * @param resources
+	 *            all the resources, used to compute the relations of new and
+	 *            changed resources
+	 * @param added
+	 *            the resources that were added
+	 * @param modified
+	 *            the resources that were modified
+	 * @param removed
+	 *            the resources that were removed
+	 */
+	void updateWithDelta(Collection<IResource> resources, Collection<IResource> added, Collection<IResource> modified,
+			Collection<IResource> removed) {
+		Map<IResource, AbstractResourceWrapper<?, ?>> updated = new HashMap<>();
+		boolean changed = false;
+		synchronized (childrenLock) {
+			for (IResource r : removed) {
+				changed |= containedResources.remove(r) != null;
+			}
+			for (IResource r : added) {
+				changed |= addOrUpdate(resources, r, updated);
+			}
+			for (IResource r : modified) {
+				changed |= addOrUpdate(resources, r, updated);
+			}
+		}
+
+		if (changed) {
+			fireChanged();
+		}
+		updated.forEach((r, wrapper) -> wrapper.updateWith(r));
+		if (changed || !updated.isEmpty()) {
+			Collection<IResource> changedResources = new ArrayList<>(added.size() + modified.size() + removed.size());
+			changedResources.addAll(added);
+			changedResources.addAll(modified);
+			changedResources.addAll(removed);
+			postUpdate(resources, changedResources, updated, changed);
+		}
+	}
+
+	/**
+	 * Adds a wrapper for the given resource if it's not contained yet.
+	 * Otherwise records its wrapper as updated if the given resource is newer
+	 * than the wrapped one.
+	 * 
+	 * @return true if a wrapper was added
+	 */
+	private boolean addOrUpdate(Collection<IResource> resources, IResource r,
+			Map<IResource, AbstractResourceWrapper<?, ?>> updated) {
+		AbstractResourceWrapper<?, ?> existingWrapper = containedResources.get(r);
+		if (existingWrapper == null) {
+			containedResources.put(r, createNewWrapper(resources, r));
+			return true;
+		}
+		if (ResourceUtils.isOlder(existingWrapper.getWrapped(), r)) {
+			updated.put(r, existingWrapper);
+		}
+		return false;
+	}
+
 	void initWithResources(Collection<IResource> resources) {
 		synchronized (childrenLock) {
 			resources.forEach(r -> {
@@ -90,6 +169,6 @@ abstract class ResourceContainer<R extends IResource, P extends AbstractOpenshif
 		}
 	}
 
-	protected abstract void postUpdate(Collection<IResource> resources, Map<IResource, AbstractResourceWrapper<?, ?>> updated, boolean changed);
+	protected abstract void postUpdate(Collection<IResource> resources, Collection<IResource> changedResources, Map<IResource, AbstractResourceWrapper<?, ?>> updated, boolean changed);
 	protected abstract AbstractResourceWrapper<?, ?> createNewWrapper(Collection<IResource> resources, IResource r);
 }
@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.ui.models;
+
+import static org.jboss.tools.openshift.internal.core.util.ResourceUtils.imageRef;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.tools.openshift.common.core.utils.StringUtils;
+import org.jboss.tools.openshift.core.OpenShiftAPIAnnotations;
+
+import com.openshift.restclient.ResourceKind;
+import com.openshift.restclient.model.IBuild;
+import com.openshift.restclient.model.IBuildConfig;
+import com.openshift.restclient.model.IDeploymentConfig;
+import com.openshift.restclient.model.IPod;
+import com.openshift.restclient.model.IReplicationController;
+import com.openshift.restclient.model.IResource;
+import com.openshift.restclient.model.IService;
+import com.openshift.restclient.model.route.IRoute;
+
+/**
+ * An index of the services, deployment configs and replication controllers
+ * (containers) in a project, keyed by the things that relate resources to them:
+ * label selectors, deployment config and deployment annotations, build config
+ * labels and image references. It allows to look up the containers that a
+ * change in a single resource may affect, so that only those need to recompute
+ * their related resources.
+ *
+ * @see ServiceResourceMapper
+ */
+class ResourceRelationIndex {
+
+	private static final String KEY_RESOURCE = "resource:";
+	private static final String KEY_SELECTOR = "selector:";
+	private static final String KEY_SERVICE = "service:";
+	private static final String KEY_DEPLOYMENT_CONFIG = "dc:";
+	private static final String KEY_REPLICATION_CONTROLLER = "rc:";
+	private static final String KEY_BUILD = "build:";
+	private static final String KEY_BUILD_CONFIG = "bc:";
+	private static final String KEY_IMAGE_REF = "imageRef:";
+
+	// wrappers are mutable, identity is the only safe way to track them
+	private final Map<String, Set<ResourceContainer<?, ?>>> containersByKey = new HashMap<>();
+	private final Map<ResourceContainer<?, ?>, Set<String>> keysByContainer = new IdentityHashMap<>();
+
+	/**
+	 * Indexes the given container with its wrapped resource and the related
+	 * resources it currently contains. Replaces the previous index entries of
+	 * the container.
+	 *
+	 * @param container the container to index
+	 */
+	synchronized void index(ResourceContainer<?, ?> container) {
+		remove(container);
+		Set<String> keys = getContainerKeys(container);
+		keysByContainer.put(container, keys);
+		keys.forEach(key -> containersByKey
+				.computeIfAbsent(key, k -> Collections.newSetFromMap(new IdentityHashMap<>()))
+				.add(container));
+	}
+
+	/**
+	 * Replaces the whole index with the given containers.
+	 *
+	 * @param containers the containers to index
+	 */
+	synchronized void reindex(Collection<ResourceContainer<?, ?>> containers) {
+		containersByKey.clear();
+		keysByContainer.clear();
+		containers.forEach(this::index);
+	}
+
+	synchronized void remove(ResourceContainer<?, ?> container) {
+		Set<String> keys = keysByContainer.remove(container);
+		if (keys == null) {
+			return;
+		}
+		keys.forEach(key -> {
+			Set<ResourceContainer<?, ?>> containers = containersByKey.get(key);
+			if (containers != null) {
+				containers.remove(container);
+				if (containers.isEmpty()) {
+					containersByKey.remove(key);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Removes all the containers that are not in the given collection.
+	 *
+	 * @param containers the containers to keep
+	 */
+	synchronized void retainAll(Collection<ResourceContainer<?, ?>> containers) {
+		Set<ResourceContainer<?, ?>> retained = Collections.newSetFromMap(new IdentityHashMap<>());
+		retained.addAll(containers);
+		new ArrayList<>(keysByContainer.keySet()).stream()
+			.filter(container -> !retained.contains(container))
+			.forEach(this::remove);
+	}
+
+	synchronized boolean contains(ResourceContainer<?, ?> container) {
+		return keysByContainer.containsKey(container);
+	}
+
+	/**
+	 * Returns the containers that contain or may get related to the given
+	 * resources.
+	 *
+	 * @param resources the resources that changed
+	 * @return the containers that are affected by the change
+	 */
+	synchronized Set<ResourceContainer<?, ?>> getAffected(Collection<IResource> resources) {
+		Set<ResourceContainer<?, ?>> affected = Collections.newSetFromMap(new IdentityHashMap<>());
+		resources.forEach(resource ->
+			getResourceKeys(resource).forEach(key -> {
+				Set<ResourceContainer<?, ?>> containers = containersByKey.get(key);
+				if (containers != null) {
+					affected.addAll(containers);
+				}
+			}));
+		return affected;
+	}
+
+	private Set<String> getContainerKeys(ResourceContainer<?, ?> container) {
+		Set<String> keys = new HashSet<>();
+		IResource resource = container.getWrapped();
+		keys.add(KEY_RESOURCE + getResourceKey(resource));
+		if (resource instanceof IService) {
+			IService service = (IService) resource;
+			addSelectorKeys(service.getSelector(), keys);
+			addKey(KEY_SERVICE, service.getName(), keys);
+		} else if (resource instanceof IDeploymentConfig) {
+			addDeploymentConfigKeys((IDeploymentConfig) resource, keys);
+		} else if (resource instanceof IReplicationController) {
+			addSelectorKeys(((IReplicationController) resource).getReplicaSelector(), keys);
+		}
+		container.getResources().forEach(wrapper -> {
+			IResource related = wrapper.getWrapped();
+			keys.add(KEY_RESOURCE + getResourceKey(related));
+			if (related instanceof IDeploymentConfig) {
+				addDeploymentConfigKeys((IDeploymentConfig) related, keys);
+			} else if (related instanceof IBuildConfig) {
+				addKey(KEY_BUILD_CONFIG, related.getName(), keys);
+			} else if (related instanceof IBuild) {
+				addKey(KEY_BUILD, related.getName(), keys);
+			} else if (related instanceof IPod) {
+				addKey(KEY_REPLICATION_CONTROLLER, related.getAnnotation(OpenShiftAPIAnnotations.DEPLOYMENT_NAME), keys);
+			}
+		});
+		return keys;
+	}
+
+	private void addDeploymentConfigKeys(IDeploymentConfig dc, Set<String> keys) {
+		addKey(KEY_DEPLOYMENT_CONFIG, dc.getName(), keys);
+		ServiceResourceMapper.computeImageRefs(dc).forEach(ref -> addKey(KEY_IMAGE_REF, ref, keys));
+	}
+
+	private Set<String> getResourceKeys(IResource resource) {
+		Set<String> keys = new HashSet<>();
+		keys.add(KEY_RESOURCE + getResourceKey(resource));
+		if (resource instanceof IPod) {
+			addSelectorKeys(resource.getLabels(), keys);
+			addKey(KEY_DEPLOYMENT_CONFIG, resource.getAnnotation(OpenShiftAPIAnnotations.DEPLOYMENT_CONFIG_NAME), keys);
+			addKey(KEY_BUILD, resource.getAnnotation(OpenShiftAPIAnnotations.BUILD_NAME), keys);
+		} else if (resource instanceof IDeploymentConfig) {
+			addSelectorKeys(((IDeploymentConfig) resource).getReplicaSelector(), keys);
+			addKey(KEY_DEPLOYMENT_CONFIG, resource.getAnnotation(OpenShiftAPIAnnotations.DEPLOYMENT_CONFIG_NAME), keys);
+		} else if (resource instanceof IReplicationController) {
+			addKey(KEY_REPLICATION_CONTROLLER, resource.getName(), keys);
+			addKey(KEY_DEPLOYMENT_CONFIG, resource.getAnnotation(OpenShiftAPIAnnotations.DEPLOYMENT_CONFIG_NAME), keys);
+		} else if (resource instanceof IRoute) {
+			addKey(KEY_SERVICE, ((IRoute) resource).getServiceName(), keys);
+		} else if (resource instanceof IBuild) {
+			Map<String, String> labels = resource.getLabels();
+			if (labels != null) {
+				addKey(KEY_BUILD_CONFIG, labels.get(OpenShiftAPIAnnotations.BUILD_CONFIG_NAME), keys);
+			}
+			addKey(KEY_IMAGE_REF, imageRef((IBuild) resource), keys);
+		} else if (resource instanceof IBuildConfig) {
+			addKey(KEY_IMAGE_REF, imageRef((IBuildConfig) resource), keys);
+		} else if (ResourceKind.IMAGE_STREAM_TAG.equals(resource.getKind())) {
+			addKey(KEY_IMAGE_REF, resource.getName(), keys);
+		}
+		return keys;
+	}
+
+	/**
+	 * Adds a key for each entry of the given selector or labels. A resource
+	 * only relates to a selector if it has all its entries, so any of the
+	 * entries is enough to find the candidates. An empty selector only
+	 * relates to empty labels.
+	 */
+	private void addSelectorKeys(Map<String, String> selector, Set<String> keys) {
+		if (selector == null) {
+			return;
+		}
+		if (selector.isEmpty()) {
+			keys.add(KEY_SELECTOR);
+		} else {
+			selector.entrySet().forEach(entry -> keys.add(KEY_SELECTOR + entry.getKey() + "=" + entry.getValue()));
+		}
+	}
+
+	private void addKey(String prefix, String value, Set<String> keys) {
+		if (!StringUtils.isEmpty(value)) {
+			keys.add(prefix + value);
+		}
+	}
+
+	private String getResourceKey(IResource resource) {
+		return resource.getKind() + "/" + resource.getName();
+	}
+}
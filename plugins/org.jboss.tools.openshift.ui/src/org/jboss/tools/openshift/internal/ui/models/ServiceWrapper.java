@@ -21,8 +21,8 @@ class ServiceWrapper extends ResourceContainer<IService, ProjectWrapper> impleme
 		super(parent, resource);
 	}
 
-	protected void postUpdate(Collection<IResource> resources, Map<IResource, AbstractResourceWrapper<?, ?>> updated,
-			boolean changed) {
+	protected void postUpdate(Collection<IResource> resources, Collection<IResource> changedResources,
+			Map<IResource, AbstractResourceWrapper<?, ?>> updated, boolean changed) {
 		// do nothing
 		
 	}
@@ -16,6 +16,7 @@ import org.jboss.tools.openshift.cdk.server.test.internal.CDKLaunchControllerTes
 import org.jboss.tools.openshift.cdk.server.test.internal.CDKOpenshiftUtilityTest;
 import org.jboss.tools.openshift.cdk.server.test.internal.CDKRegistryTest;
 import org.jboss.tools.openshift.cdk.server.test.internal.CDKRuntimeDetectorTest;
+import org.jboss.tools.openshift.cdk.server.test.internal.MinishiftPollerTest;
 import org.jboss.tools.openshift.cdk.server.test.internal.ServiceManagerParsingTest;
 import org.jboss.tools.openshift.cdk.server.test.internal.VagrantPollerTest;
 import org.junit.runner.RunWith;
@@ -30,6 +31,7 @@ import org.junit.runners.Suite.SuiteClasses;
 	CDKLaunchControllerTest.class,
 	CDK32LaunchControllerTest.class,
 	VagrantPollerTest.class,
+	MinishiftPollerTest.class,
 	CDKRegistryTest.class,
 	CDKRuntimeDetectorTest.class
 })
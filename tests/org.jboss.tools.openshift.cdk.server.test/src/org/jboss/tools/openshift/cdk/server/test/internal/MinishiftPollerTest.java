@@ -0,0 +1,94 @@
+/******************************************************************************* 
+ * Copyright (c) 2017 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.tools.openshift.cdk.server.test.internal;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.wst.server.core.IServer;
+import org.jboss.tools.openshift.cdk.server.core.internal.adapter.AbstractCDKPoller;
+import org.jboss.tools.openshift.cdk.server.core.internal.adapter.MinishiftPoller;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class MinishiftPollerTest extends TestCase {
+
+	@Test
+	public void testHealthyOpenShiftDoesNotForkStatus() throws Exception {
+		MinishiftPollerSub sub = new MinishiftPollerSub("https://192.168.99.100:8443", true, "Stopped");
+		IStatus result = sub.onePing2();
+		assertEquals(IStatus.OK, result.getSeverity());
+		assertEquals(0, sub.getForkedProcesses());
+	}
+
+	@Test
+	public void testUnhealthyOpenShiftForksStatus() throws Exception {
+		MinishiftPollerSub sub = new MinishiftPollerSub("https://192.168.99.100:8443", false, "Stopped");
+		IStatus result = sub.onePing2();
+		assertEquals(IStatus.ERROR, result.getSeverity());
+		assertEquals(1, sub.getForkedProcesses());
+	}
+
+	@Test
+	public void testUnknownOpenShiftForksStatus() throws Exception {
+		MinishiftPollerSub sub = new MinishiftPollerSub(null, true, "Stopped");
+		IStatus result = sub.onePing2();
+		assertEquals(IStatus.ERROR, result.getSeverity());
+		assertEquals(1, sub.getForkedProcesses());
+	}
+
+	@Test
+	public void testPingIntervalBacksOff() {
+		assertEquals(AbstractCDKPoller.INITIAL_PING_INTERVAL, AbstractCDKPoller.getPingInterval(0));
+		assertEquals(AbstractCDKPoller.INITIAL_PING_INTERVAL, 
+				AbstractCDKPoller.getPingInterval(AbstractCDKPoller.INITIAL_PINGS));
+		assertEquals(2 * AbstractCDKPoller.INITIAL_PING_INTERVAL, 
+				AbstractCDKPoller.getPingInterval(AbstractCDKPoller.INITIAL_PINGS + 1));
+		assertEquals(AbstractCDKPoller.MAX_PING_INTERVAL, AbstractCDKPoller.getPingInterval(1000));
+	}
+
+	private class MinishiftPollerSub extends MinishiftPoller {
+
+		private final String url;
+		private final boolean healthy;
+		private final String status;
+
+		public MinishiftPollerSub(String url, boolean healthy, String status) {
+			this.url = url;
+			this.healthy = healthy;
+			this.status = status;
+		}
+
+		public IStatus onePing2() throws Exception {
+			return onePing(mock(IServer.class), Collections.<String, String>emptyMap());
+		}
+
+		@Override
+		protected String getOpenShiftURL(IServer server) {
+			return url;
+		}
+
+		@Override
+		protected boolean isOpenShiftHealthy(String url, int timeout) {
+			return healthy;
+		}
+
+		@Override
+		protected String[] callStatus(IServer server, Map<String, String> env) {
+			processForked();
+			return new String[] { status };
+		}
+	}
+}
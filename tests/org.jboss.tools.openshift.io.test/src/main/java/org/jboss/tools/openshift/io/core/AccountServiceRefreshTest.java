@@ -0,0 +1,347 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.io.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.tools.openshift.io.core.model.IAccount;
+import org.jboss.tools.openshift.io.core.model.ICluster;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Tests the token refresh of the {@link AccountService} against a stub refresh
+ * endpoint.
+ */
+public class AccountServiceRefreshTest {
+
+	private static final int NUMBER_OF_CALLERS = 8;
+
+	private AccountService service = AccountService.getDefault();
+
+	private StubRefreshServer server;
+	private ClusterFake cluster;
+	private AccountFake account;
+	private ExecutorService executor;
+
+	@Before
+	public void setUp() throws IOException {
+		this.server = new StubRefreshServer();
+		this.cluster = new ClusterFake(server.getEndpointURL());
+		this.account = new AccountFake("myid", cluster);
+		account.setAccessToken("at");
+		account.setRefreshToken("rt");
+		account.setRefreshTokenExpiryTime(Long.MAX_VALUE);
+		cluster.addAccount(account);
+		this.executor = Executors.newFixedThreadPool(NUMBER_OF_CALLERS);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		// stop renewing the account in the background
+		cluster.removeAccount(account);
+		executor.shutdownNow();
+		server.close();
+	}
+
+	@Test
+	public void concurrentCallersShouldShareOneRefresh() throws Exception {
+		// given
+		account.setLastRefreshedTime(System.currentTimeMillis());
+		account.setAccessTokenExpiryTime(System.currentTimeMillis() - 1000);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<String>> tokens = new ArrayList<>();
+		// when
+		for (int i = 0; i < NUMBER_OF_CALLERS; i++) {
+			tokens.add(executor.submit((Callable<String>) () -> {
+				start.await();
+				return service.getToken(cluster);
+			}));
+		}
+		start.countDown();
+		// then
+		for (Future<String> token : tokens) {
+			assertEquals(server.getAccessToken(), token.get(10, TimeUnit.SECONDS));
+		}
+		assertEquals(1, server.getRefreshes());
+	}
+
+	@Test
+	public void validTokenShouldBeRenewedInTheBackground() throws Exception {
+		// given
+		long now = System.currentTimeMillis();
+		// half the valid period is over in a little more than the minimum renewal delay
+		account.setLastRefreshedTime(now - 10 * 1000);
+		account.setAccessTokenExpiryTime(now + 10 * 1000 + 2 * AccountService.MIN_RENEWAL_DELAY);
+		// when
+		String token = service.getToken(cluster);
+		// then
+		assertEquals("at", token);
+		assertEquals(0, server.getRefreshes());
+		assertTrue(server.awaitRefresh(10, TimeUnit.SECONDS));
+		assertEquals(1, server.getRefreshes());
+	}
+
+	/**
+	 * A refresh endpoint that answers every request with a new pair of tokens.
+	 * It answers slowly so that concurrent callers overlap.
+	 */
+	private static class StubRefreshServer implements Runnable {
+
+		private final ServerSocket socket;
+		private final AtomicInteger refreshes = new AtomicInteger();
+		private final CountDownLatch refreshed = new CountDownLatch(1);
+		private final String accessToken = createToken(TimeUnit.HOURS.toMillis(1));
+		private final String refreshToken = createToken(TimeUnit.DAYS.toMillis(30));
+
+		StubRefreshServer() throws IOException {
+			this.socket = new ServerSocket(0);
+			Thread thread = new Thread(this, "OpenShift.io stub refresh endpoint");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		String getEndpointURL() {
+			return "http://localhost:" + socket.getLocalPort() + "/api/";
+		}
+
+		@Override
+		public void run() {
+			while (!socket.isClosed()) {
+				try (Socket connection = socket.accept()) {
+					readRequest(connection);
+					refreshes.incrementAndGet();
+					Thread.sleep(200);
+					writeResponse(connection);
+					refreshed.countDown();
+				} catch (IOException | InterruptedException e) {
+					// closed
+				}
+			}
+		}
+
+		private void readRequest(Socket connection) throws IOException {
+			BufferedReader reader = new BufferedReader(
+					new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+			int contentLength = 0;
+			String line;
+			while ((line = reader.readLine()) != null
+					&& !line.isEmpty()) {
+				if (line.toLowerCase().startsWith("content-length:")) {
+					contentLength = Integer.parseInt(line.substring("content-length:".length()).trim());
+				}
+			}
+			for (int i = 0; i < contentLength; i++) {
+				reader.read();
+			}
+		}
+
+		private void writeResponse(Socket connection) throws IOException {
+			byte[] body = ("{\"token\":{\"access_token\":\"" + accessToken + "\",\"refresh_token\":\"" + refreshToken
+					+ "\"}}").getBytes(StandardCharsets.UTF_8);
+			OutputStream out = connection.getOutputStream();
+			out.write(("HTTP/1.1 200 OK\r\n"
+					+ "Content-Type: application/json\r\n"
+					+ "Content-Length: " + body.length + "\r\n"
+					+ "Connection: close\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+			out.write(body);
+			out.flush();
+		}
+
+		private static String createToken(long validity) {
+			return Jwts.builder().setExpiration(new Date(System.currentTimeMillis() + validity)).compact();
+		}
+
+		String getAccessToken() {
+			return accessToken;
+		}
+
+		int getRefreshes() {
+			return refreshes.get();
+		}
+
+		boolean awaitRefresh(long timeout, TimeUnit unit) throws InterruptedException {
+			return refreshed.await(timeout, unit);
+		}
+
+		void close() throws IOException {
+			socket.close();
+		}
+	}
+
+	private static class ClusterFake implements ICluster {
+
+		private final List<IAccount> accounts = new ArrayList<>();
+		private String endpointURL;
+
+		ClusterFake(String endpointURL) {
+			this.endpointURL = endpointURL;
+		}
+
+		@Override
+		public String getId() {
+			return "stub";
+		}
+
+		@Override
+		public String getEndpointURL() {
+			return endpointURL;
+		}
+
+		@Override
+		public void setEndpointURL(String endpointURL) {
+			this.endpointURL = endpointURL;
+		}
+
+		@Override
+		public String getLoginURL() {
+			return null;
+		}
+
+		@Override
+		public String getLandingURL() {
+			return null;
+		}
+
+		@Override
+		public String getRefreshURL() {
+			return endpointURL + OSIOCoreConstants.REFRESH_SUFFIX;
+		}
+
+		@Override
+		public synchronized void addAccount(IAccount account) {
+			accounts.add(account);
+		}
+
+		@Override
+		public synchronized List<IAccount> getAccounts() {
+			return new ArrayList<>(accounts);
+		}
+
+		@Override
+		public synchronized void removeAccount(IAccount account) {
+			accounts.remove(account);
+		}
+
+		@Override
+		public IAccount createAccount(String id) {
+			return new AccountFake(id, this);
+		}
+
+		@Override
+		public void save() {
+			// don't touch the secure storage
+		}
+	}
+
+	private static class AccountFake implements IAccount {
+
+		private final String id;
+		private final ICluster cluster;
+		private volatile String accessToken;
+		private volatile String refreshToken;
+		private volatile long accessTokenExpiryTime;
+		private volatile long refreshTokenExpiryTime;
+		private volatile long lastRefreshedTime;
+
+		AccountFake(String id, ICluster cluster) {
+			this.id = id;
+			this.cluster = cluster;
+		}
+
+		@Override
+		public String getId() {
+			return id;
+		}
+
+		@Override
+		public ICluster getCluster() {
+			return cluster;
+		}
+
+		@Override
+		public String getAccessToken() {
+			return accessToken;
+		}
+
+		@Override
+		public void setAccessToken(String accessToken) {
+			this.accessToken = accessToken;
+		}
+
+		@Override
+		public String getRefreshToken() {
+			return refreshToken;
+		}
+
+		@Override
+		public void setRefreshToken(String refreshToken) {
+			this.refreshToken = refreshToken;
+		}
+
+		@Override
+		public long getAccessTokenExpiryTime() {
+			return accessTokenExpiryTime;
+		}
+
+		@Override
+		public void setAccessTokenExpiryTime(long accessTokenExpiryTime) {
+			this.accessTokenExpiryTime = accessTokenExpiryTime;
+		}
+
+		@Override
+		public long getRefreshTokenExpiryTime() {
+			return refreshTokenExpiryTime;
+		}
+
+		@Override
+		public void setRefreshTokenExpiryTime(long refreshTokenExpiryTime) {
+			this.refreshTokenExpiryTime = refreshTokenExpiryTime;
+		}
+
+		@Override
+		public long getLastRefreshedTime() {
+			return lastRefreshedTime;
+		}
+
+		@Override
+		public void setLastRefreshedTime(long lastRefreshTime) {
+			this.lastRefreshedTime = lastRefreshTime;
+		}
+
+		@Override
+		public void save() {
+			// don't touch the secure storage
+		}
+	}
+}
@@ -28,8 +28,16 @@ import static org.mockito.Mockito.when;
 import static org.jboss.tools.openshift.test.core.connection.ConnectionTestUtils.*;
 
 import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.assertj.core.data.MapEntry;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -558,6 +566,59 @@ public class ConnectionTest {
 		assertFalse(SecurePreferencesFactory.getDefault().nodeExists(key.getKey()));
 	}
 	
+	@Test
+	public void should_reauthenticate_once_given_concurrent_requests_are_unauthorized() throws Exception {
+		// given
+		final int requests = 50;
+		IClient client = createClient("foo", "expired", "https://localhost:8443");
+		CountDownLatch allRejected = new CountDownLatch(requests);
+		when(client.list(anyString(), anyString())).thenAnswer(invocation -> {
+			if ("renewed".equals(client.getAuthorizationContext().getToken())) {
+				return Collections.emptyList();
+			}
+			allRejected.countDown();
+			throw mock(UnauthorizedException.class);
+		});
+		ReauthenticatingConnection connection = new ReauthenticatingConnection(client, prompter, store, allRejected);
+		ExecutorService executor = Executors.newFixedThreadPool(requests);
+		// when
+		List<Future<List<IResource>>> results = new ArrayList<>();
+		for (int i = 0; i < requests; i++) {
+			results.add(executor.submit(() -> connection.<IResource>getResources(ResourceKind.POD, "project1")));
+		}
+		// then
+		for (Future<List<IResource>> result : results) {
+			assertThat(result.get(10, TimeUnit.SECONDS)).isEmpty();
+		}
+		executor.shutdown();
+		assertThat(connection.getReauthenticationCount()).isEqualTo(1);
+		assertThat(connection.authorizations).isEqualTo(1);
+	}
+
+	public class ReauthenticatingConnection extends TestableConnection {
+
+		private final CountDownLatch allRejected;
+		private int authorizations = 0;
+
+		public ReauthenticatingConnection(IClient client, ICredentialsPrompter credentialsPrompter, SecureStore store, CountDownLatch allRejected) {
+			super(client, credentialsPrompter, store);
+			this.allRejected = allRejected;
+		}
+
+		@Override
+		protected boolean authorize() {
+			authorizations++;
+			try {
+				// let all requests be rejected before the token is renewed
+				allRejected.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			setToken("renewed");
+			return true;
+		}
+	}
+
 	public class TestableConnection extends Connection {
 
 		private SecureStore store;
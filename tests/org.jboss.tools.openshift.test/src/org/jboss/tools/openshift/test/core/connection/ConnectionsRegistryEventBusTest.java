@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.core.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistry;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistryAdapter;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistryEventBus;
+import org.jboss.tools.openshift.common.core.connection.IConnection;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConnectionsRegistryEventBusTest {
+
+	private static final int NUMBER_OF_EVENTS = 1000;
+	private static final String PROPERTY = "property";
+
+	private ConnectionsRegistry registry;
+	private IConnection connection;
+
+	@Before
+	public void setUp() {
+		this.registry = new ConnectionsRegistry(new ConnectionsRegistryEventBus(4));
+		this.connection = new ConnectionFake("http://localhost:8081");
+		registry.add(connection);
+	}
+
+	@Test
+	public void shouldDispatchPostedEventsOfAConnectionInOrder() throws InterruptedException {
+		// given
+		RecordingListener listener = new RecordingListener(NUMBER_OF_EVENTS);
+		registry.addListener(listener);
+		// when
+		for (int i = 0; i < NUMBER_OF_EVENTS; i++) {
+			registry.postConnectionChanged(connection, PROPERTY, null, i);
+		}
+		// then
+		assertTrue(listener.latch.await(10, TimeUnit.SECONDS));
+		for (int i = 0; i < NUMBER_OF_EVENTS; i++) {
+			assertEquals(i, listener.values.get(i));
+		}
+	}
+
+	@Test
+	public void shouldNotWaitForSlowListenerWhenPosting() throws InterruptedException {
+		// given
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingListener slowListener = new RecordingListener(1) {
+
+			@Override
+			public void connectionChanged(IConnection connection, String property, Object oldValue, Object newValue) {
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				super.connectionChanged(connection, property, oldValue, newValue);
+			}
+		};
+		registry.addListener(slowListener);
+		// when
+		registry.postConnectionChanged(connection, PROPERTY, null, 1);
+		registry.postConnectionChanged(connection, PROPERTY, null, 2);
+		// then
+		assertEquals(1, slowListener.latch.getCount());
+		assertTrue(registry.getEventBus().getQueueDepth() >= 1);
+		release.countDown();
+		assertTrue(slowListener.latch.await(10, TimeUnit.SECONDS));
+		assertTrue(slowListener.getThreads().stream().allMatch(thread -> thread != Thread.currentThread()));
+	}
+
+	@Test
+	public void shouldDiscardPostedEventsOfRemovedConnection() throws InterruptedException {
+		// given
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingListener slowListener = new RecordingListener(1) {
+
+			@Override
+			public void connectionChanged(IConnection connection, String property, Object oldValue, Object newValue) {
+				super.connectionChanged(connection, property, oldValue, newValue);
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		registry.addListener(slowListener);
+		registry.postConnectionChanged(connection, PROPERTY, null, 1);
+		registry.postConnectionChanged(connection, PROPERTY, null, 2);
+		registry.postConnectionChanged(connection, PROPERTY, null, 3);
+		assertTrue(slowListener.latch.await(10, TimeUnit.SECONDS));
+		// when
+		registry.remove(connection);
+		release.countDown();
+		// then
+		Thread.sleep(200);
+		assertEquals(Collections.singletonList(1), slowListener.values);
+		assertEquals(0, registry.getEventBus().getQueueDepth());
+	}
+
+	@Test
+	public void shouldNotifyRemovalAfterPostedEventThatIsDispatched() throws InterruptedException {
+		// given
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingListener slowListener = new RecordingListener(2) {
+
+			@Override
+			public void connectionChanged(IConnection connection, String property, Object oldValue, Object newValue) {
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				super.connectionChanged(connection, property, oldValue, newValue);
+			}
+
+			@Override
+			public void connectionRemoved(IConnection connection) {
+				super.connectionChanged(connection, null, null, "removed");
+			}
+		};
+		registry.addListener(slowListener);
+		registry.postConnectionChanged(connection, PROPERTY, null, 1);
+		// when
+		registry.remove(connection);
+		release.countDown();
+		// then
+		assertTrue(slowListener.latch.await(10, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList(1, "removed"), slowListener.values);
+	}
+
+	@Test
+	public void shouldRefusePostedEventsOfConnectionThatIsNotRegistered() {
+		// given
+		RecordingListener listener = new RecordingListener(1);
+		registry.addListener(listener, true);
+		registry.remove(connection);
+		// when
+		registry.postConnectionChanged(connection, PROPERTY, null, 1);
+		// then
+		assertEquals(1, listener.latch.getCount());
+		assertEquals(0, registry.getEventBus().getQueueDepth());
+	}
+
+	@Test
+	public void shouldWaitForRoomWhenQueueOfConnectionIsFull() throws InterruptedException {
+		// given
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingListener slowListener = new RecordingListener(ConnectionsRegistryEventBus.MAX_QUEUED_EVENTS + 2) {
+
+			@Override
+			public void connectionChanged(IConnection connection, String property, Object oldValue, Object newValue) {
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				super.connectionChanged(connection, property, oldValue, newValue);
+			}
+		};
+		registry.addListener(slowListener);
+		// when
+		// 1 event is dispatched, the queue is full and the last one waits
+		Thread poster = new Thread(() -> {
+			for (int i = 0; i < ConnectionsRegistryEventBus.MAX_QUEUED_EVENTS + 2; i++) {
+				registry.postConnectionChanged(connection, PROPERTY, null, i);
+			}
+		});
+		poster.start();
+		// then
+		poster.join(200);
+		assertTrue(poster.isAlive());
+		assertEquals(ConnectionsRegistryEventBus.MAX_QUEUED_EVENTS, registry.getEventBus().getQueueDepth());
+		release.countDown();
+		poster.join(10000);
+		assertFalse(poster.isAlive());
+		assertTrue(slowListener.latch.await(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void shouldNotifySynchronousListenerInPostingThread() {
+		// given
+		RecordingListener listener = new RecordingListener(1);
+		registry.addListener(listener, true);
+		// when
+		registry.postConnectionChanged(connection, PROPERTY, null, 1);
+		// then
+		assertEquals(0, listener.latch.getCount());
+		assertSame(Thread.currentThread(), listener.getThreads().get(0));
+	}
+
+	@Test
+	public void shouldNotifyAllListenersInFiringThread() {
+		// given
+		RecordingListener listener = new RecordingListener(1);
+		registry.addListener(listener);
+		// when
+		registry.fireConnectionChanged(connection, PROPERTY, null, 1);
+		// then
+		assertEquals(0, listener.latch.getCount());
+		assertSame(Thread.currentThread(), listener.getThreads().get(0));
+	}
+
+	@Test
+	public void shouldMeasureListenerLatency() throws InterruptedException {
+		// given
+		RecordingListener listener = new RecordingListener(2) {
+
+			@Override
+			public void connectionChanged(IConnection connection, String property, Object oldValue, Object newValue) {
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				super.connectionChanged(connection, property, oldValue, newValue);
+			}
+		};
+		registry.addListener(listener);
+		// when
+		registry.postConnectionChanged(connection, PROPERTY, null, 1);
+		// the latency of the 1st event is recorded by the time the 2nd event is dispatched
+		registry.postConnectionChanged(connection, PROPERTY, null, 2);
+		// then
+		assertTrue(listener.latch.await(10, TimeUnit.SECONDS));
+		assertNotSame(Thread.currentThread(), listener.getThreads().get(0));
+		assertTrue(registry.getEventBus().getMaxListenerLatency(listener) >= 50);
+	}
+
+	private static class RecordingListener extends ConnectionsRegistryAdapter {
+
+		private final List<Object> values = Collections.synchronizedList(new ArrayList<>());
+		private final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+		private final CountDownLatch latch;
+
+		private RecordingListener(int expectedEvents) {
+			this.latch = new CountDownLatch(expectedEvents);
+		}
+
+		@Override
+		public void connectionChanged(IConnection connection, String property, Object oldValue, Object newValue) {
+			values.add(newValue);
+			threads.add(Thread.currentThread());
+			latch.countDown();
+		}
+
+		private List<Thread> getThreads() {
+			return threads;
+		}
+	}
+}
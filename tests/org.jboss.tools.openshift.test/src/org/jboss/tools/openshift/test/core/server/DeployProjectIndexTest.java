@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.core.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.wst.server.core.IServer;
+import org.eclipse.wst.server.core.IServerType;
+import org.jboss.tools.openshift.core.server.OpenShiftServer;
+import org.jboss.tools.openshift.core.server.OpenShiftServerUtils;
+import org.jboss.tools.openshift.internal.core.server.resources.DeployProjectIndex;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DeployProjectIndexTest {
+
+	private DeployProjectIndex index;
+	private IProject project;
+
+	@Before
+	public void setUp() {
+		this.index = new DeployProjectIndex();
+		this.project = mockProject("lucky-luke");
+		// build the index from the workspace servers before firing events
+		index.getServers(project);
+	}
+
+	@Test
+	public void shouldReturnServerThatWasAdded() {
+		// given
+		IServer server = mockServer(OpenShiftServer.SERVER_TYPE_ID, "lucky-luke");
+		// when
+		index.serverAdded(server);
+		// then
+		assertThat(index.getServers(project)).containsExactly(server);
+	}
+
+	@Test
+	public void shouldNotReturnServerOfOtherType() {
+		// given
+		IServer server = mockServer("org.jboss.ide.eclipse.as.wildfly.100", "lucky-luke");
+		// when
+		index.serverAdded(server);
+		// then
+		assertThat(index.getServers(project)).isEmpty();
+	}
+
+	@Test
+	public void shouldNotReturnServerThatWasRemoved() {
+		// given
+		IServer server = mockServer(OpenShiftServer.SERVER_TYPE_ID, "lucky-luke");
+		index.serverAdded(server);
+		// when
+		index.serverRemoved(server);
+		// then
+		assertThat(index.getServers(project)).isEmpty();
+	}
+
+	@Test
+	public void shouldReturnServerForNewDeployProjectIfChanged() {
+		// given
+		IServer server = mockServer(OpenShiftServer.SERVER_TYPE_ID, "lucky-luke");
+		index.serverAdded(server);
+		// when
+		when(server.getAttribute(eq(OpenShiftServerUtils.ATTR_DEPLOYPROJECT), any(String.class)))
+				.thenReturn("jolly-jumper");
+		index.serverChanged(server);
+		// then
+		assertThat(index.getServers(project)).isEmpty();
+		assertThat(index.getServers(mockProject("jolly-jumper"))).containsExactly(server);
+	}
+
+	private IServer mockServer(String typeId, String deployProject) {
+		IServerType type = mock(IServerType.class);
+		when(type.getId()).thenReturn(typeId);
+		IServer server = mock(IServer.class);
+		when(server.getServerType()).thenReturn(type);
+		when(server.getAttribute(eq(OpenShiftServerUtils.ATTR_DEPLOYPROJECT), any(String.class)))
+				.thenReturn(deployProject);
+		return server;
+	}
+
+	private IProject mockProject(String name) {
+		IProject project = mock(IProject.class);
+		when(project.getName()).thenReturn(name);
+		return project;
+	}
+}
@@ -29,6 +29,7 @@ import org.apache.commons.io.IOUtils;
 import org.eclipse.core.runtime.CoreException;
 import org.jboss.tools.openshift.core.connection.Connection;
 import org.jboss.tools.openshift.core.server.DockerImageLabels;
+import org.jboss.tools.openshift.internal.core.docker.ImageLabels;
 import org.jboss.tools.openshift.test.util.ResourceMocks;
 import org.junit.Before;
 import org.junit.Test;
@@ -163,6 +164,21 @@ public class DockerImageLabelsTest {
 		assertThat(podPath).isNull();
 	}
 
+	@Test
+	public void shouldReturnDevmodeKeysAndPodPathOfImage() throws CoreException {
+		// given
+		// when
+		String devmodeKey = labels.getDevmodeKey();
+		String devmodePortKey = labels.getDevmodePortKey();
+		String devmodePortValue = labels.getDevmodePortValue();
+		String podPath = labels.getPodPath();
+		// then
+		assertThat(devmodeKey).isEqualTo("DEV_MODE");
+		assertThat(devmodePortKey).isEqualTo("DEBUG_PORT");
+		assertThat(devmodePortValue).isEqualTo("5858");
+		assertThat(podPath).isEqualTo("/opt/app-root/src");
+	}
+
 	public class TestableDockerImageLabels extends DockerImageLabels {
 
 		protected TestableDockerImageLabels(IResource resource, Connection connection) {
@@ -170,7 +186,7 @@ public class DockerImageLabelsTest {
 		}
 
 		@Override
-		protected String load(IResource resource) {
+		protected ImageLabels load(IResource resource) {
 			return super.load(resource);
 		}
 		
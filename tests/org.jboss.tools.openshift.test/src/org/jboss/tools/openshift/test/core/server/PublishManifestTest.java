@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Incorporated - initial API and implementation
+ *******************************************************************************/
+package org.jboss.tools.openshift.test.core.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.jboss.tools.openshift.core.server.PublishManifest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PublishManifestTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private PublishManifest published;
+
+	@Before
+	public void setUp() throws IOException {
+		write("index.jsp", "<html/>");
+		write("WEB-INF/web.xml", "<web-app/>");
+		write("WEB-INF/lib/lib.jar", "jar");
+		write(".git/config", "[core]");
+		this.published = PublishManifest.create(folder.getRoot(), null);
+	}
+
+	@Test
+	public void shouldNotIncludeGitFolder() {
+		assertThat(published.getPaths()).containsOnly("index.jsp", "WEB-INF/web.xml", "WEB-INF/lib/lib.jar");
+	}
+
+	@Test
+	public void shouldReportNoChangesIfNothingChanged() throws IOException {
+		// given
+		// when
+		PublishManifest current = PublishManifest.create(folder.getRoot(), published);
+		// then
+		assertThat(current.getChangedPaths(published)).isEmpty();
+	}
+
+	@Test
+	public void shouldReportChangedAndAddedFiles() throws IOException {
+		// given
+		write("index.jsp", "<html><body/></html>");
+		write("WEB-INF/classes/Servlet.class", "class");
+		// when
+		PublishManifest current = PublishManifest.create(folder.getRoot(), published);
+		// then
+		assertThat(current.getChangedPaths(published)).containsOnly("index.jsp", "WEB-INF/classes/Servlet.class");
+	}
+
+	@Test
+	public void shouldNotReportTouchedFilesWithSameContent() throws IOException {
+		// given
+		File webXml = write("WEB-INF/web.xml", "<web-app/>");
+		webXml.setLastModified(webXml.lastModified() + 10_000);
+		// when
+		PublishManifest current = PublishManifest.create(folder.getRoot(), published);
+		// then
+		assertThat(current.getChangedPaths(published)).isEmpty();
+	}
+
+	@Test
+	public void shouldNotReportDeletedFiles() throws IOException {
+		// given
+		new File(folder.getRoot(), "WEB-INF/lib/lib.jar").delete();
+		// when
+		PublishManifest current = PublishManifest.create(folder.getRoot(), published);
+		// then
+		assertThat(current.getPaths()).containsOnly("index.jsp", "WEB-INF/web.xml");
+		assertThat(current.getChangedPaths(published)).isEmpty();
+	}
+
+	private File write(String path, String content) throws IOException {
+		File file = new File(folder.getRoot(), path);
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
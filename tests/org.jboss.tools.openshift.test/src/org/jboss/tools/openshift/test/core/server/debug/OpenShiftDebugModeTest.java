@@ -25,10 +25,12 @@ import static org.jboss.tools.openshift.test.util.ResourceMocks.mockGetContainer
 import static org.jboss.tools.openshift.test.util.ResourceMocks.mockGetEnvironmentVariables;
 import static org.mockito.AdditionalMatchers.and;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -58,6 +60,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.openshift.restclient.IResourceFactory;
 import com.openshift.restclient.model.IContainer;
 import com.openshift.restclient.model.IDeploymentConfig;
 import com.openshift.restclient.model.IPod;
@@ -90,6 +93,9 @@ public class OpenShiftDebugModeTest {
 				null,
 				connection);
 		doReturn(true).when(connection).ownsResource(dc);
+		IResourceFactory factory = mock(IResourceFactory.class);
+		doReturn(dc).when(factory).create(anyString());
+		doReturn(factory).when(connection).getResourceFactory();
 		this.server = OpenShiftServerTestUtils.mockServer(dc, connection);
 		this.context = new TestableDebugContext(server, KEY_DEVMODE, KEY_DEBUGPORT, VALUE_DEBUGPORT);
 		this.debugMode = spy((TestableDebugMode) new TestableDebugMode(context));	
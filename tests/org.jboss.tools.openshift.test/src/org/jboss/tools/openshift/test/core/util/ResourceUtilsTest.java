@@ -738,6 +738,28 @@ public class ResourceUtilsTest {
 		assertThat(rc.getName()).isEqualTo("6");
 	}
 	
+	@Test
+	public void shouldCompareResourceVersionsThatExceedInt() {
+		// given
+		String version = "2147483648";
+		String newerVersion = "2147483649";
+		// when
+		// then
+		assertThat(ResourceUtils.isOlder(version, newerVersion)).isTrue();
+		assertThat(ResourceUtils.isOlder(newerVersion, version)).isFalse();
+		assertThat(ResourceUtils.isOlder(version, version)).isFalse();
+	}
+
+	@Test
+	public void shouldConsiderEqualOpaqueResourceVersionsTheSame() {
+		// given
+		// when
+		// then
+		assertThat(ResourceUtils.isOlder("a1b2", "a1b2")).isFalse();
+		assertThat(ResourceUtils.isOlder("a1b2", "a1b3")).isTrue();
+		assertThat(ResourceUtils.isOlder(null, "42")).isTrue();
+	}
+
 	@Test
 	public void extractProjectNameFromURI() {
 		assertNull(ResourceUtils.getProjectNameForURI(null));
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.internal.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import org.apache.commons.io.IOUtils;
+import org.jboss.tools.openshift.internal.core.docker.ImageLabels;
+import org.jboss.tools.openshift.internal.core.docker.ImageLabelsCache;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ImageLabelsCacheTest {
+
+	private static final String NODEJS_IMAGESTREAM_TAG_URL = "/imageStreamTag_nodejs_latest.json";
+	private static final String NODEJS_DIGEST = "sha256:4bc2b9f8ab9d75b9cfb8feb287f5c29633c2ccf9c39303635161df7ab04c9688";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File file;
+
+	@Before
+	public void setUp() throws IOException {
+		this.file = new File(folder.getRoot(), "imageLabels.json");
+	}
+
+	@Test
+	public void shouldReadDigestLabelsAndWorkingDirFromImageStreamTag() throws IOException {
+		// given
+		String json = IOUtils.toString(ImageLabelsCacheTest.class.getResourceAsStream(NODEJS_IMAGESTREAM_TAG_URL));
+		// when
+		ImageLabels labels = ImageLabels.read(json);
+		// then
+		assertThat(labels.getDigest()).isEqualTo(NODEJS_DIGEST);
+		assertThat(labels.getLabel("com.redhat.dev-mode")).isEqualTo("DEV_MODE:false");
+		assertThat(labels.getLabel("com.redhat.dev-mode.port")).isEqualTo("DEBUG_PORT:5858");
+		assertThat(labels.getWorkingDir()).isEqualTo("/opt/app-root/src");
+	}
+
+	@Test
+	public void shouldNotReadLabelsFromEmptyJson() throws IOException {
+		assertThat(ImageLabels.read(null)).isNull();
+		assertThat(ImageLabels.read("")).isNull();
+	}
+
+	@Test
+	public void shouldEvictLeastRecentlyUsedEntry() {
+		// given
+		ImageLabelsCache cache = new TestableImageLabelsCache(2, null);
+		cache.put(createLabels("sha256:1"));
+		cache.put(createLabels("sha256:2"));
+		cache.get("sha256:1");
+		// when
+		cache.put(createLabels("sha256:3"));
+		// then
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.get("sha256:1")).isNotNull();
+		assertThat(cache.get("sha256:2")).isNull();
+		assertThat(cache.get("sha256:3")).isNotNull();
+	}
+
+	@Test
+	public void shouldNotCacheLabelsWithoutDigest() {
+		// given
+		ImageLabelsCache cache = new TestableImageLabelsCache(2, null);
+		// when
+		cache.put(createLabels(null));
+		// then
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldRestorePersistedEntries() {
+		// given
+		new TestableImageLabelsCache(2, file).put(createLabels("sha256:1"));
+		// when
+		ImageLabels labels = new TestableImageLabelsCache(2, file).get("sha256:1");
+		// then
+		assertThat(labels).isNotNull();
+		assertThat(labels.getLabel("com.redhat.dev-mode")).isEqualTo("DEBUG:true");
+		assertThat(labels.getWorkingDir()).isEqualTo("/opt/app-root/src");
+	}
+
+	private ImageLabels createLabels(String digest) {
+		return new ImageLabels(digest, Collections.singletonMap("com.redhat.dev-mode", "DEBUG:true"), "/opt/app-root/src");
+	}
+
+	private class TestableImageLabelsCache extends ImageLabelsCache {
+
+		public TestableImageLabelsCache(int maxEntries, File file) {
+			super(maxEntries, file);
+		}
+	}
+}
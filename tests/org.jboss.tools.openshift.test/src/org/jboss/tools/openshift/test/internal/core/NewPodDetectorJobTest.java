@@ -0,0 +1,177 @@
+/******************************************************************************* 
+ * Copyright (c) 2017 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.internal.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
+import org.jboss.tools.openshift.common.core.connection.IConnection;
+import org.jboss.tools.openshift.core.connection.ConnectionProperties;
+import org.jboss.tools.openshift.core.connection.IOpenShiftConnection;
+import org.jboss.tools.openshift.internal.core.util.NewPodDetectorJob;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.openshift.restclient.model.IDeploymentConfig;
+import com.openshift.restclient.model.IPod;
+import com.openshift.restclient.model.IReplicationController;
+
+public class NewPodDetectorJobTest {
+
+	private static final String NAMESPACE = "project1";
+	private static final long MAX_DETECTION_LATENCY = 100;
+
+	private IOpenShiftConnection connection;
+	private IDeploymentConfig dc;
+
+	@Before
+	public void setUp() {
+		this.connection = mock(IOpenShiftConnection.class);
+		this.dc = mockDeploymentConfig("dc1", Collections.singletonMap("deploymentconfig", "dc1"));
+	}
+
+	@Test
+	public void shouldDetectNewPodRightAfterItWasNotified() throws InterruptedException {
+		// given
+		NewPodDetectorJobTestable detector = startDetector(dc, "pod0");
+		IPod pod = mockPod("pod1", "Running", Collections.singletonMap("deploymentconfig", "dc1"));
+		// when
+		long start = System.currentTimeMillis();
+		fireChanged(pod);
+		detector.join();
+		long latency = System.currentTimeMillis() - start;
+		// then
+		assertEquals(pod, detector.getPod());
+		assertTrue(detector.getResult().isOK());
+		assertTrue("Detection took " + latency + "ms", latency < MAX_DETECTION_LATENCY);
+	}
+
+	@Test
+	public void shouldIgnoreOldPendingAndUnrelatedPods() throws InterruptedException {
+		// given
+		NewPodDetectorJobTestable detector = startDetector(dc, "pod0");
+		IDeploymentConfig otherDc = mockDeploymentConfig("dc2", Collections.singletonMap("deploymentconfig", "dc2"));
+		NewPodDetectorJobTestable otherDetector = startDetector(otherDc);
+		IPod newPod = mockPod("pod1", "Running", Collections.singletonMap("deploymentconfig", "dc1"));
+		// when
+		fireChanged(mockPod("pod0", "Running", Collections.singletonMap("deploymentconfig", "dc1")));
+		fireChanged(mockPod("pod2", "Pending", Collections.singletonMap("deploymentconfig", "dc1")));
+		fireChanged(mockPod("pod3", "Running", Collections.singletonMap("deploymentconfig", "dc3")));
+		fireChanged(newPod);
+		detector.join();
+		// then
+		assertEquals(newPod, detector.getPod());
+		// both detectors share the listener, the other one is still waiting
+		assertNull(otherDetector.getPod());
+		otherDetector.cancel();
+		otherDetector.join();
+	}
+
+	@Test
+	public void shouldIgnorePodsOfOtherConnections() throws InterruptedException {
+		// given
+		NewPodDetectorJobTestable detector = startDetector(dc, "pod0");
+		IOpenShiftConnection otherConnection = mock(IOpenShiftConnection.class);
+		IPod newPod = mockPod("pod1", "Running", Collections.singletonMap("deploymentconfig", "dc1"));
+		// when
+		// a pod of the same name in the same namespace of another cluster
+		ConnectionsRegistrySingleton.getInstance().fireConnectionChanged(otherConnection, ConnectionProperties.PROPERTY_RESOURCE, null, newPod);
+		// then
+		assertNull(detector.getPod());
+		detector.cancel();
+		detector.join();
+	}
+
+	@Test
+	public void shouldStopWaitingWhenCanceled() throws InterruptedException {
+		// given
+		NewPodDetectorJobTestable detector = startDetector(dc);
+		// when
+		long start = System.currentTimeMillis();
+		detector.cancel();
+		detector.join();
+		long latency = System.currentTimeMillis() - start;
+		// then
+		assertNull(detector.getPod());
+		assertEquals(IStatus.CANCEL, detector.getResult().getSeverity());
+		assertTrue("Cancellation took " + latency + "ms", latency < MAX_DETECTION_LATENCY);
+	}
+
+	private NewPodDetectorJobTestable startDetector(IDeploymentConfig dc, String... oldPods) throws InterruptedException {
+		NewPodDetectorJobTestable detector = new NewPodDetectorJobTestable(dc, connection, oldPods);
+		detector.schedule();
+		assertTrue(detector.waiting.await(10, TimeUnit.SECONDS));
+		return detector;
+	}
+
+	private void fireChanged(IPod pod) {
+		ConnectionsRegistrySingleton.getInstance().fireConnectionChanged(connection, ConnectionProperties.PROPERTY_RESOURCE, null, pod);
+	}
+
+	private IDeploymentConfig mockDeploymentConfig(String name, Map<String, String> selector) {
+		IDeploymentConfig dc = mock(IDeploymentConfig.class);
+		when(dc.getName()).thenReturn(name);
+		when(dc.getNamespace()).thenReturn(NAMESPACE);
+		when(dc.getReplicaSelector()).thenReturn(selector);
+		return dc;
+	}
+
+	private IPod mockPod(String name, String status, Map<String, String> labels) {
+		IPod pod = mock(IPod.class);
+		when(pod.getName()).thenReturn(name);
+		when(pod.getNamespace()).thenReturn(NAMESPACE);
+		when(pod.getStatus()).thenReturn(status);
+		when(pod.getLabels()).thenReturn(labels);
+		return pod;
+	}
+
+	private static class NewPodDetectorJobTestable extends NewPodDetectorJob {
+
+		private final IConnection connection;
+		private final Collection<String> oldPods;
+		private final CountDownLatch waiting = new CountDownLatch(1);
+
+		public NewPodDetectorJobTestable(IDeploymentConfig dc, IConnection connection, String... oldPods) {
+			super(dc);
+			this.connection = connection;
+			this.oldPods = Arrays.asList(oldPods);
+		}
+
+		@Override
+		protected IConnection getConnection(IReplicationController rc) {
+			return connection;
+		}
+
+		@Override
+		protected Collection<String> getOldPods(IReplicationController rc) {
+			return oldPods;
+		}
+
+		@Override
+		protected void waitForNewPod(IProgressMonitor monitor) {
+			waiting.countDown();
+			super.waitForNewPod(monitor);
+		}
+	}
+}
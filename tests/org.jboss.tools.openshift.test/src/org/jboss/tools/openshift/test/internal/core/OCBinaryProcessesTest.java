@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.internal.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.tools.openshift.common.core.connection.IConnection;
+import org.jboss.tools.openshift.internal.core.OCBinaryProcesses;
+import org.jboss.tools.openshift.test.core.connection.ConnectionFake;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OCBinaryProcessesTest {
+
+	private static final int MAX_PROCESSES = 2;
+	private static final int NUMBER_OF_PROCESSES = 10;
+
+	private OCBinaryProcesses processes;
+	private IConnection connection;
+	private ExecutorService executor;
+
+	@Before
+	public void setUp() {
+		this.processes = new TestableOCBinaryProcesses(MAX_PROCESSES);
+		this.connection = new ConnectionFake("http://localhost:8443");
+		this.executor = Executors.newFixedThreadPool(NUMBER_OF_PROCESSES);
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void shouldNotRunMoreProcessesThanMaximumPerConnection() throws Exception {
+		// given
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		List<Future<Integer>> results = new ArrayList<>();
+		// when
+		for (int i = 0; i < NUMBER_OF_PROCESSES; i++) {
+			results.add(executor.submit(() -> processes.run(connection, () -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				Thread.sleep(20);
+				return running.getAndDecrement();
+			})));
+		}
+		for (Future<Integer> result : results) {
+			result.get(10, TimeUnit.SECONDS);
+		}
+		// then
+		assertThat(maxRunning.get()).isEqualTo(MAX_PROCESSES);
+		assertThat(processes.getRunning(connection)).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldNotCapProcessesOfOtherConnections() throws Exception {
+		// given
+		CountDownLatch release = new CountDownLatch(1);
+		for (int i = 0; i < MAX_PROCESSES; i++) {
+			executor.submit(() -> processes.run(connection, () -> release.await(10, TimeUnit.SECONDS)));
+		}
+		IConnection otherConnection = new ConnectionFake("http://localhost:8444");
+		// when
+		Future<String> result = executor.submit(() -> processes.run(otherConnection, () -> "done"));
+		// then
+		assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("done");
+		release.countDown();
+	}
+
+	@Test
+	public void shouldReleaseProcessIfItFails() {
+		// given
+		for (int i = 0; i < MAX_PROCESSES; i++) {
+			try {
+				processes.run(connection, () -> {
+					throw new IllegalStateException();
+				});
+			} catch (IllegalStateException e) {
+				// expected
+			}
+		}
+		// when
+		String result = processes.run(connection, () -> "done");
+		// then
+		assertThat(result).isEqualTo("done");
+	}
+
+	@Test
+	public void shouldForgetConnection() {
+		// given
+		processes.run(connection, () -> "done");
+		processes.run(null, () -> "done");
+		assertThat(processes.getConnectionCount()).isEqualTo(2);
+		// when
+		processes.forget(connection);
+		// then
+		assertThat(processes.getConnectionCount()).isEqualTo(1);
+		assertThat(processes.getRunning(connection)).isEqualTo(0);
+		assertThat(processes.getConnectionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldRecordSpawnLatency() {
+		// given
+		// when
+		String result = processes.spawn(() -> {
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "spawned";
+		});
+		// then
+		assertThat(result).isEqualTo("spawned");
+		assertThat(processes.getSpawns()).isEqualTo(1);
+		assertThat(processes.getMaxSpawnLatency()).isGreaterThanOrEqualTo(50);
+		assertThat(processes.getAverageSpawnLatency()).isGreaterThanOrEqualTo(50);
+	}
+
+	private class TestableOCBinaryProcesses extends OCBinaryProcesses {
+
+		public TestableOCBinaryProcesses(int maxProcesses) {
+			super(maxProcesses);
+		}
+	}
+}
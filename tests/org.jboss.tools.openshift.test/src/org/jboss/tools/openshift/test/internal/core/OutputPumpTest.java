@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.internal.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.jboss.tools.openshift.internal.core.util.OutputPump;
+import org.junit.Test;
+
+public class OutputPumpTest {
+
+	private static final int NUMBER_OF_LINES = 1000;
+
+	@Test
+	public void shouldPumpAllLinesInChunks() throws InterruptedException, ExecutionException, TimeoutException {
+		// given
+		StringBuilder output = new StringBuilder();
+		for (int i = 0; i < NUMBER_OF_LINES; i++) {
+			output.append("line").append(i).append('\n');
+		}
+		List<String> lines = new ArrayList<>();
+		List<String[]> chunks = new ArrayList<>();
+		// when
+		OutputPump.getInstance().pump(
+				new ByteArrayInputStream(output.toString().getBytes(StandardCharsets.UTF_8)), 
+				chunk -> {
+					chunks.add(chunk);
+					lines.addAll(Arrays.asList(chunk));
+				})
+			.get(10, TimeUnit.SECONDS);
+		// then
+		assertEquals(NUMBER_OF_LINES, lines.size());
+		assertEquals("line0", lines.get(0));
+		assertEquals("line" + (NUMBER_OF_LINES - 1), lines.get(NUMBER_OF_LINES - 1));
+		assertTrue(chunks.size() < NUMBER_OF_LINES);
+		assertTrue(chunks.stream().allMatch(chunk -> chunk.length <= OutputPump.MAX_LINES_PER_CHUNK));
+	}
+
+	@Test
+	public void shouldReuseThreadsForSubsequentStreams() throws InterruptedException, ExecutionException, TimeoutException {
+		// given
+		List<String> threads = new ArrayList<>();
+		// when
+		for (int i = 0; i < 10; i++) {
+			OutputPump.getInstance().pump(
+					new ByteArrayInputStream("line\n".getBytes(StandardCharsets.UTF_8)), 
+					chunk -> threads.add(Thread.currentThread().getName()))
+				.get(10, TimeUnit.SECONDS);
+		}
+		// then
+		assertEquals(1, threads.stream().distinct().count());
+	}
+}
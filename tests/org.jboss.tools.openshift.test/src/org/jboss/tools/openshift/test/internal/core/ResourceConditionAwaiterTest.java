@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.internal.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
+import org.jboss.tools.openshift.core.connection.ConnectionProperties;
+import org.jboss.tools.openshift.core.connection.IOpenShiftConnection;
+import org.jboss.tools.openshift.internal.core.util.ResourceConditionAwaiter;
+import org.junit.Test;
+
+import com.openshift.restclient.model.IPod;
+
+public class ResourceConditionAwaiterTest {
+
+	private static final String NAMESPACE = "project1";
+	private static final long MAX_LATENCY = 500;
+
+	@Test
+	public void shouldReturnRightAwayIfConditionIsMet() {
+		// given
+		AtomicInteger evaluations = new AtomicInteger();
+		// when
+		boolean met = new ResourceConditionAwaiter(() -> evaluations.incrementAndGet() > 0)
+				.await(10_000, new NullProgressMonitor());
+		// then
+		assertTrue(met);
+		assertEquals(1, evaluations.get());
+	}
+
+	@Test
+	public void shouldEvaluateConditionWhenTriggeringResourceChanged() throws Exception {
+		// given
+		AtomicBoolean ready = new AtomicBoolean();
+		IPod pod = mock(IPod.class);
+		when(pod.getNamespace()).thenReturn(NAMESPACE);
+		CompletableFuture<Boolean> met = CompletableFuture.supplyAsync(() ->
+			new ResourceConditionAwaiter(ready::get)
+				.triggeredBy(resource -> NAMESPACE.equals(resource.getNamespace()))
+				.await(10_000, new NullProgressMonitor()));
+		Thread.sleep(200);
+		// when
+		long start = System.currentTimeMillis();
+		ready.set(true);
+		ConnectionsRegistrySingleton.getInstance().fireConnectionChanged(
+				mock(IOpenShiftConnection.class), ConnectionProperties.PROPERTY_RESOURCE, null, pod);
+		// then
+		assertTrue(met.get(MAX_LATENCY, TimeUnit.MILLISECONDS));
+		assertTrue(System.currentTimeMillis() - start < MAX_LATENCY);
+	}
+
+	@Test
+	public void shouldEvaluateConditionOnceForCoalescedChanges() throws Exception {
+		// given
+		AtomicInteger evaluations = new AtomicInteger();
+		AtomicBoolean ready = new AtomicBoolean();
+		IPod pod = mock(IPod.class);
+		when(pod.getNamespace()).thenReturn(NAMESPACE);
+		CompletableFuture<Boolean> met = CompletableFuture.supplyAsync(() ->
+			new ResourceConditionAwaiter(() -> evaluations.incrementAndGet() > 0 && ready.get())
+				.triggeredBy(resource -> NAMESPACE.equals(resource.getNamespace()))
+				.withCoalescing(200)
+				.await(10_000, new NullProgressMonitor()));
+		Thread.sleep(200);
+		// when
+		ready.set(true);
+		for (int i = 0; i < 10; i++) {
+			ConnectionsRegistrySingleton.getInstance().fireConnectionChanged(
+					mock(IOpenShiftConnection.class), ConnectionProperties.PROPERTY_RESOURCE, null, pod);
+		}
+		// then
+		assertTrue(met.get(MAX_LATENCY, TimeUnit.MILLISECONDS));
+		// initial evaluation and one for all the changes
+		assertEquals(2, evaluations.get());
+	}
+
+	@Test
+	public void shouldPollConditionWithBackoff() {
+		// given
+		AtomicInteger evaluations = new AtomicInteger();
+		// when
+		boolean met = new ResourceConditionAwaiter(() -> evaluations.incrementAndGet() >= 3)
+				.withBackoff(10, 40)
+				.await(10_000, new NullProgressMonitor());
+		// then
+		assertTrue(met);
+	}
+
+	@Test
+	public void shouldTimeoutIfConditionIsNeverMet() {
+		// given
+		// when
+		boolean met = new ResourceConditionAwaiter(() -> false)
+				.withBackoff(10, 20)
+				.await(300, new NullProgressMonitor());
+		// then
+		assertFalse(met);
+	}
+}
@@ -1,43 +1,405 @@
 package org.jboss.tools.openshift.test.internal.core;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.core.runtime.jobs.Job;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistryAdapter;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
+import org.jboss.tools.openshift.common.core.connection.IConnection;
 import org.jboss.tools.openshift.core.connection.IOpenShiftConnection;
+import org.jboss.tools.openshift.internal.core.Trace;
 import org.jboss.tools.openshift.internal.core.WatchManager;
+import org.jboss.tools.openshift.internal.core.WatchManager.WatchListener;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import com.openshift.restclient.IClient;
+import com.openshift.restclient.IOpenShiftWatchListener;
+import com.openshift.restclient.IOpenShiftWatchListener.ChangeType;
 import com.openshift.restclient.IWatcher;
+import com.openshift.restclient.OpenShiftException;
+import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.capability.CapabilityVisitor;
 import com.openshift.restclient.model.IProject;
+import com.openshift.restclient.model.IResource;
 
 @RunWith(MockitoJUnitRunner.class)
 public class WatchManagerTest {
-		
+
+	private static final int NUMBER_OF_PROJECTS = 40;
+	private static final int NUMBER_OF_EVENTS = 10000;
+
 	@Mock IProject project;
 	@Mock IOpenShiftConnection connection;
 	@Mock IClient client;
-	
+
+	private List<IProject> projects = new ArrayList<>();
+	private ResourceChangeCounter changes = new ResourceChangeCounter();
+
+	@Before
+	public void setUp() {
+		// changes are only posted for registered connections
+		when(connection.getHost()).thenReturn("https://localhost:8443");
+		when(connection.getUsername()).thenReturn("developer");
+		ConnectionsRegistrySingleton.getInstance().add(connection);
+	}
+
+	@After
+	public void tearDown() {
+		ConnectionsRegistrySingleton.getInstance().removeListener(changes);
+		ConnectionsRegistrySingleton.getInstance().remove(connection);
+		WatchManager.getInstance().setMaxStaleness(WatchManager.DEFAULT_MAX_STALENESS_MILLIS);
+		WatchManager.getInstance().stopWatch(project, connection);
+		projects.forEach(p -> WatchManager.getInstance().stopWatch(p, connection));
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void testStartStopWatch() {
 		// given
 		when(project.accept(any(CapabilityVisitor.class), isNull())).thenReturn(client);
 		IWatcher watchClient = mock(IWatcher.class);
-		when(client.watch(any(), any(), any())).thenReturn(watchClient);
+		when(client.watch(any(String.class), any(IOpenShiftWatchListener.class), (String[]) anyVararg())).thenReturn(watchClient);
 		// when - then
 		WatchManager.getInstance().startWatch(project, connection);
-		verify(client, timeout(200).times(WatchManager.KINDS.length)).watch(any(), any(), any());
-		
+		verify(client, timeout(200).times(1)).watch(any(String.class), any(IOpenShiftWatchListener.class), eq(WatchManager.KINDS));
+
+		WatchManager.getInstance().stopWatch(project, connection);
+		verify(watchClient, timeout(200).times(1)).stop();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldOpenSingleWatcherPerProject() throws InterruptedException {
+		// given
+		IWatcher watchClient = mock(IWatcher.class);
+		when(client.watch(any(String.class), any(IOpenShiftWatchListener.class), (String[]) anyVararg())).thenReturn(watchClient);
+		for (int i = 0; i < NUMBER_OF_PROJECTS; i++) {
+			IProject project = mock(IProject.class);
+			when(project.getName()).thenReturn("project" + i);
+			when(project.accept(any(CapabilityVisitor.class), isNull())).thenReturn(client);
+			projects.add(project);
+		}
+		// when
+		projects.forEach(p -> WatchManager.getInstance().startWatch(p, connection));
+		// starting twice should not open any additional watcher
+		projects.forEach(p -> WatchManager.getInstance().startWatch(p, connection));
+		Job.getJobManager().join(WatchManager.WATCH_JOB_FAMILY, null);
+		// then
+		verify(client, timeout(1000).times(NUMBER_OF_PROJECTS)).watch(any(String.class), any(IOpenShiftWatchListener.class), eq(WatchManager.KINDS));
+		assertEquals(0, Job.getJobManager().find(WatchManager.WATCH_JOB_FAMILY).length);
+		assertEquals(NUMBER_OF_PROJECTS, WatchManager.getInstance().getWatchedProjectsCount());
+
+		projects.forEach(p -> WatchManager.getInstance().stopWatch(p, connection));
+		verify(watchClient, timeout(200).times(NUMBER_OF_PROJECTS)).stop();
+		assertEquals(0, WatchManager.getInstance().getWatchedProjectsCount());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldStopPreviousWatcherWhenEndpointFails() throws InterruptedException {
+		// given
+		when(project.getName()).thenReturn("project1");
+		when(project.accept(any(CapabilityVisitor.class), isNull())).thenReturn(client);
+		IWatcher watcher1 = mock(IWatcher.class);
+		IWatcher watcher2 = mock(IWatcher.class);
+		List<IOpenShiftWatchListener> endpoints = new CopyOnWriteArrayList<>();
+		when(client.watch(any(String.class), any(IOpenShiftWatchListener.class), (String[]) anyVararg())).thenAnswer(invocation -> {
+			endpoints.add((IOpenShiftWatchListener) invocation.getArguments()[1]);
+			return endpoints.size() == 1 ? watcher1 : watcher2;
+		});
+		WatchManager.getInstance().startWatch(project, connection);
+		Job.getJobManager().join(WatchManager.WATCH_JOB_FAMILY, null);
+		// when
+		endpoints.get(0).error(new OpenShiftException("connection reset"));
+		// then
+		verify(watcher1, timeout(1000).times(1)).stop();
+		verify(client, timeout(1000).times(2)).watch(any(String.class), any(IOpenShiftWatchListener.class), eq(WatchManager.KINDS));
+
+		// when
+		// the endpoints of the stopped watcher close
+		endpoints.get(0).disconnected();
+		endpoints.get(0).error(new OpenShiftException("connection reset"));
+		Job.getJobManager().join(WatchManager.WATCH_JOB_FAMILY, null);
+		// then
+		verify(client, times(2)).watch(any(String.class), any(IOpenShiftWatchListener.class), eq(WatchManager.KINDS));
+		verify(watcher2, never()).stop();
+
 		WatchManager.getInstance().stopWatch(project, connection);
-		verify(watchClient, timeout(200).times(WatchManager.KINDS.length)).stop();
+		verify(watcher2, times(1)).stop();
+	}
+
+	@Test
+	public void shouldKeepReceivingOtherKindsWhenEndpointDisconnects() {
+		// given
+		ConnectionsRegistrySingleton.getInstance().addListener(changes, true);
+		WatchListenerTestable listener = new WatchListenerTestable(WatchManager.getInstance(), project, connection);
+		listener.setState("CONNECTED");
+		listener.connected(Arrays.asList(mockResource(ResourceKind.POD, "pod1", "1")));
+		listener.connected(Arrays.asList(mockResource(ResourceKind.SERVICE, "service1", "2")));
+		// when
+		// the endpoint of one of the kinds closes, the watch restarts
+		listener.disconnected();
+		listener.received(mockResource(ResourceKind.SERVICE, "service1", "3"), ChangeType.MODIFIED);
+		// then
+		assertEquals(1, changes.count);
+		assertEquals("3", listener.getLastResourceVersion(ResourceKind.SERVICE));
+	}
+
+	@Test
+	public void shouldOnlyNotifyChangedResourcesWhenResuming() {
+		// given
+		ConnectionsRegistrySingleton.getInstance().addListener(changes, true);
+		WatchListenerTestable listener = new WatchListenerTestable(WatchManager.getInstance(), project, connection);
+		IResource unchanged = mockResource(ResourceKind.POD, "pod1", "1");
+		IResource deleted = mockResource(ResourceKind.POD, "pod3", "3");
+		listener.connected(Arrays.asList(unchanged, mockResource(ResourceKind.POD, "pod2", "2"), deleted));
+		listener.connected(Arrays.asList(mockResource(ResourceKind.SERVICE, "service1", "1")));
+		assertEquals(0, changes.count);
+		long resumes = WatchManager.getInstance().getResumeCount();
+		// when
+		listener.connected(Arrays.asList(unchanged, 
+				mockResource(ResourceKind.POD, "pod2", "4"), 
+				mockResource(ResourceKind.SERVICE, "service1", "5")));
+		// then
+		// pod2 modified, service1 modified, pod3 deleted
+		assertEquals(3, changes.count);
+		assertEquals(resumes + 2, WatchManager.getInstance().getResumeCount());
+		assertEquals("4", listener.getLastResourceVersion(ResourceKind.POD));
+		assertEquals("5", listener.getLastResourceVersion(ResourceKind.SERVICE));
+	}
+
+	@Test
+	public void shouldOnlyReplaceListedKindWhenConnectedPerKind() {
+		// given
+		ConnectionsRegistrySingleton.getInstance().addListener(changes, true);
+		WatchListenerTestable listener = new WatchListenerTestable(WatchManager.getInstance(), project, connection);
+		List<IResource> pods = Arrays.asList(
+				mockResource(ResourceKind.POD, "pod1", "1"), 
+				mockResource(ResourceKind.POD, "pod2", "2"));
+		List<IResource> services = Arrays.asList(mockResource(ResourceKind.SERVICE, "service1", "3"));
+		List<IResource> routes = Arrays.asList(mockResource(ResourceKind.ROUTE, "route1", "4"));
+		// when
+		// the client lists and reports every kind on its own
+		listener.connected(pods);
+		listener.connected(services);
+		listener.connected(routes);
+		// reconnect without any change
+		listener.connected(pods);
+		listener.connected(services);
+		listener.connected(routes);
+		// then
+		assertEquals(0, changes.count);
+		assertEquals("2", listener.getLastResourceVersion(ResourceKind.POD));
+		assertEquals("3", listener.getLastResourceVersion(ResourceKind.SERVICE));
+		assertEquals("4", listener.getLastResourceVersion(ResourceKind.ROUTE));
+
+		// when
+		// a pod was deleted while disconnected
+		listener.connected(Arrays.asList(pods.get(0)));
+		// then
+		assertEquals(1, changes.count);
+		assertEquals(Arrays.asList(pods.get(1)), changes.removed);
+	}
+
+	@Test
+	public void shouldRelistWhenResourceVersionIsTooOld() {
+		// given
+		ConnectionsRegistrySingleton.getInstance().addListener(changes, true);
+		WatchListenerTestable listener = new WatchListenerTestable(WatchManager.getInstance(), project, connection);
+		List<IResource> resources = Arrays.asList(
+				mockResource(ResourceKind.POD, "pod1", "1"), 
+				mockResource(ResourceKind.POD, "pod2", "2"));
+		listener.connected(resources);
+		long relists = WatchManager.getInstance().getRelistCount();
+		// when
+		listener.error(new OpenShiftException("too old resource version: 1 (42)"));
+		listener.connected(resources);
+		// then
+		assertEquals(resources.size(), changes.count);
+		assertEquals(relists + 1, WatchManager.getInstance().getRelistCount());
+	}
+
+	@Test
+	public void shouldReplaceAndRemoveKnownResourcesOnEvents() {
+		// given
+		ConnectionsRegistrySingleton.getInstance().addListener(changes, true);
+		WatchListenerTestable listener = new WatchListenerTestable(WatchManager.getInstance(), project, connection);
+		listener.setState("CONNECTED");
+		List<IResource> modified = new ArrayList<>();
+		for (int i = 0; i < NUMBER_OF_EVENTS; i++) {
+			listener.received(mockResource(ResourceKind.POD, "pod" + i, "1"), ChangeType.ADDED);
+		}
+		// when
+		for (int i = 0; i < NUMBER_OF_EVENTS; i++) {
+			IResource resource = mockResource(ResourceKind.POD, "pod" + i, "2");
+			modified.add(resource);
+			listener.received(resource, ChangeType.MODIFIED);
+		}
+		for (int i = 0; i < NUMBER_OF_EVENTS; i++) {
+			listener.received(mockResource(ResourceKind.POD, "pod" + i, "3"), ChangeType.DELETED);
+		}
+		// then
+		assertEquals(NUMBER_OF_EVENTS * 3, changes.count);
+		// the deleted resources are the ones that were known
+		assertEquals(modified, changes.removed);
+	}
+
+	@Test
+	public void shouldNotSerializeResourcesOnEventsGivenTracingIsDisabled() {
+		Assume.assumeFalse(Trace.isDebugEnabled());
+		// given
+		WatchListenerTestable listener = new WatchListenerTestable(WatchManager.getInstance(), project, connection);
+		listener.setState("CONNECTED");
+		List<IResource> resources = new ArrayList<>();
+		for (int i = 0; i < NUMBER_OF_EVENTS; i++) {
+			resources.add(mockResource(ResourceKind.POD, "pod" + i, "1"));
+		}
+		// when
+		resources.forEach(resource -> listener.received(resource, ChangeType.ADDED));
+		// then
+		resources.forEach(resource -> {
+			verify(resource, never()).toJson(false);
+			verify(resource, never()).toJson();
+		});
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldServeResourcesOfWatchedNamespaceFromCache() throws InterruptedException {
+		// given
+		IResource pod = mockResource(ResourceKind.POD, "pod1", "1");
+		when(project.getName()).thenReturn("project1");
+		when(project.accept(any(CapabilityVisitor.class), isNull())).thenReturn(client);
+		IWatcher watchClient = mock(IWatcher.class);
+		AtomicReference<IOpenShiftWatchListener> listener = new AtomicReference<>();
+		when(client.watch(any(String.class), any(IOpenShiftWatchListener.class), (String[]) anyVararg())).thenAnswer(invocation -> {
+			// only the 1st connection lists, reconnects stay out of sync
+			if (listener.compareAndSet(null, (IOpenShiftWatchListener) invocation.getArguments()[1])) {
+				listener.get().connected(Arrays.asList(pod));
+				listener.get().connected(Arrays.asList(mockResource(ResourceKind.SERVICE, "service1", "2")));
+			}
+			return watchClient;
+		});
+		WatchManager.getInstance().startWatch(project, connection);
+		Job.getJobManager().join(WatchManager.WATCH_JOB_FAMILY, null);
+		long hits = WatchManager.getInstance().getCacheHits();
+		long misses = WatchManager.getInstance().getCacheMisses();
+		// when - then
+		assertEquals(Collections.singletonList(pod), 
+				WatchManager.getInstance().getCachedResources(connection, ResourceKind.POD, "project1"));
+		assertEquals(hits + 1, WatchManager.getInstance().getCacheHits());
+
+		assertNull(WatchManager.getInstance().getCachedResources(connection, ResourceKind.POD, "project2"));
+		assertNull(WatchManager.getInstance().getCachedResources(connection, ResourceKind.IMAGE_STREAM_TAG, "project1"));
+		// routes were not listed
+		assertNull(WatchManager.getInstance().getCachedResources(connection, ResourceKind.ROUTE, "project1"));
+		assertEquals(misses + 3, WatchManager.getInstance().getCacheMisses());
+
+		// disconnected endpoints are served within the staleness bound
+		listener.get().disconnected();
+		assertNotNull(WatchManager.getInstance().getCachedResources(connection, ResourceKind.POD, "project1"));
+		WatchManager.getInstance().setMaxStaleness(0);
+		Thread.sleep(10);
+		assertNull(WatchManager.getInstance().getCachedResources(connection, ResourceKind.POD, "project1"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldClearKindsThatAreListedEmpty() throws InterruptedException {
+		// given
+		ConnectionsRegistrySingleton.getInstance().addListener(changes, true);
+		IResource pod = mockResource(ResourceKind.POD, "pod1", "1");
+		when(project.getName()).thenReturn("project1");
+		when(project.accept(any(CapabilityVisitor.class), isNull())).thenReturn(client);
+		List<IOpenShiftWatchListener> endpoints = new CopyOnWriteArrayList<>();
+		when(client.watch(any(String.class), any(IOpenShiftWatchListener.class), (String[]) anyVararg())).thenAnswer(invocation -> {
+			IOpenShiftWatchListener listener = (IOpenShiftWatchListener) invocation.getArguments()[1];
+			// every endpoint lists, only the 1st listing has a pod
+			for (int i = 0; i < WatchManager.KINDS.length; i++) {
+				listener.connected(endpoints.isEmpty() && i == 0 ? 
+						Arrays.asList(pod) : Collections.emptyList());
+			}
+			endpoints.add(listener);
+			return mock(IWatcher.class);
+		});
+		WatchManager.getInstance().startWatch(project, connection);
+		Job.getJobManager().join(WatchManager.WATCH_JOB_FAMILY, null);
+		// when - then
+		// kinds without resources are cached once all endpoints listed
+		assertEquals(Collections.emptyList(), 
+				WatchManager.getInstance().getCachedResources(connection, ResourceKind.ROUTE, "project1"));
+		assertEquals(Collections.singletonList(pod), 
+				WatchManager.getInstance().getCachedResources(connection, ResourceKind.POD, "project1"));
+
+		// when
+		// the pod is deleted while disconnected
+		endpoints.get(0).disconnected();
+		verify(client, timeout(1000).times(2)).watch(any(String.class), any(IOpenShiftWatchListener.class), eq(WatchManager.KINDS));
+		Job.getJobManager().join(WatchManager.WATCH_JOB_FAMILY, null);
+		// then
+		assertEquals(Arrays.asList(pod), changes.removed);
+		assertEquals(Collections.emptyList(), 
+				WatchManager.getInstance().getCachedResources(connection, ResourceKind.POD, "project1"));
+	}
+
+	private IResource mockResource(String kind, String name, String resourceVersion) {
+		IResource resource = mock(IResource.class);
+		when(resource.getKind()).thenReturn(kind);
+		when(resource.getName()).thenReturn(name);
+		when(resource.getResourceVersion()).thenReturn(resourceVersion);
+		return resource;
+	}
+
+	private class ResourceChangeCounter extends ConnectionsRegistryAdapter {
+
+		private int count = 0;
+		private List<Object> removed = new ArrayList<>();
+
+		@Override
+		public void connectionChanged(IConnection connection, String property, Object oldValue, Object newValue) {
+			if (WatchManagerTest.this.connection == connection) {
+				count++;
+				if (newValue == null) {
+					removed.add(oldValue);
+				}
+			}
+		}
+	}
+
+	private static class WatchListenerTestable extends WatchListener {
+
+		protected WatchListenerTestable(WatchManager watchManager, IProject project, IOpenShiftConnection conn) {
+			watchManager.super(project, conn, 0, 0);
+		}
+
+		@Override
+		public void setState(String state) {
+			super.setState(state);
+		}
 	}
 }
@@ -16,8 +16,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.launching.SocketUtil;
@@ -95,6 +102,61 @@ public class PortForwardingUtilsTest {
 		Mockito.verify(portForwardable, Mockito.times(1)).stop();
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldStartPortForwardingOnlyOnceIfStartedConcurrently() throws Exception {
+		// given
+		final IPod pod = Mockito.mock(IPod.class);
+		final PortPair port = Mockito.mock(PortPair.class);
+		final IPortForwardable portForwardable = Mockito.mock(IPortForwardable.class);
+		Mockito.when(pod.accept(Mockito.any(CapabilityVisitor.class), Mockito.any(IPortForwardable.class)))
+				.thenReturn(portForwardable);
+		Mockito.when(portForwardable.isForwarding()).thenReturn(true);
+		ExecutorService executor = Executors.newFixedThreadPool(10);
+		try {
+			// when
+			List<Future<IPortForwardable>> starts = executor.invokeAll(IntStream.range(0, 10)
+					.mapToObj(i -> (Callable<IPortForwardable>) () -> PortForwardingUtils.startPortForwarding(pod, port))
+					.collect(Collectors.toList()));
+			// then
+			long started = 0;
+			for (Future<IPortForwardable> start : starts) {
+				if (start.get(10, TimeUnit.SECONDS) != null) {
+					started++;
+				}
+			}
+			assertThat(started).isEqualTo(1);
+			Mockito.verify(pod, Mockito.times(1)).accept(Mockito.any(CapabilityVisitor.class), Mockito.any(IPortForwardable.class));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void shouldReturnAsSoonAsPortsGetFree() throws Exception {
+		// given
+		final ServerSocket serverSocket = new ServerSocket(SocketUtil.findFreePort());
+		final PortPair port = Mockito.mock(PortPair.class);
+		Mockito.when(port.getLocalPort()).thenReturn(serverSocket.getLocalPort());
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			executor.submit(() -> {
+				Thread.sleep(50);
+				serverSocket.close();
+				return null;
+			});
+			// when
+			long start = System.currentTimeMillis();
+			boolean free = PortForwardingUtils.waitForPortsToGetFree(Arrays.asList(port), 5, null);
+			// then
+			assertThat(free).isTrue();
+			assertThat(System.currentTimeMillis() - start).isLessThan(1000);
+		} finally {
+			executor.shutdownNow();
+			serverSocket.close();
+		}
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void shouldGetForwardablePortsOnStartedState() {
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.internal.core.preferences;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.jboss.tools.openshift.internal.core.preferences.OCBinaryVersionCache;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.osgi.framework.Version;
+
+public class OCBinaryVersionCacheTest {
+
+	private static final Version VERSION = Version.parseVersion("3.6.0");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private OCBinaryVersionCache cache;
+	private File oc;
+
+	@Before
+	public void setUp() throws IOException {
+		this.cache = OCBinaryVersionCache.getInstance();
+		cache.clear();
+		this.oc = folder.newFile("oc");
+		Files.write(oc.toPath(), "oc".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void shouldReturnCachedVersionForUnchangedBinary() {
+		// given
+		cache.put(oc.getAbsolutePath(), VERSION);
+		// when
+		Version version = cache.get(oc.getAbsolutePath());
+		// then
+		assertThat(version).isEqualTo(VERSION);
+	}
+
+	@Test
+	public void shouldShareVersionForLocationsOfSameBinary() {
+		// given
+		cache.put(oc.getAbsolutePath(), VERSION);
+		// when
+		Version version = cache.get(new File(folder.getRoot(), "../" + folder.getRoot().getName() + "/oc").getPath());
+		// then
+		assertThat(version).isEqualTo(VERSION);
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldNotReturnVersionIfBinarySizeChanged() throws IOException {
+		// given
+		cache.put(oc.getAbsolutePath(), VERSION);
+		long lastModified = oc.lastModified();
+		// when
+		Files.write(oc.toPath(), "oc 3.7.0".getBytes(StandardCharsets.UTF_8));
+		oc.setLastModified(lastModified);
+		// then
+		assertThat(cache.get(oc.getAbsolutePath())).isNull();
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldNotReturnVersionIfBinaryWasModified() {
+		// given
+		cache.put(oc.getAbsolutePath(), VERSION);
+		// when
+		oc.setLastModified(oc.lastModified() - 10000);
+		// then
+		assertThat(cache.get(oc.getAbsolutePath())).isNull();
+	}
+
+	@Test
+	public void shouldNotReturnVersionIfBinaryWasDeleted() {
+		// given
+		cache.put(oc.getAbsolutePath(), VERSION);
+		// when
+		oc.delete();
+		// then
+		assertThat(cache.get(oc.getAbsolutePath())).isNull();
+	}
+
+	@Test
+	public void shouldNotCacheVersionOfMissingBinary() {
+		// given
+		String location = new File(folder.getRoot(), "missing").getAbsolutePath();
+		// when
+		cache.put(location, VERSION);
+		// then
+		assertThat(cache.get(location)).isNull();
+		assertThat(cache.size()).isEqualTo(0);
+	}
+}
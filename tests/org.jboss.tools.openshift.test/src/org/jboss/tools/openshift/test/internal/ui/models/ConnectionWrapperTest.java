@@ -10,13 +10,16 @@ import static org.mockito.Mockito.when;
 import java.util.Arrays;
 
 import org.eclipse.swt.widgets.Display;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistry;
 import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
+import org.jboss.tools.openshift.common.core.connection.IConnectionsRegistryListener;
 import org.jboss.tools.openshift.core.connection.IOpenShiftConnection;
 import org.jboss.tools.openshift.internal.core.WatchManager;
 import org.jboss.tools.openshift.internal.core.WatchManager.WatchListener;
 import org.jboss.tools.openshift.internal.ui.models.ConnectionWrapper;
 import org.jboss.tools.openshift.internal.ui.models.OpenshiftUIModel;
 import org.jboss.tools.openshift.internal.ui.models.ProjectWrapper;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -24,6 +27,7 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.core.classloader.annotations.SuppressStaticInitializationFor;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
 
 import com.openshift.restclient.IOpenShiftWatchListener.ChangeType;
 import com.openshift.restclient.ResourceKind;
@@ -43,6 +47,7 @@ public class ConnectionWrapperTest {
 	private IProject project;
 	private ProjectWrapper projectWrapper;
 	private WatchListenerTestable watchListener;
+	private IConnectionsRegistryListener modelListener;
 	
 	@Before
 	public void prepareData() throws Exception {
@@ -53,8 +58,12 @@ public class ConnectionWrapperTest {
 		PowerMockito.mockStatic(Display.class);
 		PowerMockito.when(Display.getCurrent()).thenReturn(mock(Display.class));
 		
-		OpenshiftUIModel.getInstance();
-		ConnectionsRegistrySingleton.getInstance().add(connection);
+		// dispatch the watch events to the model in the posting thread
+		this.modelListener = Whitebox.getInternalState(OpenshiftUIModel.getInstance(), "listener");
+		ConnectionsRegistry registry = ConnectionsRegistrySingleton.getInstance();
+		registry.removeListener(modelListener);
+		registry.addListener(modelListener, true);
+		registry.add(connection);
 		ConnectionWrapper connectionWrapper = OpenshiftUIModel.getInstance().getConnectionWrapperForConnection(connection);
 		
 		this.project = mock(IProject.class);
@@ -72,11 +81,18 @@ public class ConnectionWrapperTest {
 		
 		WatchManager watchManager = WatchManager.getInstance();
 		this.watchListener = new WatchListenerTestable(
-				watchManager, project, connection, ResourceKind.BUILD_CONFIG, 0, 0);
+				watchManager, project, connection, 0, 0);
 		
 		watchListener.setState("CONNECTED");
 	}
 
+	@After
+	public void tearDown() {
+		ConnectionsRegistry registry = ConnectionsRegistrySingleton.getInstance();
+		registry.removeListener(modelListener);
+		registry.addListener(modelListener);
+	}
+
 	@Test
 	public void testWatchManagerRecievedUpdateFromOpenshift() throws Exception {
 		// given	
@@ -87,8 +103,10 @@ public class ConnectionWrapperTest {
 		this.watchListener.received(this.resource, ChangeType.DELETED);
 		this.watchListener.received(this.project, ChangeType.DELETED);
 		// then
-		//deleting project doesn't call updateWithResources
-		PowerMockito.verifyPrivate(projectWrapper, times(4)).invoke("updateWithResources", any()); 
+		//loading the project updates all resources, the watch events only update their delta
+		PowerMockito.verifyPrivate(projectWrapper, times(1)).invoke("updateWithResources", any(), any()); 
+		//deleting project doesn't call updateWithDelta
+		PowerMockito.verifyPrivate(projectWrapper, times(3)).invoke("updateWithDelta", any(), any(), any(), any()); 
 		assertTrue(projectWrapper.getResources().size() == 0);
 	}
 
@@ -100,8 +118,8 @@ public class ConnectionWrapperTest {
 		}
 		
 		protected WatchListenerTestable(WatchManager watchManager, IProject project, IOpenShiftConnection conn,
-				String kind, int backoff, long lastConnect) {
-			watchManager.super(project, conn, kind, backoff, lastConnect);
+				int backoff, long lastConnect) {
+			watchManager.super(project, conn, backoff, lastConnect);
 		}
 	}
 }
@@ -1,16 +1,25 @@
 package org.jboss.tools.openshift.test.internal.ui.models;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
 import org.jboss.tools.openshift.core.connection.IOpenShiftConnection;
 import org.jboss.tools.openshift.internal.core.WatchManager;
 import org.jboss.tools.openshift.internal.ui.models.ConnectionWrapper;
 import org.jboss.tools.openshift.internal.ui.models.IExceptionHandler;
+import org.jboss.tools.openshift.internal.ui.models.IOpenshiftUIElement;
+import org.jboss.tools.openshift.internal.ui.models.IResourceWrapper;
 import org.jboss.tools.openshift.internal.ui.models.OpenshiftUIModel;
 import org.jboss.tools.openshift.internal.ui.models.ProjectWrapper;
 import org.junit.Before;
@@ -19,8 +28,11 @@ import org.junit.runner.RunWith;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
 
+import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.model.IProject;
+import com.openshift.restclient.model.IResource;
 
 
 @RunWith(PowerMockRunner.class)
@@ -29,6 +41,7 @@ public class ProjectWrapperTest {
 	
 	private WatchManager watchManager;
 	
+	private OpenshiftUIModel model;
 	private IOpenShiftConnection connection;
 	private ConnectionWrapper connectionWrapper;
 	
@@ -42,7 +55,8 @@ public class ProjectWrapperTest {
 		PowerMockito.when(WatchManager.getInstance()).thenReturn(watchManager);
 		
 		this.connection = mock(IOpenShiftConnection.class);
-		this.connectionWrapper = new ConnectionWrapper(mock(OpenshiftUIModel.class), connection);
+		this.model = PowerMockito.mock(OpenshiftUIModel.class);
+		this.connectionWrapper = new ConnectionWrapper(model, connection);
 		
 		this.project = mock(IProject.class);
 		when(project.getNamespace()).thenReturn("namespace");
@@ -65,5 +79,98 @@ public class ProjectWrapperTest {
 		// then
 		verify(watchManager, timeout(200).times(1)).startWatch(eq(project), eq(connection));
 	}
-	
+
+	@Test
+	public void shouldNotFireChangeIfModifiedResourceVersionIsUnchanged() throws Exception {
+		// given
+		IResource resource = mockResource("hello-world", "1");
+		initWithResources(resource);
+		// when
+		updateWithDelta(Arrays.asList(resource), Collections.emptyList(), Arrays.asList(resource),
+				Collections.emptyList());
+		// then
+		PowerMockito.verifyPrivate(model, never()).invoke("fireChanged", any(IOpenshiftUIElement.class));
+	}
+
+	@Test
+	public void shouldUpdateWrapperIfModifiedResourceVersionMoved() throws Exception {
+		// given
+		IResource resource = mockResource("hello-world", "1");
+		initWithResources(resource);
+		IResourceWrapper<?, ?> wrapper = projectWrapper.getResources().iterator().next();
+		// the wrapped and the modified resource are the same mock, it answers
+		// the version of the wrapped one 1st and the one of the modified one 2nd
+		when(resource.getResourceVersion()).thenReturn("1", "2");
+		// when
+		updateWithDelta(Arrays.asList(resource), Collections.emptyList(), Arrays.asList(resource),
+				Collections.emptyList());
+		// then
+		assertThat(projectWrapper.getResources()).containsExactly(wrapper);
+		PowerMockito.verifyPrivate(model, times(1)).invoke("fireChanged", wrapper);
+		PowerMockito.verifyPrivate(model, never()).invoke("fireChanged", projectWrapper);
+	}
+
+	@Test
+	public void shouldFireStructuralChangeIfResourceAdded() throws Exception {
+		// given
+		IResource existing = mockResource("hello-world", "1");
+		initWithResources(existing);
+		IResource added = mockResource("goodbye-world", "2");
+		// when
+		updateWithDelta(Arrays.asList(existing, added), Arrays.asList(added), Collections.emptyList(),
+				Collections.emptyList());
+		// then
+		assertThat(projectWrapper.getResources()).extracting(IResourceWrapper::getWrapped)
+				.containsOnly(existing, added);
+		PowerMockito.verifyPrivate(model, times(1)).invoke("fireChanged", projectWrapper);
+		PowerMockito.verifyPrivate(model, times(1)).invoke("fireChanged", any(IOpenshiftUIElement.class));
+	}
+
+	@Test
+	public void shouldFireStructuralChangeIfResourceRemoved() throws Exception {
+		// given
+		IResource kept = mockResource("hello-world", "1");
+		IResource removed = mockResource("goodbye-world", "2");
+		initWithResources(kept, removed);
+		// when
+		updateWithDelta(Arrays.asList(kept), Collections.emptyList(), Collections.emptyList(),
+				Arrays.asList(removed));
+		// then
+		assertThat(projectWrapper.getResources()).extracting(IResourceWrapper::getWrapped)
+				.containsExactly(kept);
+		PowerMockito.verifyPrivate(model, times(1)).invoke("fireChanged", projectWrapper);
+		PowerMockito.verifyPrivate(model, times(1)).invoke("fireChanged", any(IOpenshiftUIElement.class));
+	}
+
+	@Test
+	public void shouldNotFireChangeIfUnknownResourceRemoved() throws Exception {
+		// given
+		IResource kept = mockResource("hello-world", "1");
+		initWithResources(kept);
+		// when
+		updateWithDelta(Arrays.asList(kept), Collections.emptyList(), Collections.emptyList(),
+				Arrays.asList(mockResource("goodbye-world", "2")));
+		// then
+		assertThat(projectWrapper.getResources()).extracting(IResourceWrapper::getWrapped)
+				.containsExactly(kept);
+		PowerMockito.verifyPrivate(model, never()).invoke("fireChanged", any(IOpenshiftUIElement.class));
+	}
+
+	private IResource mockResource(String name, String version) {
+		IResource resource = mock(IResource.class);
+		when(resource.getKind()).thenReturn(ResourceKind.IMAGE_STREAM);
+		when(resource.getName()).thenReturn(name);
+		when(resource.getNamespace()).thenReturn("namespace");
+		when(resource.getResourceVersion()).thenReturn(version);
+		return resource;
+	}
+
+	private void initWithResources(IResource... resources) throws Exception {
+		Whitebox.invokeMethod(projectWrapper, "initWithResources", Arrays.asList(resources));
+	}
+
+	private void updateWithDelta(Collection<IResource> resources, Collection<IResource> added,
+			Collection<IResource> modified, Collection<IResource> removed) throws Exception {
+		Whitebox.invokeMethod(projectWrapper, "updateWithDelta", resources, added, modified, removed);
+	}
 }
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.ui.explorer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.swt.widgets.Control;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
+import org.jboss.tools.openshift.internal.ui.explorer.ExplorerRefreshScheduler;
+import org.jboss.tools.openshift.internal.ui.models.IConnectionWrapper;
+import org.jboss.tools.openshift.internal.ui.models.IProjectWrapper;
+import org.jboss.tools.openshift.internal.ui.models.IServiceWrapper;
+import org.jboss.tools.openshift.internal.ui.models.OpenshiftUIModel;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExplorerRefreshSchedulerTest {
+
+	@Mock private StructuredViewer viewer;
+	@Mock private Control control;
+	@Mock private OpenshiftUIModel model;
+	@Mock private IConnectionWrapper connection;
+	@Mock private IProjectWrapper project1;
+	@Mock private IProjectWrapper project2;
+	@Mock private IServiceWrapper service1;
+	@Mock private IServiceWrapper service2;
+	private ExplorerRefreshSchedulerTestable scheduler;
+
+	@Before
+	public void setUp() {
+		when(viewer.getControl()).thenReturn(control);
+		when(connection.getParent()).thenReturn(model);
+		when(project1.getParent()).thenReturn(connection);
+		when(project2.getParent()).thenReturn(connection);
+		when(service1.getParent()).thenReturn(project1);
+		when(service2.getParent()).thenReturn(project2);
+		this.scheduler = new ExplorerRefreshSchedulerTestable(viewer);
+	}
+
+	@Test
+	public void shouldCoalesceRefreshesOfSameElement() {
+		// given
+		scheduler.refresh(service1);
+		scheduler.refresh(service1);
+		scheduler.refresh(service1);
+		// when
+		scheduler.execute();
+		// then
+		verify(viewer, times(1)).refresh(service1);
+		assertEquals(3, scheduler.getQueuedCount());
+		assertEquals(1, scheduler.getExecutedCount());
+		assertEquals(1, scheduler.scheduled);
+	}
+
+	@Test
+	public void shouldDropChildrenOfElementsThatAreRefreshed() {
+		// given
+		scheduler.refresh(service1);
+		scheduler.update(service1);
+		scheduler.refresh(project1);
+		scheduler.refresh(service2);
+		// when
+		scheduler.execute();
+		// then
+		verify(viewer).refresh(project1);
+		verify(viewer).refresh(service2);
+		verify(viewer, never()).refresh(service1);
+		verify(viewer, never()).update(anyObject(), any(String[].class));
+		assertEquals(4, scheduler.getQueuedCount());
+		assertEquals(2, scheduler.getExecutedCount());
+	}
+
+	@Test
+	public void shouldRefreshRegistryWhenModelChanged() {
+		// given
+		scheduler.refresh(project1);
+		scheduler.refresh(model);
+		// when
+		scheduler.execute();
+		// then
+		verify(viewer).refresh(ConnectionsRegistrySingleton.getInstance());
+		verify(viewer, never()).refresh(project1);
+	}
+
+	@Test
+	public void shouldScheduleAgainAfterExecution() {
+		// given
+		scheduler.refresh(service1);
+		scheduler.execute();
+		// when
+		scheduler.refresh(service1);
+		scheduler.execute();
+		// then
+		verify(viewer, times(2)).refresh(service1);
+		assertEquals(2, scheduler.scheduled);
+	}
+
+	private static class ExplorerRefreshSchedulerTestable extends ExplorerRefreshScheduler {
+
+		private int scheduled = 0;
+
+		public ExplorerRefreshSchedulerTestable(StructuredViewer viewer) {
+			super(viewer);
+		}
+
+		@Override
+		protected void schedule() {
+			// executed explicitly by the tests
+			scheduled++;
+		}
+
+		@Override
+		public void execute() {
+			super.execute();
+		}
+	}
+}
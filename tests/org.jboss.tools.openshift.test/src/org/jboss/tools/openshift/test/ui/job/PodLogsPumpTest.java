@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.ui.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.osgi.util.NLS;
+import org.jboss.tools.openshift.internal.ui.job.PodLogsPump;
+import org.junit.Test;
+
+public class PodLogsPumpTest {
+
+	private StringBuilder console = new StringBuilder();
+
+	@Test
+	public void shouldAppendAllLogsInOrder() throws IOException {
+		// given
+		// multi-byte characters that are split by the read buffer
+		String logs = StringUtils.repeat("Grüße aus dem Pod\n", PodLogsPump.BUFFER_SIZE / 8);
+		PodLogsPump pump = new PodLogsPump(toStream(logs), console::append, Integer.MAX_VALUE);
+		// when
+		pump.pump();
+		// then
+		assertThat(console.toString()).isEqualTo(logs);
+	}
+
+	@Test
+	public void shouldReportDroppedLogsByGapMarker() throws IOException {
+		// given
+		InputStream logs = new SequenceInputStream(toStream("12345"), toStream("6789012345"));
+		PodLogsPump pump = new PodLogsPump(logs, console::append, 10);
+		// when
+		pump.pump();
+		// then
+		assertThat(console.toString()).isEqualTo("12345" + NLS.bind(PodLogsPump.GAP_MARKER, 10));
+	}
+
+	@Test
+	public void shouldNotAppendLogsIfStopped() throws IOException {
+		// given
+		PodLogsPump pump = new PodLogsPump(toStream("12345"), console::append);
+		// when
+		pump.stop();
+		pump.pump();
+		// then
+		assertThat(console.toString()).isEmpty();
+	}
+
+	@Test(expected = IOException.class)
+	public void shouldThrowIfConsoleIsClosed() throws IOException {
+		// given
+		PodLogsPump pump = new PodLogsPump(toStream("12345"), text -> {
+			throw new IOException("Document is closed");
+		});
+		// when
+		pump.pump();
+		// then
+	}
+
+	private InputStream toStream(String logs) {
+		return new ByteArrayInputStream(logs.getBytes(StandardCharsets.UTF_8));
+	}
+}
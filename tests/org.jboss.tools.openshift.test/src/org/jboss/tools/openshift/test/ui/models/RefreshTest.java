@@ -1,7 +1,10 @@
 package org.jboss.tools.openshift.test.ui.models;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -11,14 +14,18 @@ import java.lang.reflect.Proxy;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistry;
 import org.jboss.tools.openshift.core.connection.ConnectionProperties;
 import org.jboss.tools.openshift.core.connection.IOpenShiftConnection;
+import org.jboss.tools.openshift.internal.ui.models.ConnectionWrapper;
 import org.jboss.tools.openshift.internal.ui.models.IConnectionWrapper;
 import org.jboss.tools.openshift.internal.ui.models.IElementListener;
 import org.jboss.tools.openshift.internal.ui.models.IExceptionHandler;
+import org.jboss.tools.openshift.internal.ui.models.IProjectWrapper;
 import org.jboss.tools.openshift.internal.ui.models.IResourceWrapper;
 import org.jboss.tools.openshift.internal.ui.models.LoadingState;
 import org.jboss.tools.openshift.internal.ui.models.OpenshiftUIModel;
@@ -83,6 +90,33 @@ public class RefreshTest {
 
 	}
 	
+	@Test
+	public void testLoadProjectListsResourceKindsConcurrently() throws InterruptedException, TimeoutException {
+		IProject project1 = stubProject("test1", 1);
+		when(getConnectionMock().getResources(ResourceKind.PROJECT)).thenReturn(Collections.singletonList(project1));
+		CountDownLatch concurrentRequests = new CountDownLatch(ConnectionWrapper.MAX_CONCURRENT_REQUESTS);
+		when(getConnectionMock().getResources(anyString(), eq("test1"))).thenAnswer(invocation -> {
+			concurrentRequests.countDown();
+			// sequential requests would never get here
+			if (!concurrentRequests.await(10, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("Resource kinds were not listed concurrently.");
+			}
+			return Collections.emptyList();
+		});
+		ConnectionWrapper connection = (ConnectionWrapper) getConnection();
+		connection.load(IExceptionHandler.NULL_HANDLER);
+		UITestUtils.waitForState(connection, LoadingState.LOADED);
+		IProjectWrapper project = (IProjectWrapper) connection.getResources().iterator().next();
+
+		project.load(IExceptionHandler.NULL_HANDLER);
+		UITestUtils.waitForState(project, LoadingState.LOADED);
+
+		for (String kind : ConnectionWrapper.RESOURCE_KINDS) {
+			verify(getConnectionMock()).getResources(kind, "test1");
+			assertNotNull(connection.getLastLoadDuration(kind));
+		}
+	}
+
 	private IOpenShiftConnection getConnectionMock() {
 		return getConnection().getWrapped();
 	}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.ui.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistry;
+import org.jboss.tools.openshift.core.connection.ConnectionProperties;
+import org.jboss.tools.openshift.core.connection.IOpenShiftConnection;
+import org.jboss.tools.openshift.internal.ui.models.IConnectionWrapper;
+import org.jboss.tools.openshift.internal.ui.models.IExceptionHandler;
+import org.jboss.tools.openshift.internal.ui.models.IProjectWrapper;
+import org.jboss.tools.openshift.internal.ui.models.IServiceWrapper;
+import org.jboss.tools.openshift.internal.ui.models.LoadingState;
+import org.jboss.tools.openshift.internal.ui.models.OpenshiftUIModel;
+import org.jboss.tools.openshift.test.util.UITestUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.openshift.restclient.ResourceKind;
+import com.openshift.restclient.model.IPod;
+import com.openshift.restclient.model.IProject;
+import com.openshift.restclient.model.IResource;
+import com.openshift.restclient.model.IService;
+
+/**
+ * Tests that a single resource change only updates the services that it's
+ * related to.
+ */
+public class ServiceRelationsTest {
+
+	private static final String NAMESPACE = "test";
+
+	private ConnectionsRegistry registry;
+	private IOpenShiftConnection connection;
+	private IProject project;
+	private IService service1;
+	private IService service2;
+	private IProjectWrapper projectWrapper;
+
+	@Before
+	public void setUp() throws InterruptedException, TimeoutException {
+		this.registry = new ConnectionsRegistry();
+		OpenshiftUIModel model = new OpenshiftUIModelTestable(registry);
+		this.connection = mock(IOpenShiftConnection.class);
+		registry.add(connection);
+
+		this.project = mock(IProject.class);
+		when(project.getName()).thenReturn(NAMESPACE);
+		when(project.getNamespace()).thenReturn(NAMESPACE);
+		when(project.getKind()).thenReturn(ResourceKind.PROJECT);
+		when(connection.getResources(ResourceKind.PROJECT)).thenReturn(Collections.singletonList(project));
+
+		this.service1 = mockService("service1", Collections.singletonMap("app", "one"));
+		this.service2 = mockService("service2", Collections.singletonMap("app", "two"));
+		when(connection.getResources(ResourceKind.SERVICE, NAMESPACE)).thenReturn(Arrays.asList(service1, service2));
+
+		IConnectionWrapper connectionWrapper = model.getConnections().iterator().next();
+		connectionWrapper.load(IExceptionHandler.NULL_HANDLER);
+		UITestUtils.waitForState(connectionWrapper, LoadingState.LOADED);
+		this.projectWrapper = (IProjectWrapper) connectionWrapper.getResources().iterator().next();
+		projectWrapper.load(IExceptionHandler.NULL_HANDLER);
+		UITestUtils.waitForState(projectWrapper, LoadingState.LOADED);
+	}
+
+	@Test
+	public void addingPodShouldOnlyUpdateRelatedService() {
+		// given
+		IPod pod = mockPod("pod1", Collections.singletonMap("app", "one"));
+		long selectorInvocations = getSelectorInvocations(service2);
+		// when
+		registry.fireConnectionChanged(connection, ConnectionProperties.PROPERTY_RESOURCE, null, pod);
+		// then
+		assertTrue(getServiceWrapper(service1).getResources().stream().anyMatch(r -> pod == r.getWrapped()));
+		assertTrue(getServiceWrapper(service2).getResources().isEmpty());
+		// service2 did not recompute its related resources
+		assertEquals(selectorInvocations, getSelectorInvocations(service2));
+	}
+
+	@Test
+	public void removingPodShouldUpdateServiceItWasRelatedTo() {
+		// given
+		IPod pod = mockPod("pod1", Collections.singletonMap("app", "two"));
+		registry.fireConnectionChanged(connection, ConnectionProperties.PROPERTY_RESOURCE, null, pod);
+		assertEquals(1, getServiceWrapper(service2).getResources().size());
+		// when
+		registry.fireConnectionChanged(connection, ConnectionProperties.PROPERTY_RESOURCE, pod, null);
+		// then
+		assertTrue(getServiceWrapper(service2).getResources().isEmpty());
+	}
+
+	private long getSelectorInvocations(IService service) {
+		return mockingDetails(service).getInvocations().stream()
+				.filter(invocation -> "getSelector".equals(invocation.getMethod().getName()))
+				.count();
+	}
+
+	private IServiceWrapper getServiceWrapper(IService service) {
+		return projectWrapper.getResourcesOfType(IServiceWrapper.class).stream()
+				.filter(wrapper -> service == wrapper.getWrapped())
+				.findFirst()
+				.orElse(null);
+	}
+
+	private IService mockService(String name, Map<String, String> selector) {
+		IService service = mockResource(IService.class, ResourceKind.SERVICE, name);
+		when(service.getSelector()).thenReturn(selector);
+		return service;
+	}
+
+	private IPod mockPod(String name, Map<String, String> labels) {
+		IPod pod = mockResource(IPod.class, ResourceKind.POD, name);
+		when(pod.getLabels()).thenReturn(labels);
+		return pod;
+	}
+
+	private <T extends IResource> T mockResource(Class<T> clazz, String kind, String name) {
+		T resource = mock(clazz);
+		when(resource.getKind()).thenReturn(kind);
+		when(resource.getName()).thenReturn(name);
+		when(resource.getNamespace()).thenReturn(NAMESPACE);
+		when(resource.getProject()).thenReturn(project);
+		when(resource.getResourceVersion()).thenReturn("1");
+		return resource;
+	}
+
+	private class OpenshiftUIModelTestable extends OpenshiftUIModel {
+		public OpenshiftUIModelTestable(ConnectionsRegistry registry) {
+			super(registry);
+		}
+	}
+}
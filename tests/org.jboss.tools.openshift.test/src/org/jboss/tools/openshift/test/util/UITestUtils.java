@@ -14,6 +14,7 @@ import java.util.concurrent.TimeoutException;
 
 import org.eclipse.swt.widgets.Display;
 import org.jboss.tools.openshift.internal.ui.models.IConnectionWrapper;
+import org.jboss.tools.openshift.internal.ui.models.IProjectWrapper;
 import org.jboss.tools.openshift.internal.ui.models.LoadingState;
 
 public class UITestUtils {
@@ -62,4 +63,14 @@ public class UITestUtils {
 		}
 	}
 
+	public static void waitForState(IProjectWrapper projectWrapper, LoadingState state) throws InterruptedException, TimeoutException {
+		int count= 0;
+		while (projectWrapper.getState() != state) {
+			Thread.sleep(100);
+			if (count++ > 1000) {
+				throw new TimeoutException();
+			};
+		}
+	}
+
 }